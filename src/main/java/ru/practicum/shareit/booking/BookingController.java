@@ -1,12 +0,0 @@
-package ru.practicum.shareit.booking;
-
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-/**
- * TODO Sprint add-bookings.
- */
-@RestController
-@RequestMapping(path = "/bookings")
-public class BookingController {
-}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.logging.PayloadLogger;
+
+import java.util.List;
+
+import static ru.practicum.shareit.item.controller.ItemController.USER_ID_HEADER;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/bookings")
+public class BookingController {
+    private final BookingService bookingService;
+    private final PayloadLogger payloadLogger;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public BookingDto create(@RequestHeader(USER_ID_HEADER) Long bookerId,
+                             @Valid @RequestBody NewBookingRequest booking) {
+        log.debug("Пришел POST запрос /bookings с телом: {} от пользователя с ID: {}", booking, bookerId);
+        BookingDto createdBooking = bookingService.create(bookerId, booking);
+        payloadLogger.log(log, "Отправлен ответ /bookings с телом: {}", createdBooking);
+        return createdBooking;
+    }
+
+    @PatchMapping("/{id}")
+    public BookingDto approve(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                              @PathVariable("id") Long bookingId,
+                              @RequestParam(name = "approved") boolean approved) {
+        log.debug("Пришел PATCH запрос /bookings/{} с параметром approved: {} от пользователя с ID: {}", bookingId,
+                approved, ownerId);
+        BookingDto booking = bookingService.approve(ownerId, bookingId, approved);
+        payloadLogger.log(log, "Отправлен ответ /bookings/{} с телом: {}", bookingId, booking);
+        return booking;
+    }
+
+    @GetMapping("/{id}")
+    public BookingDto findBooking(@RequestHeader(USER_ID_HEADER) Long userId,
+                                  @PathVariable("id") Long bookingId) {
+        log.debug("Пришел GET запрос /bookings/{} от пользователя с ID: {}", bookingId, userId);
+        BookingDto booking = bookingService.findBooking(userId, bookingId);
+        payloadLogger.log(log, "Отправлен ответ /bookings/{} с телом: {}", bookingId, booking);
+        return booking;
+    }
+
+    @GetMapping
+    public List<BookingDto> getBookerBookings(@RequestHeader(USER_ID_HEADER) Long bookerId,
+                                              @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                              @RequestParam(name = "from", required = false) Integer from,
+                                              @RequestParam(name = "size", required = false) Integer size) {
+        log.debug("Пришел GET запрос /bookings с параметром state: {} от пользователя с ID: {}", state, bookerId);
+        List<BookingDto> bookings = bookingService.getBookerBookings(bookerId, BookingState.from(state),
+                Pagination.of(from, size, null));
+        payloadLogger.log(log, "Отправлен ответ /bookings с телом: {}", bookings);
+        return bookings;
+    }
+
+    @GetMapping("/owner")
+    public List<BookingDto> getOwnerBookings(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                             @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                             @RequestParam(name = "from", required = false) Integer from,
+                                             @RequestParam(name = "size", required = false) Integer size) {
+        log.debug("Пришел GET запрос /bookings/owner с параметром state: {} от пользователя с ID: {}", state, ownerId);
+        List<BookingDto> bookings = bookingService.getOwnerBookings(ownerId, BookingState.from(state),
+                Pagination.of(from, size, null));
+        payloadLogger.log(log, "Отправлен ответ /bookings/owner с телом: {}", bookings);
+        return bookings;
+    }
+}
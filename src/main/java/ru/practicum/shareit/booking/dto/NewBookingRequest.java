@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NewBookingRequest {
+    @NotNull(message = "Не указана вещь для бронирования")
+    @Positive(message = "ID вещи не может быть отрицательным числом")
+    Long itemId;
+    @NotNull(message = "Не указано начало бронирования")
+    @FutureOrPresent(message = "Начало бронирования не может быть в прошлом")
+    LocalDateTime start;
+    @NotNull(message = "Не указан конец бронирования")
+    @Future(message = "Конец бронирования должен быть в будущем")
+    LocalDateTime end;
+}
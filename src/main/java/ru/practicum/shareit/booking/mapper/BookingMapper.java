@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.mapper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingMapper {
+
+    public static BookingDto mapToBookingDto(Booking booking, Item item, User booker) {
+        BookingDto dto = new BookingDto();
+        dto.setId(booking.getId());
+        dto.setStart(booking.getStart());
+        dto.setEnd(booking.getEnd());
+        dto.setStatus(booking.getStatus());
+        dto.setItem(ItemMapper.mapToItemDto(item));
+        dto.setBooker(UserMapper.mapToUserDto(booker));
+        return dto;
+    }
+
+    public static Booking mapToBooking(Long bookerId, Item item, NewBookingRequest request) {
+        return Booking.builder()
+                .itemId(item.getId())
+                .bookerId(bookerId)
+                .ownerId(item.getOwnerId())
+                .start(request.getStart())
+                .end(request.getEnd())
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Неизменяемый снимок бронирования вещи на полуинтервал {@code [start, end)}.
+ * Хранилище увеличивает {@code version} при каждом обновлении. {@code ownerId} — владелец вещи
+ * на момент бронирования: по нему строится выборка бронирований владельца без обращения к вещам.
+ */
+@Value
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = {"id", "version"})
+public class Booking {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    Long itemId;
+    Long bookerId;
+    Long ownerId;
+    BookingStatus status;
+    long version;
+
+    /**
+     * Занимает ли бронирование вещь: ожидающее подтверждения тоже держит интервал,
+     * иначе два запроса на одно время оба дождались бы подтверждения.
+     */
+    public boolean isActive() {
+        return status == BookingStatus.WAITING || status == BookingStatus.APPROVED;
+    }
+}
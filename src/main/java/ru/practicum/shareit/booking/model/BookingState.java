@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Фильтр выборки бронирований пользователя относительно текущего момента или по статусу.
+ */
+public enum BookingState {
+    ALL,
+    CURRENT,
+    PAST,
+    FUTURE,
+    WAITING,
+    REJECTED;
+
+    public static BookingState from(String value) {
+        for (BookingState state : values()) {
+            if (state.name().equalsIgnoreCase(value)) {
+                return state;
+            }
+        }
+        throw new ValidationException("Unknown state: " + value);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.common.Pagination;
+
+import java.util.List;
+
+public interface BookingService {
+    /**
+     * Бронирует вещь в статусе {@code WAITING}. Интервал занимается сразу, до подтверждения владельцем.
+     */
+    BookingDto create(Long bookerId, NewBookingRequest request);
+
+    /**
+     * Подтверждает или отклоняет ожидающее бронирование; отклонение освобождает интервал.
+     */
+    BookingDto approve(Long ownerId, Long bookingId, boolean approved);
+
+    /**
+     * Бронирование доступно только автору и владельцу вещи.
+     */
+    BookingDto findBooking(Long userId, Long bookingId);
+
+    /**
+     * Бронирования пользователя в состоянии {@code state} от новых к старым по началу.
+     */
+    List<BookingDto> getBookerBookings(Long bookerId, BookingState state, Pagination page);
+
+    /**
+     * Бронирования вещей владельца в состоянии {@code state} от новых к старым по началу.
+     */
+    List<BookingDto> getOwnerBookings(Long ownerId, BookingState state, Pagination page);
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.ItemOwnershipException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class BookingServiceImpl implements BookingService {
+
+    private final BookingStorage bookingStorage;
+    private final ItemStorage itemStorage;
+    private final UserStorage userStorage;
+
+    @Autowired
+    public BookingServiceImpl(BookingStorage bookingStorage, ItemStorage itemStorage, UserStorage userStorage) {
+        this.bookingStorage = bookingStorage;
+        this.itemStorage = itemStorage;
+        this.userStorage = userStorage;
+    }
+
+    @Override
+    public BookingDto create(Long bookerId, NewBookingRequest request) {
+        log.debug("Бронирование вещи с ID: {} пользователем с ID: {}", request.getItemId(), bookerId);
+        User booker = userStorage.findUser(bookerId);
+        Item item = itemStorage.findItem(request.getItemId());
+        if (!request.getStart().isBefore(request.getEnd())) {
+            throw new ValidationException("Начало бронирования должно быть раньше его конца");
+        }
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            throw new ValidationException("Вещь с ID " + item.getId() + " недоступна для бронирования");
+        }
+        if (item.getOwnerId().equals(bookerId)) {
+            throw new NotFoundException("Владелец не может бронировать свою вещь");
+        }
+
+        Booking booking = bookingStorage.create(BookingMapper.mapToBooking(bookerId, item, request));
+        log.debug("Создано бронирование: {}", booking);
+        return BookingMapper.mapToBookingDto(booking, item, booker);
+    }
+
+    @Override
+    public BookingDto approve(Long ownerId, Long bookingId, boolean approved) {
+        log.debug("Рассмотрение бронирования с ID: {} пользователем с ID: {}", bookingId, ownerId);
+        Booking booking = bookingStorage.findBooking(bookingId);
+        Item item = itemStorage.findItem(booking.getItemId());
+        if (!item.getOwnerId().equals(ownerId)) {
+            log.warn("Попытка рассмотрения бронирования с ID: {} не владельцем вещи", bookingId);
+            throw new ItemOwnershipException("Подтверждать бронирование может только владелец вещи");
+        }
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        // Статус проверяется внутри атомарного обновления, чтобы два ответа владельца не применились оба
+        Booking updatedBooking = bookingStorage.update(bookingId, current -> {
+            if (current.getStatus() != BookingStatus.WAITING) {
+                throw new ValidationException("Бронирование с ID " + bookingId + " уже рассмотрено");
+            }
+            return current.toBuilder().status(status).build();
+        });
+        log.debug("Обновлено бронирование: {}", updatedBooking);
+        return BookingMapper.mapToBookingDto(updatedBooking, item, userStorage.findUser(booking.getBookerId()));
+    }
+
+    @Override
+    public BookingDto findBooking(Long userId, Long bookingId) {
+        log.debug("Поиск бронирования с ID: {} для пользователя с ID: {}", bookingId, userId);
+        Booking booking = bookingStorage.findBooking(bookingId);
+        Item item = itemStorage.findItem(booking.getItemId());
+        if (!booking.getBookerId().equals(userId) && !item.getOwnerId().equals(userId)) {
+            throw new NotFoundException("Бронирование с ID " + bookingId + " не найдено");
+        }
+        return BookingMapper.mapToBookingDto(booking, item, userStorage.findUser(booking.getBookerId()));
+    }
+
+    @Override
+    public List<BookingDto> getBookerBookings(Long bookerId, BookingState state, Pagination page) {
+        log.debug("Получение бронирований в состоянии {} для пользователя с ID: {}", state, bookerId);
+        userStorage.findUser(bookerId);
+        List<Booking> bookings = bookingStorage.getBookerBookings(bookerId, state, LocalDateTime.now(), page);
+        log.debug("Найдены бронирования: {}", LogSummary.of(bookings, Booking::getId));
+        return mapToBookingDtos(bookings);
+    }
+
+    @Override
+    public List<BookingDto> getOwnerBookings(Long ownerId, BookingState state, Pagination page) {
+        log.debug("Получение бронирований вещей в состоянии {} для владельца с ID: {}", state, ownerId);
+        userStorage.findUser(ownerId);
+        List<Booking> bookings = bookingStorage.getOwnerBookings(ownerId, state, LocalDateTime.now(), page);
+        log.debug("Найдены бронирования: {}", LogSummary.of(bookings, Booking::getId));
+        return mapToBookingDtos(bookings);
+    }
+
+    /**
+     * Каждая вещь и каждый автор загружаются один раз на страницу. Бронирования удаленных вещей
+     * и пользователей пропускаются.
+     */
+    private List<BookingDto> mapToBookingDtos(List<Booking> bookings) {
+        Map<Long, Optional<Item>> items = new HashMap<>();
+        Map<Long, Optional<User>> bookers = new HashMap<>();
+        List<BookingDto> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            Optional<Item> item = items.computeIfAbsent(booking.getItemId(), itemStorage::findItemById);
+            Optional<User> booker = bookers.computeIfAbsent(booking.getBookerId(), userStorage::findUserById);
+            if (item.isPresent() && booker.isPresent()) {
+                result.add(BookingMapper.mapToBookingDto(booking, item.get(), booker.get()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.storage;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+public interface BookingStorage {
+
+    /**
+     * Атомарно проверяет, что вещь свободна на интервале бронирования, и занимает его.
+     * Два параллельных запроса на пересекающиеся интервалы не могут оба завершиться успешно.
+     *
+     * @throws ru.practicum.shareit.exception.BookingConflictException если интервал уже занят
+     */
+    Booking create(Booking booking);
+
+    /**
+     * Атомарно применяет изменение к текущему снимку бронирования и увеличивает его версию.
+     * Если бронирование остается активным, повторно проверяет пересечение с другими бронированиями вещи.
+     */
+    Booking update(Long bookingId, UnaryOperator<Booking> updater);
+
+    Optional<Booking> findBookingById(Long bookingId);
+
+    default Booking findBooking(Long bookingId) {
+        return findBookingById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование с ID " + bookingId + " не найдено"));
+    }
+
+    /**
+     * Свободна ли вещь на полуинтервале {@code [start, end)}. Ответ может устареть сразу после возврата;
+     * занимать интервал нужно через {@link #create(Booking)}.
+     */
+    boolean isAvailable(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Бронирования автора в состоянии {@code state} на момент {@code now} от новых к старым по началу.
+     * Применяются только {@code from} и {@code size} страницы: порядок не совпадает с порядком ID.
+     */
+    List<Booking> getBookerBookings(Long bookerId, BookingState state, LocalDateTime now, Pagination page);
+
+    /**
+     * Бронирования вещей владельца; порядок и страницы — как в {@link #getBookerBookings}.
+     */
+    List<Booking> getOwnerBookings(Long ownerId, BookingState state, LocalDateTime now, Pagination page);
+
+    long count();
+}
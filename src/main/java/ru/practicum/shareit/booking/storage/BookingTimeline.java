@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Бронирования одного пользователя (автора или владельца вещи), упорядоченные от новых к старым
+ * по началу. FUTURE, PAST и CURRENT — диапазоны вокруг текущего момента; для CURRENT нижняя граница
+ * начала — текущий момент минус самое длинное бронирование пользователя. Индекс хранит только ключи,
+ * актуальный снимок берется из хранилища.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class BookingTimeline {
+    NavigableSet<Key> byStart = new ConcurrentSkipListSet<>(Comparator.reverseOrder());
+    Map<BookingStatus, NavigableSet<Key>> byStatus = new EnumMap<>(BookingStatus.class);
+    // Только растет: окно поиска CURRENT может оказаться шире нужного, но не уже
+    LongAccumulator maxDurationSeconds = new LongAccumulator(Math::max, 0);
+
+    BookingTimeline() {
+        for (BookingStatus status : BookingStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListSet<>(Comparator.reverseOrder()));
+        }
+    }
+
+    /**
+     * Переводит индекс с предыдущего снимка бронирования на текущий. Новый ключ добавляется раньше,
+     * чем удаляется старый, поэтому читатель не пропустит бронирование во время смены статуса.
+     */
+    void replace(Booking previous, Booking current) {
+        Key key = Key.of(current);
+        byStart.add(key);
+        byStatus.get(current.getStatus()).add(key);
+        maxDurationSeconds.accumulate(ChronoUnit.SECONDS.between(current.getStart(), current.getEnd()) + 1);
+        if (previous == null) {
+            return;
+        }
+        Key previousKey = Key.of(previous);
+        if (!previousKey.equals(key)) {
+            byStart.remove(previousKey);
+        }
+        if (!previousKey.equals(key) || previous.getStatus() != current.getStatus()) {
+            byStatus.get(previous.getStatus()).remove(previousKey);
+        }
+    }
+
+    NavigableSet<Key> all() {
+        return byStart;
+    }
+
+    NavigableSet<Key> withStatus(BookingStatus status) {
+        return byStatus.get(status);
+    }
+
+    /**
+     * Начавшиеся строго после {@code now}.
+     */
+    NavigableSet<Key> startedAfter(LocalDateTime now) {
+        return byStart.headSet(Key.last(now), false);
+    }
+
+    /**
+     * Начавшиеся не позже {@code now}.
+     */
+    NavigableSet<Key> startedBy(LocalDateTime now) {
+        return byStart.tailSet(Key.last(now), true);
+    }
+
+    /**
+     * Начавшиеся не позже {@code now}, но достаточно поздно, чтобы еще не закончиться.
+     */
+    NavigableSet<Key> mayBeCurrent(LocalDateTime now) {
+        LocalDateTime earliest = now.minusSeconds(maxDurationSeconds.get());
+        return byStart.subSet(Key.last(now), true, Key.last(earliest), false);
+    }
+
+    record Key(LocalDateTime start, long id) implements Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::start).thenComparingLong(Key::id);
+
+        static Key of(Booking booking) {
+            return new Key(booking.getStart(), booking.getId());
+        }
+
+        static Key last(LocalDateTime start) {
+            return new Key(start, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
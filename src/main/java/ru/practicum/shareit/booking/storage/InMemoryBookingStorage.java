@@ -0,0 +1,215 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.persistence.ChangeJournal;
+import ru.practicum.shareit.persistence.RecoverableStorage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Хранилище бронирований в памяти. Для каждой вещи ведется {@link ItemSchedule}; все записи
+ * бронирований вещи сериализуются ее блокировкой, поэтому проверка пересечения и занятие
+ * интервала атомарны, а бронирования разных вещей не мешают друг другу. Выборки автора и владельца
+ * идут по {@link BookingTimeline} пользователя, который обновляется под той же блокировкой.
+ */
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class InMemoryBookingStorage implements BookingStorage, RecoverableStorage<Booking> {
+
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    private AtomicLong idCounter = new AtomicLong(1);
+    private final LongAdder size = new LongAdder();
+    private final Map<Long, ItemSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, BookingTimeline> bookerTimelines = new ConcurrentHashMap<>();
+    private final Map<Long, BookingTimeline> ownerTimelines = new ConcurrentHashMap<>();
+    private final ChangeJournal<Booking> journal;
+
+    public InMemoryBookingStorage() {
+        this(ChangeJournal.none());
+    }
+
+    public InMemoryBookingStorage(ChangeJournal<Booking> journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public Booking create(Booking booking) {
+        ItemSchedule schedule = schedule(booking.getItemId());
+        schedule.lock();
+        try {
+            if (booking.isActive() && !schedule.isFree(booking.getStart(), booking.getEnd())) {
+                throw conflict(booking);
+            }
+            Booking newBooking = booking.toBuilder()
+                    .id(idCounter.getAndIncrement())
+                    .version(1)
+                    .build();
+            schedule.replace(null, newBooking);
+            bookings.put(newBooking.getId(), newBooking);
+            syncTimelines(null, newBooking);
+            size.increment();
+            journal.put(newBooking);
+            log.debug("Создано бронирование с ID {}: {}", newBooking.getId(), newBooking);
+            return newBooking;
+        } finally {
+            schedule.unlock();
+        }
+    }
+
+    @Override
+    public Booking update(Long bookingId, UnaryOperator<Booking> updater) {
+        ItemSchedule schedule = schedule(findBooking(bookingId).getItemId());
+        schedule.lock();
+        try {
+            // Вещь бронирования не меняется, поэтому под ее блокировкой снимок уже не изменится
+            Booking current = findBooking(bookingId);
+            Booking newBooking = updater.apply(current)
+                    .toBuilder()
+                    .id(bookingId)
+                    .itemId(current.getItemId())
+                    .bookerId(current.getBookerId())
+                    .ownerId(current.getOwnerId())
+                    .version(current.getVersion() + 1)
+                    .build();
+            if (!schedule.replace(current, newBooking)) {
+                throw conflict(newBooking);
+            }
+            bookings.put(bookingId, newBooking);
+            syncTimelines(current, newBooking);
+            journal.put(newBooking);
+            log.debug("Обновление бронирования с ID {}: {}", bookingId, newBooking);
+            return newBooking;
+        } finally {
+            schedule.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Booking> findBookingById(Long bookingId) {
+        return Optional.ofNullable(bookings.get(bookingId));
+    }
+
+    @Override
+    public boolean isAvailable(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemSchedule schedule = schedules.get(itemId);
+        return schedule == null || schedule.isFree(start, end);
+    }
+
+    @Override
+    public List<Booking> getBookerBookings(Long bookerId, BookingState state, LocalDateTime now, Pagination page) {
+        List<Booking> result = query(bookerTimelines.get(bookerId), state, now, page);
+        log.debug("Найдены бронирования автора с ID {} в состоянии {}: {}", bookerId, state,
+                LogSummary.of(result, Booking::getId));
+        return result;
+    }
+
+    @Override
+    public List<Booking> getOwnerBookings(Long ownerId, BookingState state, LocalDateTime now, Pagination page) {
+        List<Booking> result = query(ownerTimelines.get(ownerId), state, now, page);
+        log.debug("Найдены бронирования владельца с ID {} в состоянии {}: {}", ownerId, state,
+                LogSummary.of(result, Booking::getId));
+        return result;
+    }
+
+    @Override
+    public long count() {
+        return size.sum();
+    }
+
+    @Override
+    public void restore(Booking booking) {
+        bookings.put(booking.getId(), booking);
+        size.increment();
+        schedule(booking.getItemId()).replace(null, booking);
+        syncTimelines(null, booking);
+    }
+
+    @Override
+    public void restoreNextId(long nextId) {
+        idCounter.accumulateAndGet(nextId, Math::max);
+    }
+
+    @Override
+    public long nextId() {
+        return idCounter.get();
+    }
+
+    @Override
+    public void forEachStored(Consumer<Booking> action) {
+        bookings.values().forEach(action);
+    }
+
+    /**
+     * Диапазон индекса, в котором лежат бронирования состояния, и проверка снимка на попадание в состояние.
+     */
+    private List<Booking> query(BookingTimeline timeline, BookingState state, LocalDateTime now, Pagination page) {
+        if (timeline == null) {
+            return List.of();
+        }
+        return switch (state) {
+            case ALL -> collectPage(timeline.all(), page, booking -> true);
+            case FUTURE -> collectPage(timeline.startedAfter(now), page, booking -> booking.getStart().isAfter(now));
+            case PAST -> collectPage(timeline.startedBy(now), page, booking -> !booking.getEnd().isAfter(now));
+            case CURRENT -> collectPage(timeline.mayBeCurrent(now), page, booking -> booking.getEnd().isAfter(now));
+            case WAITING -> collectPage(timeline.withStatus(BookingStatus.WAITING), page,
+                    booking -> booking.getStatus() == BookingStatus.WAITING);
+            case REJECTED -> collectPage(timeline.withStatus(BookingStatus.REJECTED), page,
+                    booking -> booking.getStatus() == BookingStatus.REJECTED);
+        };
+    }
+
+    /**
+     * Собирает страницу, проходя ключи индекса по порядку и останавливаясь, как только она заполнена.
+     */
+    private List<Booking> collectPage(Iterable<BookingTimeline.Key> keys, Pagination page, Predicate<Booking> filter) {
+        List<Booking> result = new ArrayList<>();
+        int skipped = 0;
+        for (BookingTimeline.Key key : keys) {
+            Booking booking = bookings.get(key.id());
+            if (booking == null || !booking.getStart().equals(key.start()) || !filter.test(booking)) {
+                continue;
+            }
+            if (skipped < page.getFrom()) {
+                skipped++;
+                continue;
+            }
+            result.add(booking);
+            if (result.size() >= page.getSize()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void syncTimelines(Booking previous, Booking current) {
+        bookerTimelines.computeIfAbsent(current.getBookerId(), id -> new BookingTimeline()).replace(previous, current);
+        ownerTimelines.computeIfAbsent(current.getOwnerId(), id -> new BookingTimeline()).replace(previous, current);
+    }
+
+    private ItemSchedule schedule(Long itemId) {
+        return schedules.computeIfAbsent(itemId, id -> new ItemSchedule());
+    }
+
+    private static BookingConflictException conflict(Booking booking) {
+        return new BookingConflictException("Вещь с ID " + booking.getItemId() + " уже забронирована на период с "
+                + booking.getStart() + " по " + booking.getEnd());
+    }
+}
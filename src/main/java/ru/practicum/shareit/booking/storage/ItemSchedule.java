@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Активные бронирования одной вещи, упорядоченные по началу. Интервалы в расписании не пересекаются,
+ * поэтому пересечь новый интервал могут только ближайшее бронирование, начавшееся не позже него,
+ * и ближайшее начавшееся после: проверка занимает O(log n) от истории вещи.
+ * Изменения выполняются под блокировкой вещи, чтение идет без блокировок.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class ItemSchedule {
+    NavigableMap<LocalDateTime, Booking> active = new ConcurrentSkipListMap<>();
+    // ReentrantLock, а не synchronized: не закрепляет виртуальный поток за несущим
+    ReentrantLock lock = new ReentrantLock();
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    boolean isFree(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Booking> before = active.floorEntry(start);
+        if (before != null && before.getValue().getEnd().isAfter(start)) {
+            return false;
+        }
+        Map.Entry<LocalDateTime, Booking> after = active.higherEntry(start);
+        return after == null || !after.getKey().isBefore(end);
+    }
+
+    /**
+     * Переводит расписание с предыдущего снимка бронирования на текущий. Вызывается под блокировкой.
+     *
+     * @return {@code false}, если текущий снимок пересекается с другим бронированием; расписание не меняется
+     */
+    boolean replace(Booking previous, Booking current) {
+        boolean wasActive = previous != null && previous.isActive();
+        if (wasActive) {
+            active.remove(previous.getStart(), previous);
+        }
+        if (current != null && current.isActive()) {
+            if (!isFree(current.getStart(), current.getEnd())) {
+                if (wasActive) {
+                    active.put(previous.getStart(), previous);
+                }
+                return false;
+            }
+            active.put(current.getStart(), current);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Хранилище бронирований в PostgreSQL. Записи бронирований одной вещи сериализуются блокировкой
+ * строки вещи ({@code SELECT ... FOR UPDATE}), а проверка пересечения, как и в памяти, ищет
+ * только двух соседей по индексу {@code (item_id, start_date)}. Выборки автора и владельца идут
+ * по индексам {@code (booker_id, start_date, id)} и {@code (owner_id, start_date, id)}.
+ */
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class JdbcBookingStorage implements BookingStorage {
+    private static final long NO_BOOKING = 0;
+    private static final String ACTIVE = "status IN ('WAITING', 'APPROVED') ";
+    private static final String LOCK_ITEM = "SELECT id FROM items WHERE id = ? FOR UPDATE";
+    private static final String INSERT = "INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, "
+            + "status, version) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE bookings SET start_date = ?, end_date = ?, booker_id = ?, status = ?, "
+            + "version = ? WHERE id = ? AND version = ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM bookings";
+    private static final String SELECT = "SELECT id, start_date, end_date, item_id, booker_id, owner_id, status, version "
+            + "FROM bookings ";
+    private static final String FIND_BY_ID = SELECT + "WHERE id = ?";
+    private static final String PAGE = "ORDER BY start_date DESC, id DESC LIMIT ? OFFSET ?";
+    private static final Map<BookingState, String> STATE_CONDITIONS = new EnumMap<>(Map.of(
+            BookingState.ALL, "",
+            BookingState.CURRENT, "AND start_date <= ? AND end_date > ? ",
+            BookingState.PAST, "AND start_date <= ? AND end_date <= ? ",
+            BookingState.FUTURE, "AND start_date > ? ",
+            BookingState.WAITING, "AND status = 'WAITING' ",
+            BookingState.REJECTED, "AND status = 'REJECTED' "));
+    private static final Map<BookingState, String> FIND_BY_BOOKER = queries("WHERE booker_id = ? ");
+    private static final Map<BookingState, String> FIND_BY_OWNER = queries("WHERE owner_id = ? ");
+    private static final String FIND_END_BEFORE = "SELECT end_date FROM bookings "
+            + "WHERE item_id = ? AND start_date <= ? AND id <> ? AND " + ACTIVE + "ORDER BY start_date DESC LIMIT 1";
+    private static final String FIND_START_AFTER = "SELECT start_date FROM bookings "
+            + "WHERE item_id = ? AND start_date > ? AND id <> ? AND " + ACTIVE + "ORDER BY start_date LIMIT 1";
+    private static final RowMapper<Booking> BOOKING_ROW_MAPPER = JdbcBookingStorage::mapRow;
+
+    JdbcTemplate jdbcTemplate;
+
+    public JdbcBookingStorage(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public Booking create(Booking booking) {
+        lockItem(booking.getItemId());
+        if (booking.isActive() && !isFree(booking.getItemId(), booking.getStart(), booking.getEnd(), NO_BOOKING)) {
+            throw conflict(booking);
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT, new String[]{"id"});
+            ps.setObject(1, booking.getStart());
+            ps.setObject(2, booking.getEnd());
+            ps.setLong(3, booking.getItemId());
+            ps.setLong(4, booking.getBookerId());
+            ps.setLong(5, booking.getOwnerId());
+            ps.setString(6, booking.getStatus().name());
+            ps.setLong(7, 1L);
+            return ps;
+        }, keyHolder);
+        Booking newBooking = booking.toBuilder()
+                .id(keyHolder.getKey().longValue())
+                .version(1)
+                .build();
+        log.debug("Создано бронирование с ID {}: {}", newBooking.getId(), newBooking);
+        return newBooking;
+    }
+
+    @Override
+    @Transactional
+    public Booking update(Long bookingId, UnaryOperator<Booking> updater) {
+        lockItem(findBooking(bookingId).getItemId());
+        Booking current = findBooking(bookingId);
+        Booking newBooking = updater.apply(current)
+                .toBuilder()
+                .id(bookingId)
+                .itemId(current.getItemId())
+                .bookerId(current.getBookerId())
+                .ownerId(current.getOwnerId())
+                .version(current.getVersion() + 1)
+                .build();
+        if (newBooking.isActive()
+                && !isFree(newBooking.getItemId(), newBooking.getStart(), newBooking.getEnd(), bookingId)) {
+            throw conflict(newBooking);
+        }
+        int updated = jdbcTemplate.update(UPDATE, ps -> {
+            ps.setObject(1, newBooking.getStart());
+            ps.setObject(2, newBooking.getEnd());
+            ps.setLong(3, newBooking.getBookerId());
+            ps.setString(4, newBooking.getStatus().name());
+            ps.setLong(5, newBooking.getVersion());
+            ps.setLong(6, bookingId);
+            ps.setLong(7, current.getVersion());
+        });
+        if (updated != 1) {
+            throw new NotFoundException("Бронирование с ID " + bookingId + " не найдено");
+        }
+        log.debug("Обновление бронирования с ID {}: {}", bookingId, newBooking);
+        return newBooking;
+    }
+
+    @Override
+    public Optional<Booking> findBookingById(Long bookingId) {
+        return jdbcTemplate.query(FIND_BY_ID, BOOKING_ROW_MAPPER, bookingId).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isAvailable(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return isFree(itemId, start, end, NO_BOOKING);
+    }
+
+    @Override
+    public List<Booking> getBookerBookings(Long bookerId, BookingState state, LocalDateTime now, Pagination page) {
+        return jdbcTemplate.query(FIND_BY_BOOKER.get(state), BOOKING_ROW_MAPPER, arguments(bookerId, state, now, page));
+    }
+
+    @Override
+    public List<Booking> getOwnerBookings(Long ownerId, BookingState state, LocalDateTime now, Pagination page) {
+        return jdbcTemplate.query(FIND_BY_OWNER.get(state), BOOKING_ROW_MAPPER, arguments(ownerId, state, now, page));
+    }
+
+    @Override
+    public long count() {
+        return jdbcTemplate.queryForObject(COUNT, Long.class);
+    }
+
+    private static Map<BookingState, String> queries(String userCondition) {
+        Map<BookingState, String> queries = new EnumMap<>(BookingState.class);
+        STATE_CONDITIONS.forEach((state, condition) -> queries.put(state, SELECT + userCondition + condition + PAGE));
+        return queries;
+    }
+
+    private static Object[] arguments(Long userId, BookingState state, LocalDateTime now, Pagination page) {
+        return switch (state) {
+            case CURRENT, PAST -> new Object[]{userId, now, now, page.getSize(), page.getFrom()};
+            case FUTURE -> new Object[]{userId, now, page.getSize(), page.getFrom()};
+            case ALL, WAITING, REJECTED -> new Object[]{userId, page.getSize(), page.getFrom()};
+        };
+    }
+
+    private void lockItem(Long itemId) {
+        if (jdbcTemplate.queryForList(LOCK_ITEM, Long.class, itemId).isEmpty()) {
+            throw new NotFoundException("Вещь с ID " + itemId + " не найдена");
+        }
+    }
+
+    private boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end, long ignoredId) {
+        List<LocalDateTime> before = jdbcTemplate.queryForList(FIND_END_BEFORE, LocalDateTime.class,
+                itemId, start, ignoredId);
+        if (!before.isEmpty() && before.get(0).isAfter(start)) {
+            return false;
+        }
+        List<LocalDateTime> after = jdbcTemplate.queryForList(FIND_START_AFTER, LocalDateTime.class,
+                itemId, start, ignoredId);
+        return after.isEmpty() || !after.get(0).isBefore(end);
+    }
+
+    private static BookingConflictException conflict(Booking booking) {
+        return new BookingConflictException("Вещь с ID " + booking.getItemId() + " уже забронирована на период с "
+                + booking.getStart() + " по " + booking.getEnd());
+    }
+
+    private static Booking mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Booking.builder()
+                .id(rs.getLong("id"))
+                .start(rs.getObject("start_date", LocalDateTime.class))
+                .end(rs.getObject("end_date", LocalDateTime.class))
+                .itemId(rs.getLong("item_id"))
+                .bookerId(rs.getLong("booker_id"))
+                .ownerId(rs.getLong("owner_id"))
+                .status(BookingStatus.valueOf(rs.getString("status")))
+                .version(rs.getLong("version"))
+                .build();
+    }
+}
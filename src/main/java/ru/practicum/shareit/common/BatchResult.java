@@ -0,0 +1,58 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Результат обработки одного элемента пакетного запроса: позиция в запросе, HTTP-статус
+ * и либо результат, либо текст ошибки.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult<T> {
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    int index;
+    int status;
+    T result;
+    String error;
+
+    public static <T> BatchResult<T> success(int index, HttpStatus status, T result) {
+        return new BatchResult<>(index, status.value(), result, null);
+    }
+
+    public static <T> BatchResult<T> failure(int index, HttpStatus status, String error) {
+        return new BatchResult<>(index, status.value(), null, error);
+    }
+
+    /**
+     * Проверяет элемент по аннотациям jakarta.validation. Возвращает ошибку или {@code null}, если элемент корректен.
+     */
+    public static <T> BatchResult<T> validate(Validator validator, int index, Object request) {
+        if (request == null) {
+            return failure(index, HttpStatus.BAD_REQUEST, "Элемент пакета не должен быть пустым");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return failure(index, HttpStatus.BAD_REQUEST, violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+    }
+
+    public static void checkSize(List<?> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Пакет должен содержать от 1 до " + MAX_BATCH_SIZE + " элементов");
+        }
+    }
+}
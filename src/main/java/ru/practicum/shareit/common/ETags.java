@@ -0,0 +1,49 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Сильные ETag из эпохи, ID и версии сущности. Эпоха выбирается при запуске: версии хранилища
+ * в памяти после перезапуска начинаются заново, и старый тег клиента не должен совпасть с новым состоянием.
+ */
+@Component
+public class ETags {
+    private final String epoch;
+
+    public ETags() {
+        this(Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, Character.MAX_RADIX));
+    }
+
+    ETags(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public String of(long id, long version) {
+        return "\"" + epoch + "-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Проверяет заголовок {@code If-None-Match}: список тегов через запятую или {@code *}.
+     * Для этого заголовка сравнение слабое, поэтому префикс {@code W/} не учитывается.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Кэш снимков сущностей по ID с ограничением размера и времени жизни. Загрузка из хранилища идет
+ * вне блокировок кэша, поэтому медленный запрос к БД не держит монитор и не закрепляет виртуальный поток.
+ * Чтобы загрузка, начатая до записи, не вернула в кэш устаревший снимок, запись увеличивает штамп
+ * своей полосы ID, а загруженный снимок кладется в кэш, только если штамп не изменился.
+ * Статистика попаданий публикуется как {@code cache.gets{cache=<name>,result=hit|miss}}.
+ */
+public final class EntityCache<T> {
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, T> cache;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    public EntityCache(String name, long maximumSize, Duration expireAfterWrite, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    /**
+     * Возвращает снимок из кэша или загружает его. Отсутствующие сущности не кэшируются.
+     */
+    public Optional<T> get(Long id, Function<Long, Optional<T>> loader) {
+        T cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        int stripe = stripe(id);
+        long stamp = stamps.get(stripe);
+        Optional<T> loaded = loader.apply(id);
+        loaded.ifPresent(value -> cache.asMap().compute(id, (key, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return stamps.get(stripe) == stamp ? value : null;
+        }));
+        return loaded;
+    }
+
+    public Optional<T> getIfPresent(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Вызывается после каждой записи сущности, в том числе неудачной.
+     */
+    public void invalidate(Long id) {
+        stamps.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    /**
+     * Сбрасывает кэш целиком — для изменений, которые хранилище делает само (каскадное удаление).
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static int stripe(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (STRIPES - 1);
+    }
+}
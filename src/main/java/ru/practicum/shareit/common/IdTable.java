@@ -0,0 +1,197 @@
+package ru.practicum.shareit.common;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Таблица сущностей, в которой ID — это номер ячейки. Хранилища выдают ID подряд начиная с 1,
+ * поэтому хеширование не нужно: на сущность приходится одна ссылка вместо узла skip-list или
+ * ConcurrentHashMap с упакованным {@code Long}. Ячейки выделяются блоками по {@value #CHUNK_SIZE}.
+ * Чтение идет без блокировок, запись — CAS ячейки; обход идет по возрастанию ID.
+ * Таблица сегмента хранит только ID вида {@code slot << strideBits | residue}: номером ячейки
+ * служит {@code slot}, поэтому чужие ID не оставляют пустых ячеек. Каталог не растет дальше
+ * {@value #MAX_CHUNKS} блоков: ID за этой границей (например, испорченный при восстановлении) отклоняется,
+ * а не раздувает каталог до гигабайт.
+ */
+public final class IdTable<T> {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    // 2^31 ячеек; сам каталог на пределе занимает 8-16 МБ
+    private static final int MAX_CHUNKS = 1 << 21;
+
+    // Каталог растет удвоением под блокировкой; новый блок публикуется повторной записью ссылки на каталог,
+    // поэтому читается он без блокировки
+    private volatile AtomicReferenceArray<T>[] chunks = newDirectory(0);
+    // Число блоков до последнего выделенного включительно: каталог может быть длиннее
+    private volatile int allocatedChunks;
+    private final ReentrantLock growLock = new ReentrantLock();
+    private final int strideBits;
+    private final long residue;
+
+    public IdTable() {
+        this(0, 0);
+    }
+
+    public IdTable(int strideBits, int residue) {
+        if (strideBits < 0 || strideBits > 30 || residue < 0 || residue >= 1 << strideBits) {
+            throw new IllegalArgumentException("Некорректный сегмент таблицы: " + residue + " из " + (1 << strideBits));
+        }
+        this.strideBits = strideBits;
+        this.residue = residue;
+    }
+
+    public T get(long id) {
+        long slot = slot(id);
+        AtomicReferenceArray<T> chunk = chunkOrNull(slot);
+        return chunk != null ? chunk.get(offset(slot)) : null;
+    }
+
+    public void put(long id, T value) {
+        long slot = slot(id);
+        chunkFor(slot, id).set(offset(slot), value);
+    }
+
+    /**
+     * Заменяет значение, только если в ячейке тот же самый объект {@code expected}.
+     */
+    public boolean replace(long id, T expected, T value) {
+        long slot = slot(id);
+        AtomicReferenceArray<T> chunk = chunkOrNull(slot);
+        return chunk != null && chunk.compareAndSet(offset(slot), expected, value);
+    }
+
+    public T remove(long id) {
+        long slot = slot(id);
+        AtomicReferenceArray<T> chunk = chunkOrNull(slot);
+        return chunk != null ? chunk.getAndSet(offset(slot), null) : null;
+    }
+
+    public void forEach(Consumer<? super T> action) {
+        Iterator<T> values = valuesFrom(0);
+        while (values.hasNext()) {
+            action.accept(values.next());
+        }
+    }
+
+    /**
+     * Значения с ID не меньше {@code fromId} по возрастанию ID. Слабо согласован, как итераторы
+     * concurrent-коллекций: записи во время обхода могут быть видны или нет.
+     */
+    public Iterator<T> valuesFrom(long fromId) {
+        return valuesBetween(fromId, Long.MAX_VALUE);
+    }
+
+    /**
+     * Значения с ID в диапазоне [{@code fromId}, {@code toId}) по возрастанию ID, согласованность как у
+     * {@link #valuesFrom}.
+     */
+    public Iterator<T> valuesBetween(long fromId, long toId) {
+        // Граница читается до каталога: каталог пишется раньше нее, поэтому покрывает все ее блоки
+        long end = Math.min(firstSlotFrom(toId), (long) allocatedChunks << CHUNK_BITS);
+        AtomicReferenceArray<T>[] directory = chunks;
+        long start = firstSlotFrom(fromId);
+        return new Iterator<>() {
+            long slot = start;
+            T next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && slot < end) {
+                    AtomicReferenceArray<T> chunk = directory[(int) (slot >>> CHUNK_BITS)];
+                    if (chunk == null) {
+                        slot = (slot | (CHUNK_SIZE - 1)) + 1;
+                        continue;
+                    }
+                    next = chunk.get(offset(slot));
+                    slot++;
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Граница, начиная с которой ячейки еще не выделены: все ID в таблице меньше нее.
+     */
+    public long idLimit() {
+        return (long) allocatedChunks << (CHUNK_BITS + strideBits);
+    }
+
+    /**
+     * Номер ячейки для ID или -1, если ID не принадлежит таблице.
+     */
+    private long slot(long id) {
+        return id >= 0 && (id & ((1L << strideBits) - 1)) == residue ? id >>> strideBits : -1;
+    }
+
+    /**
+     * Первая ячейка, ID которой не меньше {@code id}.
+     */
+    private long firstSlotFrom(long id) {
+        if (id <= residue) {
+            return 0;
+        }
+        long distance = id - residue;
+        return (distance >>> strideBits) + ((distance & ((1L << strideBits) - 1)) != 0 ? 1 : 0);
+    }
+
+    private AtomicReferenceArray<T> chunkOrNull(long slot) {
+        AtomicReferenceArray<T>[] directory = chunks;
+        long index = slot >>> CHUNK_BITS;
+        return slot >= 0 && index < directory.length ? directory[(int) index] : null;
+    }
+
+    private AtomicReferenceArray<T> chunkFor(long slot, long id) {
+        AtomicReferenceArray<T> chunk = chunkOrNull(slot);
+        if (chunk != null) {
+            return chunk;
+        }
+        if (slot < 0 || (slot >>> CHUNK_BITS) >= MAX_CHUNKS) {
+            throw new IllegalArgumentException("ID вне диапазона таблицы: " + id);
+        }
+        int index = (int) (slot >>> CHUNK_BITS);
+        growLock.lock();
+        try {
+            AtomicReferenceArray<T>[] directory = chunks;
+            if (index < directory.length && directory[index] != null) {
+                return directory[index];
+            }
+            if (index >= directory.length) {
+                int length = Math.min(MAX_CHUNKS, Math.max(index + 1, directory.length * 2));
+                AtomicReferenceArray<T>[] grown = newDirectory(length);
+                System.arraycopy(directory, 0, grown, 0, directory.length);
+                directory = grown;
+            }
+            AtomicReferenceArray<T> created = new AtomicReferenceArray<>(CHUNK_SIZE);
+            directory[index] = created;
+            // Запись в volatile-поле после заполнения ячейки каталога публикует блок читателям
+            chunks = directory;
+            allocatedChunks = Math.max(allocatedChunks, index + 1);
+            return created;
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    private static int offset(long slot) {
+        return (int) slot & (CHUNK_SIZE - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> AtomicReferenceArray<T>[] newDirectory(int length) {
+        return (AtomicReferenceArray<T>[]) new AtomicReferenceArray[length];
+    }
+}
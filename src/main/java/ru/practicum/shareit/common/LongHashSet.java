@@ -0,0 +1,139 @@
+package ru.practicum.shareit.common;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Множество {@code long} без упаковки: открытая адресация с линейным пробированием в одном массиве.
+ * Ноль — признак пустой ячейки, поэтому он не может быть элементом (ID в хранилищах начинаются с 1).
+ * Удаление сдвигает следующие элементы цепочки назад, и «надгробия» не накапливаются.
+ * Не потокобезопасно: синхронизацию обеспечивает владелец.
+ */
+public final class LongHashSet {
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private int size;
+
+    public boolean add(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Ноль не может быть элементом LongHashSet");
+        }
+        if ((size + 1) * 4L > keys.length * 3L) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        size++;
+        return true;
+    }
+
+    /**
+     * Расширяет таблицу заранее, чтобы вставка {@code expectedSize} элементов обошлась без перестроений.
+     */
+    public void ensureCapacity(int expectedSize) {
+        int capacity = keys.length;
+        while (expectedSize * 4L > capacity * 3L) {
+            capacity *= 2;
+        }
+        if (capacity > keys.length) {
+            resize(capacity);
+        }
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean remove(long key) {
+        if (key == 0) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        int gap = slot(key, mask);
+        while (keys[gap] != key) {
+            if (keys[gap] == 0) {
+                return false;
+            }
+            gap = (gap + 1) & mask;
+        }
+        // Элемент переносится в освободившуюся ячейку, если она лежит между его домашней ячейкой и текущей
+        for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = slot(keys[i], mask);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        size--;
+        if (keys.length > MIN_CAPACITY && size * 8L < keys.length) {
+            resize(keys.length / 2);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (long key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Элементы в произвольном порядке.
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int n = 0;
+        for (long key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void resize(int capacity) {
+        long[] old = keys;
+        keys = new long[Math.max(capacity, MIN_CAPACITY)];
+        int mask = keys.length - 1;
+        for (long key : old) {
+            if (key != 0) {
+                int i = slot(key, mask);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.common;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Имена метрик приложения. В Prometheus точки заменяются подчеркиваниями.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MetricNames {
+    public static final String STORAGE_OPERATION = "shareit.storage.operation";
+    public static final String STORAGE_SIZE = "shareit.storage.size";
+    public static final String SEARCH_RESULTS = "shareit.search.results";
+    public static final String ERRORS = "shareit.errors";
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.common;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Параметры страницы с сортировкой по ID. {@code afterId} — курсор (ID последнего элемента
+ * предыдущей страницы), {@code from} — количество пропускаемых элементов после курсора.
+ */
+@Value
+public class Pagination {
+    public static final Pagination ALL = new Pagination(null, 0, Integer.MAX_VALUE);
+
+    Long afterId;
+    int from;
+    int size;
+
+    public static Pagination of(Integer from, Integer size, Long afterId) {
+        int offset = from != null ? from : 0;
+        int limit = size != null ? size : Integer.MAX_VALUE;
+        if (offset < 0) {
+            throw new ValidationException("Параметр from не может быть отрицательным");
+        }
+        if (limit <= 0) {
+            throw new ValidationException("Параметр size должен быть положительным");
+        }
+        return new Pagination(afterId, offset, limit);
+    }
+
+    /**
+     * Минимальный ID, с которого начинается страница.
+     */
+    public long startId() {
+        return afterId != null ? afterId + 1 : Long.MIN_VALUE;
+    }
+
+    /**
+     * Граница ID (не включительно), с которой начинается страница, упорядоченная по убыванию ID.
+     */
+    public long endId() {
+        return afterId != null ? afterId : Long.MAX_VALUE;
+    }
+}
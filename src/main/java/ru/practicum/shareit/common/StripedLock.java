@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Фиксированный набор блокировок, выбираемых по хешу ID. Сериализует изменения одной записи там,
+ * где под блокировкой возможно ожидание (журнал, ввод-вывод): в отличие от {@code synchronized}
+ * и {@code ConcurrentHashMap.compute}, ожидание на {@link ReentrantLock} не закрепляет
+ * виртуальный поток за несущим.
+ */
+public final class StripedLock {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * @param stripes количество блокировок, округляется вверх до степени двойки
+     */
+    public StripedLock(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock forId(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return locks[(int) (hash ^ (hash >>> 32)) & mask];
+    }
+}
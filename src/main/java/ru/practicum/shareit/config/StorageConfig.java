@@ -0,0 +1,228 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.booking.storage.InMemoryBookingStorage;
+import ru.practicum.shareit.booking.storage.JdbcBookingStorage;
+import ru.practicum.shareit.common.EntityCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.CachingItemStorage;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.item.storage.JdbcItemStorage;
+import ru.practicum.shareit.item.storage.MeteredItemStorage;
+import ru.practicum.shareit.item.storage.ParallelSearch;
+import ru.practicum.shareit.item.storage.SearchResultCache;
+import ru.practicum.shareit.item.storage.ShardedItemStorage;
+import ru.practicum.shareit.persistence.BookingCodec;
+import ru.practicum.shareit.persistence.ChangeJournal;
+import ru.practicum.shareit.persistence.EntityCodec;
+import ru.practicum.shareit.persistence.ItemRequestCodec;
+import ru.practicum.shareit.persistence.ItemCodec;
+import ru.practicum.shareit.persistence.PersistentStore;
+import ru.practicum.shareit.persistence.UserCodec;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.storage.InMemoryItemRequestStorage;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
+import ru.practicum.shareit.request.storage.JdbcItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.CachingUserStorage;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+import ru.practicum.shareit.user.storage.JdbcUserStorage;
+import ru.practicum.shareit.user.storage.MeteredUserStorage;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+/**
+ * Выбор реализации хранилищ по свойству {@code shareit.storage.type}.
+ * Сама реализация регистрируется отдельным бином, чтобы Spring применил к ней
+ * {@code @Transactional}; сервисы получают обернутый в декораторы {@code @Primary} бин.
+ */
+@Configuration
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageConfig {
+
+    @Bean
+    public ItemStorage itemStorageTarget(StorageProperties properties, ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                         ObjectProvider<PersistentStore<Item>> itemPersistence,
+                                         ParallelSearch itemSearch, MeterRegistry registry) {
+        return switch (properties.getType()) {
+            case MEMORY -> {
+                SearchResultCache searchCache = searchResultCache(properties, registry);
+                PersistentStore<Item> store = itemPersistence.getIfAvailable();
+                if (store == null) {
+                    yield new InMemoryItemStorage(ChangeJournal.none(), itemSearch, searchCache);
+                }
+                InMemoryItemStorage storage = new InMemoryItemStorage(store, itemSearch, searchCache);
+                store.attach(storage);
+                yield storage;
+            }
+            case SHARDED -> {
+                int shards = properties.getSharded().getShards() > 0
+                        ? properties.getSharded().getShards()
+                        : Runtime.getRuntime().availableProcessors();
+                SearchResultCache searchCache = searchResultCache(properties, registry);
+                PersistentStore<Item> store = itemPersistence.getIfAvailable();
+                if (store == null) {
+                    yield new ShardedItemStorage(shards, ChangeJournal.none(), itemSearch, searchCache);
+                }
+                ShardedItemStorage storage = new ShardedItemStorage(shards, store, itemSearch, searchCache);
+                store.attach(storage);
+                yield storage;
+            }
+            case JDBC -> new JdbcItemStorage(jdbcTemplate.getObject(), properties.getJdbc().getBatchSize());
+        };
+    }
+
+    @Bean
+    public UserStorage userStorageTarget(StorageProperties properties, ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                         ObjectProvider<PersistentStore<User>> userPersistence) {
+        return switch (properties.getType()) {
+            case MEMORY, SHARDED -> {
+                PersistentStore<User> store = userPersistence.getIfAvailable();
+                if (store == null) {
+                    yield new InMemoryUserStorage();
+                }
+                InMemoryUserStorage storage = new InMemoryUserStorage(store);
+                store.attach(storage);
+                yield storage;
+            }
+            case JDBC -> new JdbcUserStorage(jdbcTemplate.getObject(), properties.getJdbc().getBatchSize());
+        };
+    }
+
+    @Bean
+    public BookingStorage bookingStorage(StorageProperties properties, ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                         ObjectProvider<PersistentStore<Booking>> bookingPersistence) {
+        return switch (properties.getType()) {
+            case MEMORY, SHARDED -> {
+                PersistentStore<Booking> store = bookingPersistence.getIfAvailable();
+                if (store == null) {
+                    yield new InMemoryBookingStorage();
+                }
+                InMemoryBookingStorage storage = new InMemoryBookingStorage(store);
+                store.attach(storage);
+                yield storage;
+            }
+            case JDBC -> new JdbcBookingStorage(jdbcTemplate.getObject());
+        };
+    }
+
+    @Bean
+    public ItemRequestStorage itemRequestStorage(StorageProperties properties, ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                                 ObjectProvider<PersistentStore<ItemRequest>> requestPersistence) {
+        return switch (properties.getType()) {
+            case MEMORY, SHARDED -> {
+                PersistentStore<ItemRequest> store = requestPersistence.getIfAvailable();
+                if (store == null) {
+                    yield new InMemoryItemRequestStorage();
+                }
+                InMemoryItemRequestStorage storage = new InMemoryItemRequestStorage(store);
+                store.attach(storage);
+                yield storage;
+            }
+            case JDBC -> new JdbcItemRequestStorage(jdbcTemplate.getObject());
+        };
+    }
+
+    @Bean
+    @Primary
+    public MeteredItemStorage itemStorage(@Qualifier("itemStorageTarget") ItemStorage target,
+                                          ObjectProvider<EntityCache<Item>> itemCache, MeterRegistry registry) {
+        EntityCache<Item> cache = itemCache.getIfAvailable();
+        ItemStorage storage = cache != null ? new CachingItemStorage(target, cache) : target;
+        return new MeteredItemStorage(storage, registry);
+    }
+
+    @Bean
+    @Primary
+    public UserStorage userStorage(@Qualifier("userStorageTarget") UserStorage target,
+                                   ObjectProvider<EntityCache<User>> userCache,
+                                   ObjectProvider<EntityCache<Item>> itemCache, MeteredItemStorage itemStorage,
+                                   MeterRegistry registry) {
+        EntityCache<User> cache = userCache.getIfAvailable();
+        UserStorage storage = target;
+        if (cache != null) {
+            EntityCache<Item> items = itemCache.getIfAvailable();
+            storage = new CachingUserStorage(target, cache, items != null ? items::invalidateAll : () -> {
+            });
+        }
+        return new MeteredUserStorage(storage, registry, itemStorage::recount);
+    }
+
+    /**
+     * Пул параллельного поиска вещей; закрывается вместе с контекстом. С одним потоком
+     * параллельный обход только добавляет накладные расходы, поэтому поиск остается последовательным.
+     */
+    @Bean
+    public ParallelSearch itemSearch(StorageProperties properties) {
+        StorageProperties.Search search = properties.getSearch();
+        int parallelism = search.getParallelism() > 0
+                ? search.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        if (!search.isParallel() || parallelism < 2) {
+            return ParallelSearch.sequential();
+        }
+        return new ParallelSearch(parallelism, search.getParallelThreshold(), search.getSegmentSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.storage.cache.enabled", havingValue = "true")
+    public EntityCache<Item> itemCache(StorageProperties properties, MeterRegistry registry) {
+        return entityCache(properties.getCache(), "items", registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.storage.cache.enabled", havingValue = "true")
+    public EntityCache<User> userCache(StorageProperties properties, MeterRegistry registry) {
+        return entityCache(properties.getCache(), "users", registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.storage.persistence.enabled", havingValue = "true")
+    public PersistentStore<Item> itemPersistence(StorageProperties properties) {
+        return persistentStore(properties.getPersistence(), "items", new ItemCodec());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.storage.persistence.enabled", havingValue = "true")
+    public PersistentStore<User> userPersistence(StorageProperties properties) {
+        return persistentStore(properties.getPersistence(), "users", new UserCodec());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.storage.persistence.enabled", havingValue = "true")
+    public PersistentStore<Booking> bookingPersistence(StorageProperties properties) {
+        return persistentStore(properties.getPersistence(), "bookings", new BookingCodec());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.storage.persistence.enabled", havingValue = "true")
+    public PersistentStore<ItemRequest> requestPersistence(StorageProperties properties) {
+        return persistentStore(properties.getPersistence(), "requests", new ItemRequestCodec());
+    }
+
+    private static SearchResultCache searchResultCache(StorageProperties properties, MeterRegistry registry) {
+        long cacheSize = properties.getSearch().getCacheSize();
+        return cacheSize > 0 ? new SearchResultCache(cacheSize, registry) : SearchResultCache.none();
+    }
+
+    private static <T> EntityCache<T> entityCache(StorageProperties.Cache cache, String name, MeterRegistry registry) {
+        return new EntityCache<>(name, cache.getMaximumSize(), cache.getExpireAfterWrite(), registry);
+    }
+
+    private static <T> PersistentStore<T> persistentStore(StorageProperties.Persistence persistence, String name,
+                                                          EntityCodec<T> codec) {
+        return new PersistentStore<>(persistence.getDirectory().resolve(name), codec,
+                Math.toIntExact(persistence.getSegmentSize().toBytes()), persistence.getSnapshotInterval(),
+                persistence.getFsyncInterval());
+    }
+}
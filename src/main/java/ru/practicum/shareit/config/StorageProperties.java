@@ -0,0 +1,90 @@
+package ru.practicum.shareit.config;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.storage")
+public class StorageProperties {
+    StorageType type = StorageType.MEMORY;
+    Jdbc jdbc = new Jdbc();
+    Sharded sharded = new Sharded();
+    Persistence persistence = new Persistence();
+    Cache cache = new Cache();
+    Search search = new Search();
+
+    public enum StorageType {
+        MEMORY,
+        // Вещи в памяти, разделенные по владельцам на сегменты; остальные хранилища как в MEMORY
+        SHARDED,
+        JDBC
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Jdbc {
+        int batchSize = 500;
+    }
+
+    /**
+     * Число сегментов хранилища вещей для {@code type=sharded}, округляется вверх до степени двойки.
+     */
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Sharded {
+        // Ноль — по числу процессоров
+        int shards = 0;
+    }
+
+    /**
+     * Кэш вещей и пользователей по ID перед хранилищем. Имеет смысл для {@code type=jdbc}:
+     * хранилища в памяти сами отвечают не медленнее кэша.
+     */
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Cache {
+        boolean enabled = false;
+        long maximumSize = 10_000;
+        // Предел устаревания для изменений в обход кэша (другие экземпляры приложения)
+        Duration expireAfterWrite = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Параллельный поиск вещей по тексту в режимах {@code memory} и {@code sharded}: каталог делится на сегменты по
+     * {@code segmentSize} ID, которые проверяются на отдельном пуле, когда проверить нужно
+     * не меньше {@code parallelThreshold} вещей. Результаты кэшируются, {@code cacheSize} — суммарное
+     * число ID во всех закэшированных результатах, ноль выключает кэш.
+     */
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Search {
+        boolean parallel = true;
+        // Ноль — по числу процессоров
+        int parallelism = 0;
+        long parallelThreshold = 200_000;
+        int segmentSize = 16_384;
+        long cacheSize = 100_000;
+    }
+
+    /**
+     * Сохранение хранилищ в памяти на диск (только для {@code type=memory} и {@code type=sharded}).
+     */
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Persistence {
+        boolean enabled = false;
+        Path directory = Path.of("data");
+        DataSize segmentSize = DataSize.ofMegabytes(64);
+        // Ноль отключает фоновые снимки
+        Duration snapshotInterval = Duration.ofMinutes(10);
+        // Ноль оставляет сброс на диск операционной системе
+        Duration fsyncInterval = Duration.ofSeconds(1);
+    }
+}
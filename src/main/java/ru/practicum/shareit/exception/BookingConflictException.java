@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class BookingConflictException extends DomainException {
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
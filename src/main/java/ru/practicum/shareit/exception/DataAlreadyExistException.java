@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class DataAlreadyExistException extends RuntimeException {
+public class DataAlreadyExistException extends DomainException {
 
     public DataAlreadyExistException(String message) {
         super(message);
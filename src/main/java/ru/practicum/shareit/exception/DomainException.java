@@ -0,0 +1,12 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * Базовое исключение предметной области. Описывает ожидаемый исход запроса (4xx),
+ * поэтому не собирает стек вызовов: его заполнение стоит дороже самого поиска.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
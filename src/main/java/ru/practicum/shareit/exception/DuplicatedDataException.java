@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class DuplicatedDataException extends RuntimeException {
+public class DuplicatedDataException extends DomainException {
     public DuplicatedDataException(String message) {
         super(message);
     }
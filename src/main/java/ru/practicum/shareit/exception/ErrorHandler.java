@@ -8,35 +8,63 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+/**
+ * Ожидаемые исходы (4xx) пишутся на уровне DEBUG: статус и длительность каждого запроса
+ * уже есть в строке {@link ru.practicum.shareit.logging.RequestLoggingFilter}.
+ */
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
+    private final ErrorMetrics errorMetrics;
+
+    public ErrorHandler(ErrorMetrics errorMetrics) {
+        this.errorMetrics = errorMetrics;
+    }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotFoundException(final NotFoundException e) {
-        log.error(e.getMessage());
+        errorMetrics.record(HttpStatus.NOT_FOUND);
+        log.debug(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleDuplicatedDataException(final DuplicatedDataException e) {
-        log.error(e.getMessage());
+        errorMetrics.record(HttpStatus.CONFLICT);
+        log.debug(e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleDataAlreadyExistException(final DataAlreadyExistException e) {
+        errorMetrics.record(HttpStatus.CONFLICT);
+        log.debug(e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingConflictException(final BookingConflictException e) {
+        errorMetrics.record(HttpStatus.CONFLICT);
+        log.debug(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationException(final ValidationException e) {
-        log.error(e.getMessage());
+        log.debug(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ErrorResponse handleNotItemOwnerException(final ItemOwnershipException e) {
-        log.error(e.getMessage());
+        errorMetrics.record(HttpStatus.FORBIDDEN);
+        log.debug(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
@@ -58,14 +86,14 @@ public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleConstraintViolationException(final ConstraintViolationException e) {
-        log.error(e.getMessage());
+        log.debug(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse validationMethodArgumentNotValidException(final MethodArgumentNotValidException e) {
-        log.error(e.getMessage());
+        log.debug(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 }
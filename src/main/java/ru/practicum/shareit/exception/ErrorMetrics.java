@@ -0,0 +1,51 @@
+package ru.practicum.shareit.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.MetricNames;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Счетчик исходов 403, 404 и 409 по статусам: и ответов {@link ErrorHandler}, и отдельных элементов пакетных запросов.
+ */
+@Component
+public class ErrorMetrics {
+    private final Map<Integer, Counter> counters;
+
+    public ErrorMetrics(MeterRegistry registry) {
+        this.counters = Map.of(
+                HttpStatus.NOT_FOUND.value(), counter(registry, HttpStatus.NOT_FOUND),
+                HttpStatus.FORBIDDEN.value(), counter(registry, HttpStatus.FORBIDDEN),
+                HttpStatus.CONFLICT.value(), counter(registry, HttpStatus.CONFLICT));
+    }
+
+    private static Counter counter(MeterRegistry registry, HttpStatus status) {
+        return Counter.builder(MetricNames.ERRORS)
+                .tag("status", String.valueOf(status.value()))
+                .register(registry);
+    }
+
+    public void record(HttpStatus status) {
+        record(status.value());
+    }
+
+    public void recordFailures(List<? extends BatchResult<?>> results) {
+        for (BatchResult<?> result : results) {
+            if (result.getError() != null) {
+                record(result.getStatus());
+            }
+        }
+    }
+
+    private void record(int status) {
+        Counter counter = counters.get(status);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
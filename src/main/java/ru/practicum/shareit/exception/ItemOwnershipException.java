@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class ItemOwnershipException extends RuntimeException {
+public class ItemOwnershipException extends DomainException {
     public ItemOwnershipException(String message) {
         super(message);
     }
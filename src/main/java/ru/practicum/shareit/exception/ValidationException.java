@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class ValidationException extends RuntimeException {
+public class ValidationException extends DomainException {
     public ValidationException(String message) {
         super(message);
     }
@@ -3,14 +3,25 @@ package ru.practicum.shareit.item.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.ETags;
+import ru.practicum.shareit.common.NdjsonWriter;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.logging.PayloadLogger;
 
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -19,59 +30,124 @@ import java.util.Collection;
 public class ItemController {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private final ItemService itemService;
+    private final NdjsonWriter ndjsonWriter;
+    private final PayloadLogger payloadLogger;
+    private final ETags etags;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ItemDto create(@RequestHeader(USER_ID_HEADER) Long userId,
                           @Valid @RequestBody NewItemRequest item) {
-        log.info("Пришел POST запрос /items с телом: {}", item);
+        log.debug("Пришел POST запрос /items с телом: {}", item);
         ItemDto createdItem = itemService.create(userId, item);
-        log.info("Отправлен ответ /items с телом: {}", createdItem);
+        payloadLogger.log(log, "Отправлен ответ /items с телом: {}", createdItem);
         return createdItem;
     }
 
+    /**
+     * Владелец берется из заголовка, а если его нет — из поля ownerId каждого элемента.
+     */
+    @PostMapping("/batch")
+    public List<BatchResult<ItemDto>> createBatch(@RequestHeader(name = USER_ID_HEADER, required = false) Long userId,
+                                                  @RequestBody List<NewItemRequest> items) {
+        log.debug("Пришел POST запрос /items/batch с {} элементами от пользователя с ID: {}", items.size(), userId);
+        List<BatchResult<ItemDto>> results = itemService.createAll(userId, items);
+        payloadLogger.log(log, "Отправлен ответ /items/batch с телом: {}", results);
+        return results;
+    }
+
+    @PatchMapping("/batch")
+    public List<BatchResult<ItemDto>> updateBatch(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                  @RequestBody List<UpdateItemRequest> items) {
+        log.debug("Пришел PATCH запрос /items/batch с {} элементами от пользователя с ID: {}", items.size(), ownerId);
+        List<BatchResult<ItemDto>> results = itemService.updateAll(ownerId, items);
+        payloadLogger.log(log, "Отправлен ответ /items/batch с телом: {}", results);
+        return results;
+    }
+
     @PatchMapping("/{id}")
     public ItemDto update(@PathVariable("id") Long itemId,
                           @Valid @RequestBody UpdateItemRequest newItem,
                           @RequestHeader(USER_ID_HEADER) Long ownerId) {
-        log.info("Пришел PATCH запрос /items/{} с телом: {} от пользователя с ID: {}", itemId, newItem, ownerId);
+        log.debug("Пришел PATCH запрос /items/{} с телом: {} от пользователя с ID: {}", itemId, newItem, ownerId);
         ItemDto updatedItem = itemService.update(itemId, newItem, ownerId);
-        log.info("Отправлен ответ /items/{} с телом: {}", itemId, updatedItem);
+        payloadLogger.log(log, "Отправлен ответ /items/{} с телом: {}", itemId, updatedItem);
         return updatedItem;
     }
 
     @DeleteMapping("/{id}")
     public boolean delete(@RequestHeader(USER_ID_HEADER) Long ownerId,
                           @PathVariable("id") Long itemId) {
-        log.info("Пришел DELETE запрос /items/{} от пользователя с ID: {}", itemId, ownerId);
+        log.debug("Пришел DELETE запрос /items/{} от пользователя с ID: {}", itemId, ownerId);
         boolean deletedItem = itemService.delete(ownerId, itemId);
-        log.info("Отправлен ответ /items/{} с результатом: {}", itemId, deletedItem);
+        payloadLogger.log(log, "Отправлен ответ /items/{} с результатом: {}", itemId, deletedItem);
         return deletedItem;
     }
 
+    /**
+     * Отвечает с ETag из ID и версии вещи. Если версия совпадает с {@code If-None-Match},
+     * возвращает 304 без чтения вещи и сериализации.
+     */
     @GetMapping("/{id}")
-    public ItemDto findItem(@RequestHeader(USER_ID_HEADER) Long ownerId,
-                            @PathVariable("id") Long itemId) {
-        log.info("Пришел GET запрос /items/{} от пользователя с ID: {}", itemId, ownerId);
+    public ResponseEntity<ItemDto> findItem(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                            @PathVariable("id") Long itemId,
+                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+                                            String ifNoneMatch) {
+        log.debug("Пришел GET запрос /items/{} от пользователя с ID: {}", itemId, ownerId);
+        if (ifNoneMatch != null) {
+            String etag = etags.of(itemId, itemService.getItemVersion(itemId));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                log.debug("Вещь с ID {} не изменилась, ETag: {}", itemId, etag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         ItemDto item = itemService.findItem(ownerId, itemId);
-        log.info("Отправлен ответ /items/{} с телом: {}", itemId, item);
-        return item;
+        payloadLogger.log(log, "Отправлен ответ /items/{} с телом: {}", itemId, item);
+        return ResponseEntity.ok().eTag(etags.of(item.getId(), item.getVersion())).body(item);
     }
 
     @GetMapping("/search")
     public Collection<ItemDto> searchItemsByText(@RequestHeader(USER_ID_HEADER) Long ownerId,
-                                                 @RequestParam(name = "text", defaultValue = "") String text) {
-        log.info("Пришел GET запрос /items/search с параметром text: {} от пользователя с ID: {}", text, ownerId);
-        Collection<ItemDto> items = itemService.searchItemsByText(ownerId, text);
-        log.info("Отправлен ответ /items/search с телом: {}", items);
+                                                 @RequestParam(name = "text", defaultValue = "") String text,
+                                                 @RequestParam(name = "from", required = false) Integer from,
+                                                 @RequestParam(name = "size", required = false) Integer size,
+                                                 @RequestParam(name = "after", required = false) Long afterId,
+                                                 @RequestParam(name = "limit", required = false) Integer limit) {
+        log.debug("Пришел GET запрос /items/search с параметром text: {} от пользователя с ID: {}", text, ownerId);
+        Collection<ItemDto> items;
+        if (limit == null) {
+            items = itemService.searchItemsByText(ownerId, text, Pagination.of(from, size, afterId));
+        } else if (from != null || size != null || afterId != null) {
+            throw new ValidationException("Параметр limit не сочетается с from, size и after");
+        } else {
+            items = itemService.searchItemsByText(ownerId, text, limit);
+        }
+        payloadLogger.log(log, "Отправлен ответ /items/search с телом: {}", items);
         return items;
     }
 
     @GetMapping
-    public Collection<ItemDto> findAll(@RequestHeader(USER_ID_HEADER) Long ownerId) {
-        log.info("Пришел GET запрос /items от пользователя с ID: {}", ownerId);
-        Collection<ItemDto> items = itemService.findAll(ownerId);
-        log.info("Отправлен ответ /items с телом: {}", items);
+    public Collection<ItemDto> findAll(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                       @RequestParam(name = "from", required = false) Integer from,
+                                       @RequestParam(name = "size", required = false) Integer size,
+                                       @RequestParam(name = "after", required = false) Long afterId) {
+        log.debug("Пришел GET запрос /items от пользователя с ID: {}", ownerId);
+        Collection<ItemDto> items = itemService.findAll(ownerId, Pagination.of(from, size, afterId));
+        payloadLogger.log(log, "Отправлен ответ /items с телом: {}", items);
         return items;
     }
+
+    @GetMapping(path = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchItemsByText(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                         @RequestParam(name = "text", defaultValue = "") String text) {
+        log.debug("Пришел GET запрос /items/search (ndjson) с параметром text: {} от пользователя с ID: {}", text,
+                ownerId);
+        return ndjsonWriter.<ItemDto>write(action -> itemService.streamSearchItemsByText(ownerId, text, action));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestHeader(USER_ID_HEADER) Long ownerId) {
+        log.debug("Пришел GET запрос /items (ndjson) от пользователя с ID: {}", ownerId);
+        return ndjsonWriter.<ItemDto>write(action -> itemService.streamAll(ownerId, action));
+    }
 }
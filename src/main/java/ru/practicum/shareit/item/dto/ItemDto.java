@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AccessLevel;
 import lombok.Data;
@@ -17,4 +18,7 @@ public class ItemDto {
     Long ownerId;
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     Long requestId;
+    // Версия снимка для ETag, в тело ответа не выводится
+    @JsonIgnore
+    long version;
 }
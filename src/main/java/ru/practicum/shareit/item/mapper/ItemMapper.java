@@ -17,38 +17,35 @@ public class ItemMapper {
         dto.setAvailable(item.getAvailable());
         dto.setOwnerId(item.getOwnerId());
         dto.setRequestId(item.getRequestId());
+        dto.setVersion(item.getVersion());
 
         return dto;
     }
 
     public static Item mapToItem(Long ownerId, NewItemRequest request) {
-        Item item = new Item();
-        item.setName(request.getName());
-        item.setDescription(request.getDescription());
-        item.setAvailable(request.getAvailable());
-        if (ownerId != null) {
-            item.setOwnerId(ownerId);
-        } else {
-            item.setOwnerId(request.getOwnerId());
-        }
-        item.setRequestId(request.getRequestId());
-
-        return item;
+        return Item.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .available(request.getAvailable())
+                .ownerId(ownerId != null ? ownerId : request.getOwnerId())
+                .requestId(request.getRequestId())
+                .build();
     }
 
     public static Item updateItemFields(Item item, UpdateItemRequest request) {
+        Item.ItemBuilder builder = item.toBuilder();
         if (request.hasName()) {
-            item.setName(request.getName());
+            builder.name(request.getName());
         }
 
         if (request.hasDescription()) {
-            item.setDescription(request.getDescription());
+            builder.description(request.getDescription());
         }
 
         if (request.hasAvailable()) {
-            item.setAvailable(request.getAvailable());
+            builder.available(request.getAvailable());
         }
 
-        return item;
+        return builder.build();
     }
 }
@@ -1,13 +1,15 @@
 package ru.practicum.shareit.item.model;
 
-import lombok.AccessLevel;
-import lombok.Data;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
-import lombok.experimental.FieldDefaults;
+import lombok.Value;
 
-@Data
-@FieldDefaults(level = AccessLevel.PRIVATE)
-@EqualsAndHashCode(of = {"id"})
+/**
+ * Неизменяемый снимок вещи; {@code version} растет при каждом обновлении.
+ */
+@Value
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = {"id", "version"})
 public class Item {
     Long id;
     String name;
@@ -15,4 +17,5 @@ public class Item {
     Boolean available;
     Long ownerId;
     Long requestId;
+    long version;
 }
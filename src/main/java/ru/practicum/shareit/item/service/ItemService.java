@@ -1,21 +1,51 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.Pagination;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto create(Long ownerId, NewItemRequest request);
 
     ItemDto update(Long itemId, UpdateItemRequest request, Long ownerId);
 
+    /**
+     * Создает вещи одной пакетной вставкой. Некорректные элементы и элементы с несуществующим
+     * владельцем пропускаются и отражаются в результате, остальные создаются.
+     */
+    List<BatchResult<ItemDto>> createAll(Long ownerId, List<NewItemRequest> requests);
+
+    /**
+     * Обновляет вещи владельца; ID вещи берется из каждого элемента.
+     */
+    List<BatchResult<ItemDto>> updateAll(Long ownerId, List<UpdateItemRequest> requests);
+
     boolean delete(Long ownerId, Long itemId);
 
     ItemDto findItem(Long ownerId, Long itemId);
 
-    Collection<ItemDto> searchItemsByText(Long ownerId, String text);
+    /**
+     * Версия вещи для условного запроса: без чтения вещи целиком и без преобразования в DTO.
+     */
+    long getItemVersion(Long itemId);
+
+    Collection<ItemDto> searchItemsByText(Long ownerId, String text, Pagination page);
+
+    /**
+     * Не больше {@code limit} самых релевантных вещей: сначала совпадения в названии, затем целым словом,
+     * затем по позиции совпадения.
+     */
+    List<ItemDto> searchItemsByText(Long ownerId, String text, int limit);
+
+    Collection<ItemDto> findAll(Long ownerId, Pagination page);
+
+    void streamSearchItemsByText(Long ownerId, String text, Consumer<ItemDto> action);
 
-    Collection<ItemDto> findAll(Long ownerId);
+    void streamAll(Long ownerId, Consumer<ItemDto> action);
 }
@@ -1,24 +1,38 @@
 package ru.practicum.shareit.item.service;
 
 import io.micrometer.common.util.StringUtils;
+import jakarta.validation.Validator;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.ErrorMetrics;
 import ru.practicum.shareit.exception.ItemOwnershipException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,21 +42,30 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemStorage itemStorage;
     private final UserStorage userStorage;
+    private final ItemRequestStorage itemRequestStorage;
+    private final Validator validator;
+    private final ErrorMetrics errorMetrics;
 
     @Autowired
-    public ItemServiceImpl(@Qualifier("InMemoryItemStorage") ItemStorage itemStorage,
-                           @Qualifier("InMemoryUserStorage") UserStorage userStorage) {
+    public ItemServiceImpl(ItemStorage itemStorage, UserStorage userStorage, ItemRequestStorage itemRequestStorage,
+                           Validator validator, ErrorMetrics errorMetrics) {
         this.itemStorage = itemStorage;
         this.userStorage = userStorage;
+        this.itemRequestStorage = itemRequestStorage;
+        this.validator = validator;
+        this.errorMetrics = errorMetrics;
     }
 
     @Override
     public ItemDto create(Long ownerId, NewItemRequest request) {
         log.debug("Создаем запись о вещи для пользователя с ID: {}", ownerId);
         User user = userStorage.findUser(ownerId);
+        if (request.getRequestId() != null) {
+            itemRequestStorage.findRequest(request.getRequestId());
+        }
         Item item = ItemMapper.mapToItem(ownerId, request);
         item = itemStorage.create(item);
-        log.info("Создана запись о вещи: {}", item);
+        log.debug("Создана запись о вещи: {}", item);
         return ItemMapper.mapToItemDto(item);
     }
 
@@ -56,11 +79,90 @@ public class ItemServiceImpl implements ItemService {
             throw new ItemOwnershipException("Редактировать данные вещи может только её владелец");
         }
 
-        Item updatedItem = itemStorage.update(ItemMapper.updateItemFields(item, request));
-        log.info("Обновлена вещь: {}", updatedItem);
+        Item updatedItem = itemStorage.update(itemId, current -> ItemMapper.updateItemFields(current, request));
+        log.debug("Обновлена вещь: {}", updatedItem);
         return ItemMapper.mapToItemDto(updatedItem);
     }
 
+    @Override
+    public List<BatchResult<ItemDto>> createAll(Long ownerId, List<NewItemRequest> requests) {
+        BatchResult.checkSize(requests);
+        log.debug("Пакетное создание {} вещей для пользователя с ID: {}", requests.size(), ownerId);
+        List<BatchResult<ItemDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        Map<Long, Boolean> existingOwners = new HashMap<>();
+        Map<Long, Boolean> existingRequests = new HashMap<>();
+        List<Item> items = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            BatchResult<ItemDto> invalid = BatchResult.validate(validator, i, requests.get(i));
+            if (invalid != null) {
+                results.set(i, invalid);
+                continue;
+            }
+            Item item = ItemMapper.mapToItem(ownerId, requests.get(i));
+            if (item.getOwnerId() == null) {
+                results.set(i, BatchResult.failure(i, HttpStatus.BAD_REQUEST, "Не указан владелец вещи"));
+            } else if (!existingOwners.computeIfAbsent(item.getOwnerId(),
+                    id -> userStorage.findUserById(id).isPresent())) {
+                results.set(i, BatchResult.failure(i, HttpStatus.NOT_FOUND,
+                        "Пользователь с ID " + item.getOwnerId() + " не найден"));
+            } else if (item.getRequestId() != null && !existingRequests.computeIfAbsent(item.getRequestId(),
+                    id -> itemRequestStorage.findRequestById(id).isPresent())) {
+                results.set(i, BatchResult.failure(i, HttpStatus.NOT_FOUND,
+                        "Запрос с ID " + item.getRequestId() + " не найден"));
+            } else {
+                items.add(item);
+                positions.add(i);
+            }
+        }
+
+        List<Item> created = itemStorage.createAll(items);
+        for (int k = 0; k < created.size(); k++) {
+            int index = positions.get(k);
+            results.set(index, BatchResult.success(index, HttpStatus.CREATED, ItemMapper.mapToItemDto(created.get(k))));
+        }
+        log.debug("Создано вещей: {} из {}", created.size(), requests.size());
+        errorMetrics.recordFailures(results);
+        return results;
+    }
+
+    @Override
+    public List<BatchResult<ItemDto>> updateAll(Long ownerId, List<UpdateItemRequest> requests) {
+        BatchResult.checkSize(requests);
+        log.debug("Пакетное обновление {} вещей для пользователя с ID: {}", requests.size(), ownerId);
+        List<BatchResult<ItemDto>> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(updateElement(i, requests.get(i), ownerId));
+        }
+        errorMetrics.recordFailures(results);
+        return results;
+    }
+
+    private BatchResult<ItemDto> updateElement(int index, UpdateItemRequest request, Long ownerId) {
+        BatchResult<ItemDto> invalid = BatchResult.validate(validator, index, request);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (request.getId() == null) {
+            return BatchResult.failure(index, HttpStatus.BAD_REQUEST, "Не указан ID вещи");
+        }
+        Optional<Item> item = itemStorage.findItemById(request.getId());
+        if (item.isEmpty()) {
+            return BatchResult.failure(index, HttpStatus.NOT_FOUND, "Вещь с ID " + request.getId() + " не найдена");
+        }
+        if (!item.get().getOwnerId().equals(ownerId)) {
+            return BatchResult.failure(index, HttpStatus.FORBIDDEN, "Редактировать данные вещи может только её владелец");
+        }
+        try {
+            Item updatedItem = itemStorage.update(request.getId(),
+                    current -> ItemMapper.updateItemFields(current, request));
+            return BatchResult.success(index, HttpStatus.OK, ItemMapper.mapToItemDto(updatedItem));
+        } catch (NotFoundException e) {
+            return BatchResult.failure(index, HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
     @Override
     public boolean delete(Long ownerId, Long itemId) {
         log.debug("Удаление вещи с ID: {} для пользователя с ID: {}", itemId, ownerId);
@@ -72,7 +174,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         boolean isDeleted = itemStorage.delete(itemId);
-        log.info("Вещь с ID: {} удалена: {}", itemId, isDeleted);
+        log.debug("Вещь с ID: {} удалена: {}", itemId, isDeleted);
         return isDeleted;
     }
 
@@ -80,32 +182,74 @@ public class ItemServiceImpl implements ItemService {
     public ItemDto findItem(Long ownerId, Long itemId) {
         log.debug("Поиск вещи с ID: {} для пользователя с ID: {}", itemId, ownerId);
         Item item = itemStorage.findItem(itemId);
-        log.info("Найдена вещь: {}", item);
+        log.debug("Найдена вещь: {}", item);
         return ItemMapper.mapToItemDto(item);
     }
 
     @Override
-    public Collection<ItemDto> searchItemsByText(Long ownerId, String text) {
+    public long getItemVersion(Long itemId) {
+        return itemStorage.findItemVersion(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с ID " + itemId + " не найдена"));
+    }
+
+    @Override
+    public Collection<ItemDto> searchItemsByText(Long ownerId, String text, Pagination page) {
         log.debug("Поиск вещей по ключевым символам '{}' для пользователя с ID: {}", text, ownerId);
         if (StringUtils.isBlank(text)) {
-            log.info("Ключевые символы отсутствуют, возвращаем пустой список");
+            log.debug("Ключевые символы отсутствуют, возвращаем пустой список");
             return new ArrayList<>();
         }
 
-        Collection<Item> items = itemStorage.searchItemsByText(text.toLowerCase());
-        log.info("Найдены вещи: {}", items);
+        Collection<Item> items = itemStorage.searchItemsByText(text.toLowerCase(), page);
+        log.debug("Найдены вещи: {}", LogSummary.of(items, Item::getId));
         return items.stream()
                 .map(ItemMapper::mapToItemDto)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Collection<ItemDto> findAll(Long ownerId) {
+    public List<ItemDto> searchItemsByText(Long ownerId, String text, int limit) {
+        log.debug("Поиск {} лучших вещей по ключевым символам '{}' для пользователя с ID: {}", limit, text, ownerId);
+        if (limit <= 0) {
+            throw new ValidationException("Параметр limit должен быть положительным");
+        }
+        if (StringUtils.isBlank(text)) {
+            log.debug("Ключевые символы отсутствуют, возвращаем пустой список");
+            return new ArrayList<>();
+        }
+
+        String query = text.toLowerCase();
+        RankedSearch search = new RankedSearch(query, limit);
+        itemStorage.scanMatches(query, search::offer);
+        List<Item> items = search.result();
+        log.debug("Найдены вещи: {}", LogSummary.of(items, Item::getId));
+        return items.stream()
+                .map(ItemMapper::mapToItemDto)
+                .toList();
+    }
+
+    @Override
+    public Collection<ItemDto> findAll(Long ownerId, Pagination page) {
         log.debug("Получение всех вещей для пользователя с ID: {}", ownerId);
-        Collection<Item> items = itemStorage.getItems(ownerId);
-        log.info("Найдены все вещи: {}", items);
+        Collection<Item> items = itemStorage.getItems(ownerId, page);
+        log.debug("Найдены все вещи: {}", LogSummary.of(items, Item::getId));
         return items.stream()
                 .map(ItemMapper::mapToItemDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public void streamSearchItemsByText(Long ownerId, String text, Consumer<ItemDto> action) {
+        log.debug("Потоковый поиск вещей по ключевым символам '{}' для пользователя с ID: {}", text, ownerId);
+        if (StringUtils.isBlank(text)) {
+            return;
+        }
+        itemStorage.forEachMatch(text.toLowerCase(), item -> action.accept(ItemMapper.mapToItemDto(item)));
+    }
+
+    @Override
+    public void streamAll(Long ownerId, Consumer<ItemDto> action) {
+        log.debug("Потоковая выгрузка всех вещей для пользователя с ID: {}", ownerId);
+        itemStorage.forEachItem(ownerId, item -> action.accept(ItemMapper.mapToItemDto(item)));
+    }
 }
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Лучшие {@code limit} вещей поиска по тексту. Сначала совпадения в названии, затем совпадения целым словом,
+ * затем более раннее совпадение; при равенстве — меньший ID. Вещи принимаются по одной, в куче хранятся
+ * только отобранные, наверху — худшая из них, поэтому весь список совпадений не собирается и не сортируется.
+ */
+final class RankedSearch {
+    private static final long IN_DESCRIPTION = 1L << 21;
+    private static final long NOT_WORD = 1L << 20;
+    // Более дальние позиции не различаются
+    private static final int MAX_POSITION = (1 << 20) - 1;
+    private static final long BEST_RANK = 0;
+    private static final long NOT_FOUND = IN_DESCRIPTION | NOT_WORD | MAX_POSITION;
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingLong(Ranked::rank)
+            .thenComparingLong(ranked -> ranked.item().getId());
+
+    private final String text;
+    private final int limit;
+    private final PriorityQueue<Ranked> worstFirst;
+
+    /**
+     * @param text запрос, уже приведенный к нижнему регистру
+     */
+    RankedSearch(String text, int limit) {
+        this.text = text;
+        this.limit = limit;
+        this.worstFirst = new PriorityQueue<>(limit, BEST_FIRST.reversed());
+    }
+
+    /**
+     * Учитывает очередную вещь. Вещи должны поступать по возрастанию ID: тогда, как только все отобранные
+     * имеют лучший возможный ранг, следующие их уже не вытеснят, и возвращается {@code false}.
+     */
+    boolean offer(Item item) {
+        Ranked candidate = new Ranked(item, rank(item));
+        if (worstFirst.size() < limit) {
+            worstFirst.add(candidate);
+        } else if (BEST_FIRST.compare(candidate, worstFirst.peek()) < 0) {
+            worstFirst.poll();
+            worstFirst.add(candidate);
+        }
+        return worstFirst.size() < limit || worstFirst.peek().rank() > BEST_RANK;
+    }
+
+    List<Item> result() {
+        List<Ranked> ranked = new ArrayList<>(worstFirst);
+        ranked.sort(BEST_FIRST);
+        return ranked.stream()
+                .map(Ranked::item)
+                .toList();
+    }
+
+    private long rank(Item item) {
+        long inName = rank(item.getName());
+        if (inName != NOT_FOUND) {
+            return inName;
+        }
+        long inDescription = rank(item.getDescription());
+        return inDescription != NOT_FOUND ? IN_DESCRIPTION | inDescription : NOT_FOUND;
+    }
+
+    /**
+     * Ранг первого совпадения целым словом в поле, а если такого нет — первого совпадения вообще.
+     * Поле приводится к нижнему регистру так же, как в хранилище: посимвольное сравнение без учета регистра
+     * расходится с {@link String#toLowerCase()} там, где меняется длина строки (например, для «İ»).
+     */
+    private long rank(String rawField) {
+        if (rawField == null) {
+            return NOT_FOUND;
+        }
+        String field = rawField.toLowerCase();
+        long first = NOT_FOUND;
+        for (int i = 0; i + text.length() <= field.length(); i++) {
+            if (field.startsWith(text, i)) {
+                int position = Math.min(i, MAX_POSITION);
+                if (isWholeWord(field, i)) {
+                    return position;
+                }
+                if (first == NOT_FOUND) {
+                    first = NOT_WORD | position;
+                }
+            }
+        }
+        return first;
+    }
+
+    private boolean isWholeWord(String field, int start) {
+        int end = start + text.length();
+        return (start == 0 || !Character.isLetterOrDigit(field.charAt(start - 1)))
+                && (end == field.length() || !Character.isLetterOrDigit(field.charAt(end)));
+    }
+
+    private record Ranked(Item item, long rank) {
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.common.EntityCache;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Декоратор хранилища вещей, читающий вещи по ID через кэш. Изменение и удаление через этот
+ * декоратор сбрасывают запись кэша; изменения в обход него (другой экземпляр приложения) видны
+ * не позже истечения времени жизни записи. Выборки страниц и поиск идут в хранилище напрямую.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class CachingItemStorage implements ItemStorage {
+    ItemStorage delegate;
+    EntityCache<Item> cache;
+
+    public CachingItemStorage(ItemStorage delegate, EntityCache<Item> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Item create(Item request) {
+        return delegate.create(request);
+    }
+
+    @Override
+    public List<Item> createAll(List<Item> items) {
+        return delegate.createAll(items);
+    }
+
+    @Override
+    public Item update(Long itemId, UnaryOperator<Item> updater) {
+        try {
+            return delegate.update(itemId, updater);
+        } finally {
+            cache.invalidate(itemId);
+        }
+    }
+
+    @Override
+    public boolean delete(Long itemId) {
+        try {
+            return delegate.delete(itemId);
+        } finally {
+            cache.invalidate(itemId);
+        }
+    }
+
+    @Override
+    public Optional<Item> findItemById(Long itemId) {
+        return cache.get(itemId, delegate::findItemById);
+    }
+
+    @Override
+    public OptionalLong findItemVersion(Long itemId) {
+        Optional<Item> cached = cache.getIfPresent(itemId);
+        return cached.isPresent() ? OptionalLong.of(cached.get().getVersion()) : delegate.findItemVersion(itemId);
+    }
+
+    @Override
+    public List<Item> searchItemsByText(String text, Pagination page) {
+        return delegate.searchItemsByText(text, page);
+    }
+
+    @Override
+    public List<Item> getItems(Long ownerId, Pagination page) {
+        return delegate.getItems(ownerId, page);
+    }
+
+    @Override
+    public Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds) {
+        return delegate.findItemsByRequestIds(requestIds);
+    }
+
+    @Override
+    public void forEachItem(Long ownerId, Consumer<Item> action) {
+        delegate.forEachItem(ownerId, action);
+    }
+
+    @Override
+    public void scanMatches(String text, Predicate<Item> action) {
+        delegate.scanMatches(text, action);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+}
@@ -3,50 +3,149 @@ package ru.practicum.shareit.item.storage;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.IdTable;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.common.StripedLock;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.persistence.ChangeJournal;
+import ru.practicum.shareit.persistence.RecoverableStorage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
+/**
+ * Хранилище вещей в памяти; сегмент {@link ShardedItemStorage} выдает ID вида {@code local << shardBits | shard}.
+ */
 @Slf4j
-@Component("InMemoryItemStorage")
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
-public class InMemoryItemStorage implements ItemStorage {
+public class InMemoryItemStorage implements ItemStorage, RecoverableStorage<Item> {
 
-    private final Map<Long, Item> items = new HashMap<>();
+    private final IdTable<Entry> items;
+    // Следующий номер вещи внутри сегмента
     private AtomicLong idCounter = new AtomicLong(1);
+    private final LongAdder size = new LongAdder();
+    private final ItemSearchIndex searchIndex = new ItemSearchIndex();
+    // Индексы по владельцу и запросу остаются на упакованных ID: страницы по курсору читаются из tailSet без
+    // блокировок, а это около 60 байт из ~1 КБ на вещь (HeapFootprint, 1M вещей по 100 на владельца)
+    private final Map<Long, NavigableSet<Long>> ownerItems = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> requestItems = new ConcurrentHashMap<>();
+    // Снимки, которые сейчас отражены во вторичных индексах
+    private final IdTable<Item> indexedItems;
+    private final StripedLock indexLocks = new StripedLock(256);
+    private final ChangeJournal<Item> journal;
+    private final ParallelSearch parallelSearch;
+    private final SearchResultCache searchCache;
+    private final int shardBits;
+    private final int shard;
 
-    private boolean checkItem(Item item, String text) {
-        return item.getAvailable() && (item.getName().toLowerCase().contains(text)
-                || item.getDescription().toLowerCase().contains(text));
+    public InMemoryItemStorage() {
+        this(ChangeJournal.none());
+    }
+
+    public InMemoryItemStorage(ChangeJournal<Item> journal) {
+        this(journal, ParallelSearch.sequential());
+    }
+
+    public InMemoryItemStorage(ChangeJournal<Item> journal, ParallelSearch parallelSearch) {
+        this(journal, parallelSearch, SearchResultCache.none());
+    }
+
+    public InMemoryItemStorage(ChangeJournal<Item> journal, ParallelSearch parallelSearch,
+                               SearchResultCache searchCache) {
+        this(journal, parallelSearch, searchCache, 0, 0);
+    }
+
+    /**
+     * Сегмент {@code shard} из {@code 1 << shardBits}. Кэш поиска общий для всех сегментов:
+     * сегмент только сбрасывает его при записи, а читает из него {@link ShardedItemStorage}.
+     */
+    InMemoryItemStorage(ChangeJournal<Item> journal, ParallelSearch parallelSearch,
+                        SearchResultCache searchCache, int shardBits, int shard) {
+        this.journal = journal;
+        this.parallelSearch = parallelSearch;
+        this.searchCache = searchCache;
+        this.shardBits = shardBits;
+        this.shard = shard;
+        this.items = new IdTable<>(shardBits, shard);
+        this.indexedItems = new IdTable<>(shardBits, shard);
+    }
+
+    private static boolean checkItem(Entry entry, SearchPattern pattern) {
+        return entry.available() && pattern.isFoundIn(entry.searchText());
     }
 
     @Override
     public Item create(Item item) {
-        long newId = idCounter.getAndIncrement();
-        item.setId(newId);
-        log.info("Создана новая вещь с ID {}: {}", newId, item);
-        items.put(newId, item);
-        return item;
+        long newId = idCounter.getAndIncrement() << shardBits | shard;
+        Item newItem = item.toBuilder()
+                .id(newId)
+                .version(1)
+                .build();
+        log.debug("Создана новая вещь с ID {}: {}", newId, newItem);
+        items.put(newId, new Entry(newItem));
+        size.increment();
+        syncIndexes(newId);
+        return newItem;
     }
 
     @Override
-    public Item update(Item newItem) {
-        log.info("Обновление вещи с ID {}: {}", newItem.getId(), newItem);
-        items.put(newItem.getId(), newItem);
-        return newItem;
+    public List<Item> createAll(List<Item> newItems) {
+        List<Item> result = new ArrayList<>(newItems.size());
+        for (Item item : newItems) {
+            result.add(create(item));
+        }
+        return result;
+    }
+
+    @Override
+    public Item update(Long itemId, UnaryOperator<Item> updater) {
+        while (true) {
+            Entry current = items.get(itemId);
+            if (current == null) {
+                throw new NotFoundException("Вещь с ID " + itemId + " не найдена");
+            }
+            Item newItem = updater.apply(current.item())
+                    .toBuilder()
+                    .id(itemId)
+                    .version(current.item().getVersion() + 1)
+                    .build();
+            if (items.replace(itemId, current, new Entry(newItem))) {
+                log.debug("Обновление вещи с ID {}: {}", itemId, newItem);
+                syncIndexes(itemId);
+                return newItem;
+            }
+            log.debug("Вещь с ID {} изменена параллельно, повторяем обновление", itemId);
+        }
     }
 
     @Override
     public boolean delete(Long itemId) {
-        Item removedItem = items.remove(itemId);
-        if (removedItem != null) {
-            log.info("Удалена вещь с ID {}: {}", itemId, removedItem);
+        Entry removed = items.remove(itemId);
+        if (removed != null) {
+            size.decrement();
+            syncIndexes(itemId);
+            log.debug("Удалена вещь с ID {}: {}", itemId, removed.item());
             return true;
         } else {
             log.warn("Попытка удаления вещи с ID {}, которая не существует", itemId);
@@ -55,33 +154,323 @@ public class InMemoryItemStorage implements ItemStorage {
     }
 
     @Override
-    public Item findItem(Long itemId) {
-        Item item = items.get(itemId);
-        if (item == null) {
-            log.warn("Вещь с ID {} не найдена", itemId);
-            throw new NotFoundException(String.format("Вещь с ID %d не найдена", itemId));
-        }
-        log.info("Найдена вещь с ID {}: {}", itemId, item);
-        return item;
+    public Optional<Item> findItemById(Long itemId) {
+        return Optional.ofNullable(itemOrNull(itemId));
     }
 
     @Override
-    public Collection<Item> getItems(Long ownerId) {
-        Collection<Item> ownerItems = items.values()
-                .stream()
-                .filter(item -> item.getOwnerId().equals(ownerId))
-                .collect(Collectors.toList());
-        log.info("Найдены вещи для пользователя с ID {}: {}", ownerId, ownerItems);
-        return ownerItems;
+    public OptionalLong findItemVersion(Long itemId) {
+        Item item = itemOrNull(itemId);
+        return item != null ? OptionalLong.of(item.getVersion()) : OptionalLong.empty();
     }
 
     @Override
-    public Collection<Item> searchItemsByText(String text) {
-        Collection<Item> matchingItems = items.values()
-                .stream()
-                .filter(item -> checkItem(item, text))
-                .collect(Collectors.toList());
-        log.info("Найдены вещи по тексту '{}': {}", text, matchingItems);
+    public List<Item> getItems(Long ownerId, Pagination page) {
+        NavigableSet<Long> itemIds = ownerItems.get(ownerId);
+        List<Item> result = itemIds == null
+                ? List.of()
+                : collectPage(lookup(itemIds.tailSet(page.startId(), true)), page, entry -> true);
+        log.debug("Найдены вещи для пользователя с ID {}: {}", ownerId, LogSummary.of(result, Item::getId));
+        return result;
+    }
+
+    @Override
+    public List<Item> searchItemsByText(String text, Pagination page) {
+        List<Item> matchingItems = searchCache.get(text, page, () -> search(text, page), this::itemOrNull);
+        log.debug("Найдены вещи по тексту '{}': {}", text, LogSummary.of(matchingItems, Item::getId));
         return matchingItems;
     }
+
+    /**
+     * Поиск по тексту в обход кэша.
+     */
+    List<Item> search(String text, Pagination page) {
+        TextScan scan = textScan(text);
+        return parallelSearch.page(page, scan.itemsToCheck(), scan.idLimit(), scan.scanner());
+    }
+
+    /**
+     * Поиск по тексту, подготовленный к обходу по диапазонам ID: кандидаты из индекса выбираются один раз.
+     */
+    TextScan textScan(String text) {
+        SearchPattern pattern = new SearchPattern(text);
+        Predicate<Entry> filter = entry -> checkItem(entry, pattern);
+        long[] candidates = searchIndex.candidates(text);
+        return new TextScan(candidates != null ? candidates.length : size.sum(), items.idLimit(),
+                (fromId, toId, limit) -> collectPage(candidates(candidates, fromId, toId),
+                        Pagination.of(0, limit, null), filter));
+    }
+
+    @Override
+    public Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds) {
+        Map<Long, List<Item>> result = new HashMap<>();
+        for (Long requestId : requestIds) {
+            NavigableSet<Long> itemIds = requestItems.get(requestId);
+            if (itemIds == null) {
+                continue;
+            }
+            List<Item> answers = new ArrayList<>(itemIds.size());
+            for (Long itemId : itemIds) {
+                Item item = itemOrNull(itemId);
+                if (item != null && requestId.equals(item.getRequestId())) {
+                    answers.add(item);
+                }
+            }
+            if (!answers.isEmpty()) {
+                result.put(requestId, answers);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void forEachItem(Long ownerId, Consumer<Item> action) {
+        NavigableSet<Long> itemIds = ownerItems.get(ownerId);
+        if (itemIds != null) {
+            lookup(itemIds).forEachRemaining(entry -> action.accept(entry.item()));
+        }
+    }
+
+    @Override
+    public void scanMatches(String text, Predicate<Item> action) {
+        Iterator<Item> matches = matches(text);
+        while (matches.hasNext()) {
+            if (!action.test(matches.next())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Найденные по тексту вещи по возрастанию ID; проверка идет по мере обхода.
+     */
+    Iterator<Item> matches(String text) {
+        SearchPattern pattern = new SearchPattern(text);
+        Iterator<Entry> candidates = candidates(searchIndex.candidates(text), Long.MIN_VALUE, Long.MAX_VALUE);
+        return new Iterator<>() {
+            Item next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && candidates.hasNext()) {
+                    Entry entry = candidates.next();
+                    if (checkItem(entry, pattern)) {
+                        next = entry.item();
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Item result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public long count() {
+        return size.sum();
+    }
+
+    @Override
+    public void restore(Item item) {
+        restoreEntry(item);
+        searchIndex.update(null, item);
+    }
+
+    @Override
+    public void restoreAll(Collection<Item> restored) {
+        restored.forEach(this::restoreEntry);
+        searchIndex.addAll(restored);
+    }
+
+    @Override
+    public void restoreNextId(long nextId) {
+        // Наименьший номер, ID которого не меньше nextId
+        long distance = Math.max(nextId - shard, 0);
+        long local = (distance >>> shardBits) + ((distance & ((1L << shardBits) - 1)) != 0 ? 1 : 0);
+        idCounter.accumulateAndGet(local, Math::max);
+    }
+
+    @Override
+    public long nextId() {
+        return idCounter.get() << shardBits | shard;
+    }
+
+    @Override
+    public void forEachStored(Consumer<Item> action) {
+        items.forEach(entry -> action.accept(entry.item()));
+    }
+
+    /**
+     * Вещи с ID в диапазоне [{@code fromId}, {@code toId}) по возрастанию ID: кандидаты из индекса
+     * или весь каталог, если запрос слишком короткий для индекса ({@code candidates == null}).
+     */
+    private Iterator<Entry> candidates(long[] candidates, long fromId, long toId) {
+        if (candidates == null) {
+            return items.valuesBetween(fromId, toId);
+        }
+        return lookup(Arrays.stream(candidates, insertionPoint(candidates, fromId), insertionPoint(candidates, toId))
+                .iterator());
+    }
+
+    private static int insertionPoint(long[] sortedIds, long id) {
+        int index = Arrays.binarySearch(sortedIds, id);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private Iterator<Entry> lookup(Collection<Long> itemIds) {
+        return lookup(itemIds.stream().mapToLong(Long::longValue).iterator());
+    }
+
+    /**
+     * Вещи по ID в порядке ID; удаленные пропускаются.
+     */
+    private Iterator<Entry> lookup(PrimitiveIterator.OfLong itemIds) {
+        return new Iterator<>() {
+            Entry next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && itemIds.hasNext()) {
+                    next = items.get(itemIds.nextLong());
+                }
+                return next != null;
+            }
+
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Entry result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Собирает страницу, проходя вещи по возрастанию ID и останавливаясь, как только она заполнена.
+     */
+    private List<Item> collectPage(Iterator<Entry> candidates, Pagination page, Predicate<Entry> filter) {
+        List<Item> result = new ArrayList<>();
+        int skipped = 0;
+        while (candidates.hasNext()) {
+            Entry entry = candidates.next();
+            if (!filter.test(entry)) {
+                continue;
+            }
+            if (skipped < page.getFrom()) {
+                skipped++;
+                continue;
+            }
+            result.add(entry.item());
+            if (result.size() >= page.getSize()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Приводит вторичные индексы и журнал к текущему снимку вещи; вызовы для одного ID сериализуются.
+     */
+    private void syncIndexes(Long itemId) {
+        ReentrantLock lock = indexLocks.forId(itemId);
+        lock.lock();
+        try {
+            Item previous = indexedItems.get(itemId);
+            Item current = itemOrNull(itemId);
+            if (previous == current) {
+                return;
+            }
+            searchIndex.update(previous, current);
+            searchCache.invalidate(previous, current);
+            if (previous != null && (current == null || !previous.getOwnerId().equals(current.getOwnerId()))) {
+                removeOwnerItem(previous.getOwnerId(), itemId);
+            }
+            Long previousRequest = previous != null ? previous.getRequestId() : null;
+            Long currentRequest = current != null ? current.getRequestId() : null;
+            if (!Objects.equals(previousRequest, currentRequest)) {
+                removeIndexEntry(requestItems, previousRequest, itemId);
+                addIndexEntry(requestItems, currentRequest, itemId);
+            }
+            if (current != null) {
+                addOwnerItem(current.getOwnerId(), itemId);
+                indexedItems.put(itemId, current);
+                journal.put(current);
+            } else {
+                indexedItems.remove(itemId);
+                journal.delete(itemId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void restoreEntry(Item item) {
+        items.put(item.getId(), new Entry(item));
+        size.increment();
+        indexedItems.put(item.getId(), item);
+        addOwnerItem(item.getOwnerId(), item.getId());
+        addIndexEntry(requestItems, item.getRequestId(), item.getId());
+    }
+
+    Item itemOrNull(Long itemId) {
+        Entry entry = items.get(itemId);
+        return entry != null ? entry.item() : null;
+    }
+
+    private void addOwnerItem(Long ownerId, Long itemId) {
+        addIndexEntry(ownerItems, ownerId, itemId);
+    }
+
+    private void removeOwnerItem(Long ownerId, Long itemId) {
+        removeIndexEntry(ownerItems, ownerId, itemId);
+    }
+
+    private static void addIndexEntry(Map<Long, NavigableSet<Long>> index, Long key, Long itemId) {
+        if (key == null) {
+            return;
+        }
+        index.compute(key, (k, itemIds) -> {
+            NavigableSet<Long> result = itemIds != null ? itemIds : new ConcurrentSkipListSet<>();
+            result.add(itemId);
+            return result;
+        });
+    }
+
+    private static void removeIndexEntry(Map<Long, NavigableSet<Long>> index, Long key, Long itemId) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, itemIds) -> {
+            itemIds.remove(itemId);
+            return itemIds.isEmpty() ? null : itemIds;
+        });
+    }
+
+    /**
+     * @param itemsToCheck сколько вещей придется проверить
+     * @param idLimit      все ID в хранилище меньше этой границы
+     */
+    record TextScan(long itemsToCheck, long idLimit, ParallelSearch.SegmentScanner<Item> scanner) {
+    }
+
+    /**
+     * Снимок вещи вместе с тем, что нужно поиску, подготовленным при записи: доступность и текст
+     * (см. {@link SearchPattern}). Поиск читает только запись и массив текста, не обращаясь к самой вещи.
+     */
+    private record Entry(Item item, boolean available, byte[] searchText) {
+        Entry(Item item) {
+            this(item, Boolean.TRUE.equals(item.getAvailable()), SearchPattern.searchText(item));
+        }
+    }
 }
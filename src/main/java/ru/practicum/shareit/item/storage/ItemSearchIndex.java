@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.common.LongHashSet;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Инвертированный индекс по триграммам названия и описания вещи.
+ * Для запроса длиной от {@link #GRAM_LENGTH} символов возвращает кандидатов,
+ * в тексте которых встречаются все триграммы запроса. Окончательную проверку
+ * на вхождение подстроки выполняет вызывающий код.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class ItemSearchIndex {
+    static final int GRAM_LENGTH = 3;
+    private static final long[] NONE = new long[0];
+
+    // Пустые списки не удаляются: иначе запись в список, только что удаленный из карты, потерялась бы.
+    // Их число ограничено словарем триграмм
+    Map<String, Posting> postings = new ConcurrentHashMap<>();
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    /**
+     * Переводит индекс с предыдущего снимка вещи на текущий.
+     * Любой из снимков может быть {@code null} — для новой и для удаленной вещи.
+     */
+    void update(Item previous, Item current) {
+        Set<String> oldGrams = grams(previous);
+        Set<String> newGrams = grams(current);
+        long itemId = current != null ? current.getId() : previous.getId();
+
+        for (String gram : oldGrams) {
+            if (!newGrams.contains(gram)) {
+                Posting posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(itemId);
+                }
+            }
+        }
+        for (String gram : newGrams) {
+            if (!oldGrams.contains(gram)) {
+                postings.computeIfAbsent(gram, g -> new Posting()).add(itemId);
+            }
+        }
+    }
+
+    /**
+     * Добавляет в индекс новые вещи разом: ID сначала собираются по триграммам, и каждый список
+     * заполняется целиком. Вставки вперемешку во все списки упираются в промахи кеша.
+     */
+    void addAll(Collection<Item> items) {
+        Map<String, IdBuffer> ids = new HashMap<>();
+        for (Item item : items) {
+            for (String gram : grams(item)) {
+                ids.computeIfAbsent(gram, g -> new IdBuffer()).add(item.getId());
+            }
+        }
+        ids.forEach((gram, buffer) -> postings.computeIfAbsent(gram, g -> new Posting()).addAll(buffer));
+    }
+
+    /**
+     * Возвращает ID вещей, которые могут содержать текст, по возрастанию, или {@code null},
+     * если запрос слишком короткий для поиска по индексу.
+     */
+    long[] candidates(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return null;
+        }
+        Set<String> queryGrams = grams(text);
+
+        Posting smallest = null;
+        List<Posting> others = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+                return NONE;
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                if (smallest != null) {
+                    others.add(smallest);
+                }
+                smallest = posting;
+            } else {
+                others.add(posting);
+            }
+        }
+
+        long[] result = smallest.toArray();
+        int size = result.length;
+        for (Posting posting : others) {
+            size = posting.retain(result, size);
+        }
+        result = Arrays.copyOf(result, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    static Set<String> grams(Item item) {
+        if (item == null) {
+            return Set.of();
+        }
+        String name = normalize(item.getName());
+        String description = normalize(item.getDescription());
+        // Размер заранее: без этого набор перестраивается несколько раз на каждую вещь
+        Set<String> grams = HashSet.newHashSet(name.length() + description.length());
+        collectGrams(name, grams);
+        collectGrams(description, grams);
+        return grams;
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        collectGrams(text, grams);
+        return grams;
+    }
+
+    private static void collectGrams(String text, Set<String> grams) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+    }
+
+    /**
+     * ID вещей одной триграммы без упаковки в {@code Long}. StampedLock, а не synchronized:
+     * ожидание не закрепляет виртуальный поток за несущим.
+     */
+    @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+    private static final class Posting {
+        LongHashSet ids = new LongHashSet();
+        StampedLock lock = new StampedLock();
+
+        void add(long id) {
+            long stamp = lock.writeLock();
+            try {
+                ids.add(id);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void addAll(IdBuffer buffer) {
+            long stamp = lock.writeLock();
+            try {
+                ids.ensureCapacity(ids.size() + buffer.size);
+                for (int i = 0; i < buffer.size; i++) {
+                    ids.add(buffer.ids[i]);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void remove(long id) {
+            long stamp = lock.writeLock();
+            try {
+                ids.remove(id);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return ids.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        long[] toArray() {
+            long stamp = lock.readLock();
+            try {
+                return ids.toArray();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Оставляет в начале {@code candidates} только элементы этого списка, возвращает их количество.
+         */
+        int retain(long[] candidates, int size) {
+            long stamp = lock.readLock();
+            try {
+                int kept = 0;
+                for (int i = 0; i < size; i++) {
+                    if (ids.contains(candidates[i])) {
+                        candidates[kept++] = candidates[i];
+                    }
+                }
+                return kept;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    private static final class IdBuffer {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
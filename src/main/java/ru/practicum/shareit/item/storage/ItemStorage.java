@@ -1,19 +1,89 @@
 package ru.practicum.shareit.item.storage;
 
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public interface ItemStorage {
     Item create(Item request);
 
-    Item update(Item request);
+    /**
+     * Сохраняет вещи одной пакетной операцией. Порядок результата совпадает с порядком аргумента.
+     */
+    List<Item> createAll(List<Item> items);
+
+    /**
+     * Атомарно применяет изменение к текущему снимку вещи и увеличивает её версию.
+     * При параллельном изменении {@code updater} может быть вызван повторно со свежим снимком.
+     */
+    Item update(Long itemId, UnaryOperator<Item> updater);
 
     boolean delete(Long itemId);
 
-    Item findItem(Long itemId);
+    /**
+     * Ищет вещь без исключения на промахе. Предпочтителен там, где отсутствие вещи — обычный исход.
+     */
+    Optional<Item> findItemById(Long itemId);
+
+    default Item findItem(Long itemId) {
+        return findItemById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с ID " + itemId + " не найдена"));
+    }
+
+    /**
+     * Текущая версия вещи без чтения остальных полей. Используется для условных GET-запросов,
+     * поэтому должна быть не дороже {@link #findItemById}.
+     */
+    OptionalLong findItemVersion(Long itemId);
+
+    /**
+     * Возвращает доступные вещи, название или описание которых содержит текст, по возрастанию ID.
+     */
+    List<Item> searchItemsByText(String text, Pagination page);
+
+    /**
+     * Возвращает страницу вещей владельца по возрастанию ID. Реализации должны хранить индекс по владельцу,
+     * чтобы время ответа зависело от количества вещей пользователя, а не всего каталога.
+     */
+    List<Item> getItems(Long ownerId, Pagination page);
+
+    /**
+     * Вещи, созданные в ответ на запросы, сгруппированные по ID запроса; внутри группы — по возрастанию ID.
+     * Запросы без ответов в результат не попадают. Предназначен для одной выборки на страницу запросов.
+     */
+    Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds);
+
+    /**
+     * Передает вещи владельца по одной, не собирая их в коллекцию. Используется для потоковой выгрузки.
+     */
+    void forEachItem(Long ownerId, Consumer<Item> action);
+
+    /**
+     * Передает найденные по тексту вещи по одной, не собирая их в коллекцию.
+     */
+    default void forEachMatch(String text, Consumer<Item> action) {
+        scanMatches(text, item -> {
+            action.accept(item);
+            return true;
+        });
+    }
 
-    Collection<Item> searchItemsByText(String text);
+    /**
+     * Передает найденные по тексту вещи по одной по возрастанию ID, пока {@code action} возвращает {@code true}.
+     */
+    void scanMatches(String text, Predicate<Item> action);
 
-    Collection<Item> getItems(Long ownerId);
+    /**
+     * Количество вещей в хранилище. Вызывается при каждом снятии метрик, поэтому должно быть дешевым.
+     */
+    long count();
 }
@@ -0,0 +1,234 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Хранилище вещей в PostgreSQL. Запросы — константы, поэтому драйвер переиспользует
+ * серверные prepared statements; пакетная вставка уходит одним batch и при
+ * {@code reWriteBatchedInserts=true} превращается в многострочный INSERT.
+ */
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class JdbcItemStorage implements ItemStorage {
+    private static final String INSERT = "INSERT INTO items (name, description, available, owner_id, request_id, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE items SET name = ?, description = ?, available = ?, owner_id = ?, "
+            + "request_id = ?, version = ? WHERE id = ? AND version = ?";
+    private static final String DELETE = "DELETE FROM items WHERE id = ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM items";
+    private static final String SELECT = "SELECT id, name, description, available, owner_id, request_id, version "
+            + "FROM items ";
+    private static final String FIND_BY_ID = SELECT + "WHERE id = ?";
+    // Только версия: описание не читается и не передается по сети
+    private static final String FIND_VERSION = "SELECT version FROM items WHERE id = ?";
+    private static final String FIND_BY_OWNER = SELECT + "WHERE owner_id = ? AND id >= ? ORDER BY id LIMIT ? OFFSET ?";
+    private static final String SEARCH = SELECT + "WHERE available AND id >= ? "
+            + "AND (LOWER(name) LIKE ? ESCAPE '\\' OR LOWER(description) LIKE ? ESCAPE '\\') "
+            + "ORDER BY id LIMIT ? OFFSET ?";
+    // Один запрос на любой набор ID: массив в параметре не меняет текст запроса
+    private static final String FIND_BY_REQUESTS = SELECT + "WHERE request_id = ANY (?) ORDER BY request_id, id";
+    private static final String STREAM_BY_OWNER = SELECT + "WHERE owner_id = ? ORDER BY id";
+    private static final String STREAM_SEARCH = SELECT + "WHERE available "
+            + "AND (LOWER(name) LIKE ? ESCAPE '\\' OR LOWER(description) LIKE ? ESCAPE '\\') ORDER BY id";
+    private static final RowMapper<Item> ITEM_ROW_MAPPER = JdbcItemStorage::mapRow;
+
+    JdbcTemplate jdbcTemplate;
+    // Читает результат порциями через курсор, а не целиком в память
+    JdbcTemplate streamingJdbcTemplate;
+    int batchSize;
+
+    public JdbcItemStorage(JdbcTemplate jdbcTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(batchSize);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Item create(Item item) {
+        return createAll(List.of(item)).get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<Item> createAll(List<Item> items) {
+        List<Item> result = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<Item> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setItemValues(ps, chunk.get(i), 1L);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+                result.add(chunk.get(i).toBuilder().id(id).version(1).build());
+            }
+        }
+        log.debug("Сохранено вещей: {}", result.size());
+        return result;
+    }
+
+    @Override
+    public Item update(Long itemId, UnaryOperator<Item> updater) {
+        while (true) {
+            Item current = findItem(itemId);
+            Item newItem = updater.apply(current)
+                    .toBuilder()
+                    .id(itemId)
+                    .version(current.getVersion() + 1)
+                    .build();
+            int updated = jdbcTemplate.update(UPDATE, ps -> {
+                setItemValues(ps, newItem, newItem.getVersion());
+                ps.setLong(7, itemId);
+                ps.setLong(8, current.getVersion());
+            });
+            if (updated == 1) {
+                log.debug("Обновление вещи с ID {}: {}", itemId, newItem);
+                return newItem;
+            }
+            log.debug("Вещь с ID {} изменена параллельно, повторяем обновление", itemId);
+        }
+    }
+
+    @Override
+    public boolean delete(Long itemId) {
+        boolean isDeleted = jdbcTemplate.update(DELETE, itemId) > 0;
+        if (isDeleted) {
+            log.debug("Удалена вещь с ID {}", itemId);
+        } else {
+            log.warn("Попытка удаления вещи с ID {}, которая не существует", itemId);
+        }
+        return isDeleted;
+    }
+
+    @Override
+    public Optional<Item> findItemById(Long itemId) {
+        return jdbcTemplate.query(FIND_BY_ID, ITEM_ROW_MAPPER, itemId).stream().findFirst();
+    }
+
+    @Override
+    public OptionalLong findItemVersion(Long itemId) {
+        List<Long> versions = jdbcTemplate.queryForList(FIND_VERSION, Long.class, itemId);
+        return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.get(0));
+    }
+
+    @Override
+    public List<Item> searchItemsByText(String text, Pagination page) {
+        String pattern = "%" + escapeLike(text) + "%";
+        return jdbcTemplate.query(SEARCH, ITEM_ROW_MAPPER, page.startId(), pattern, pattern, page.getSize(),
+                page.getFrom());
+    }
+
+    @Override
+    public List<Item> getItems(Long ownerId, Pagination page) {
+        return jdbcTemplate.query(FIND_BY_OWNER, ITEM_ROW_MAPPER, ownerId, page.startId(), page.getSize(),
+                page.getFrom());
+    }
+
+    @Override
+    public Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds) {
+        Map<Long, List<Item>> result = new HashMap<>();
+        if (requestIds.isEmpty()) {
+            return result;
+        }
+        jdbcTemplate.query(FIND_BY_REQUESTS, ps -> ps.setArray(1,
+                ps.getConnection().createArrayOf("BIGINT", requestIds.toArray())), rs -> {
+            Item item = mapRow(rs, rs.getRow());
+            result.computeIfAbsent(item.getRequestId(), id -> new ArrayList<>()).add(item);
+        });
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachItem(Long ownerId, Consumer<Item> action) {
+        streamingJdbcTemplate.query(STREAM_BY_OWNER, rs -> {
+            action.accept(mapRow(rs, rs.getRow()));
+        }, ownerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scanMatches(String text, Predicate<Item> action) {
+        String pattern = "%" + escapeLike(text) + "%";
+        // Остаток курсора не читается: запрос закрывается, как только action вернет false
+        streamingJdbcTemplate.query(STREAM_SEARCH, (ResultSet rs) -> {
+            boolean proceed = true;
+            while (proceed && rs.next()) {
+                proceed = action.test(mapRow(rs, rs.getRow()));
+            }
+            return null;
+        }, pattern, pattern);
+    }
+
+    @Override
+    public long count() {
+        return jdbcTemplate.queryForObject(COUNT, Long.class);
+    }
+
+    private static void setItemValues(PreparedStatement ps, Item item, long version) throws SQLException {
+        ps.setString(1, item.getName());
+        ps.setString(2, item.getDescription());
+        ps.setBoolean(3, item.getAvailable());
+        ps.setLong(4, item.getOwnerId());
+        if (item.getRequestId() != null) {
+            ps.setLong(5, item.getRequestId());
+        } else {
+            ps.setNull(5, Types.BIGINT);
+        }
+        ps.setLong(6, version);
+    }
+
+    private static Item mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Item.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .available(rs.getBoolean("available"))
+                .ownerId(rs.getLong("owner_id"))
+                .requestId(rs.getObject("request_id", Long.class))
+                .version(rs.getLong("version"))
+                .build();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
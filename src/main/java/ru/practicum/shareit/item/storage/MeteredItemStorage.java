@@ -0,0 +1,169 @@
+package ru.practicum.shareit.item.storage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.common.MetricNames;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Декоратор хранилища вещей, снимающий метрики: время каждой операции, количество вещей
+ * и распределение размеров результатов поиска. Все метры создаются один раз в конструкторе.
+ * Количество вещей считается при записи через декоратор, чтобы опрос метрик не обращался к БД.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class MeteredItemStorage implements ItemStorage {
+    ItemStorage delegate;
+    Timer createTimer;
+    Timer createAllTimer;
+    Timer updateTimer;
+    Timer deleteTimer;
+    Timer findTimer;
+    Timer findVersionTimer;
+    Timer searchTimer;
+    Timer getItemsTimer;
+    Timer findByRequestsTimer;
+    Timer streamItemsTimer;
+    Timer streamSearchTimer;
+    Timer scanSearchTimer;
+    DistributionSummary searchResults;
+    AtomicLong size;
+
+    public MeteredItemStorage(ItemStorage delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.createTimer = timer(registry, "create");
+        this.createAllTimer = timer(registry, "createAll");
+        this.updateTimer = timer(registry, "update");
+        this.deleteTimer = timer(registry, "delete");
+        this.findTimer = timer(registry, "find");
+        this.findVersionTimer = timer(registry, "findVersion");
+        this.searchTimer = timer(registry, "search");
+        this.getItemsTimer = timer(registry, "getItems");
+        this.findByRequestsTimer = timer(registry, "findByRequests");
+        this.streamItemsTimer = timer(registry, "streamItems");
+        this.streamSearchTimer = timer(registry, "streamSearch");
+        this.scanSearchTimer = timer(registry, "scanSearch");
+        this.searchResults = DistributionSummary.builder(MetricNames.SEARCH_RESULTS)
+                .description("Количество вещей в результате поиска")
+                .serviceLevelObjectives(1, 10, 100, 1_000, 10_000)
+                .register(registry);
+        this.size = new AtomicLong(delegate.count());
+        Gauge.builder(MetricNames.STORAGE_SIZE, size, AtomicLong::get)
+                .tag("storage", "item")
+                .register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder(MetricNames.STORAGE_OPERATION)
+                .tag("storage", "item")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    @Override
+    public Item create(Item request) {
+        Item created = createTimer.record(() -> delegate.create(request));
+        size.incrementAndGet();
+        return created;
+    }
+
+    @Override
+    public List<Item> createAll(List<Item> items) {
+        List<Item> created = createAllTimer.record(() -> delegate.createAll(items));
+        size.addAndGet(created.size());
+        return created;
+    }
+
+    @Override
+    public Item update(Long itemId, UnaryOperator<Item> updater) {
+        return updateTimer.record(() -> delegate.update(itemId, updater));
+    }
+
+    @Override
+    public boolean delete(Long itemId) {
+        boolean isDeleted = deleteTimer.record(() -> delegate.delete(itemId));
+        if (isDeleted) {
+            size.decrementAndGet();
+        }
+        return isDeleted;
+    }
+
+    @Override
+    public Optional<Item> findItemById(Long itemId) {
+        return findTimer.record(() -> delegate.findItemById(itemId));
+    }
+
+    @Override
+    public OptionalLong findItemVersion(Long itemId) {
+        return findVersionTimer.record(() -> delegate.findItemVersion(itemId));
+    }
+
+    @Override
+    public List<Item> searchItemsByText(String text, Pagination page) {
+        List<Item> result = searchTimer.record(() -> delegate.searchItemsByText(text, page));
+        searchResults.record(result.size());
+        return result;
+    }
+
+    @Override
+    public List<Item> getItems(Long ownerId, Pagination page) {
+        return getItemsTimer.record(() -> delegate.getItems(ownerId, page));
+    }
+
+    @Override
+    public Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds) {
+        return findByRequestsTimer.record(() -> delegate.findItemsByRequestIds(requestIds));
+    }
+
+    @Override
+    public void forEachItem(Long ownerId, Consumer<Item> action) {
+        streamItemsTimer.record(() -> delegate.forEachItem(ownerId, action));
+    }
+
+    @Override
+    public void forEachMatch(String text, Consumer<Item> action) {
+        AtomicLong matched = new AtomicLong();
+        streamSearchTimer.record(() -> delegate.forEachMatch(text, item -> {
+            matched.incrementAndGet();
+            action.accept(item);
+        }));
+        searchResults.record(matched.get());
+    }
+
+    @Override
+    public void scanMatches(String text, Predicate<Item> action) {
+        AtomicLong matched = new AtomicLong();
+        scanSearchTimer.record(() -> delegate.scanMatches(text, item -> {
+            matched.incrementAndGet();
+            return action.test(item);
+        }));
+        searchResults.record(matched.get());
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    /**
+     * Перечитывает количество вещей из хранилища: нужно после удалений в обход декоратора,
+     * например каскадного удаления вещей вместе с владельцем в БД.
+     */
+    public void recount() {
+        size.set(delegate.count());
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.common.Pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Поиск по сегментам — диапазонам ID фиксированного размера — на отдельном ForkJoinPool
+ * с ограниченным числом потоков. Диапазон сегментов рекурсивно делится пополам, результаты
+ * склеиваются в порядке сегментов, поэтому совпадают с последовательным обходом по возрастанию ID.
+ * Первый сегмент проверяется в вызывающем потоке: частому запросу его обычно хватает на страницу,
+ * и пул не задействуется.
+ * Параллельный обход включается, только если проверить нужно не меньше {@code threshold} вещей:
+ * на небольших каталогах передача задач в пул дороже самого обхода.
+ */
+@Slf4j
+public class ParallelSearch implements AutoCloseable {
+    private final ForkJoinPool pool;
+    private final long threshold;
+    private final int segmentSize;
+
+    private ParallelSearch(ForkJoinPool pool, long threshold, int segmentSize) {
+        this.pool = pool;
+        this.threshold = threshold;
+        this.segmentSize = segmentSize;
+    }
+
+    public ParallelSearch(int parallelism, long threshold, int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Размер сегмента должен быть положительным: " + segmentSize);
+        }
+        this.pool = new ForkJoinPool(parallelism, ParallelSearch::newWorker, null, false);
+        this.threshold = threshold;
+        this.segmentSize = segmentSize;
+        log.info("Параллельный поиск вещей: {} потоков, от {} вещей, сегменты по {} ID",
+                parallelism, threshold, segmentSize);
+    }
+
+    /**
+     * Поиск всегда последовательный.
+     */
+    public static ParallelSearch sequential() {
+        return new ParallelSearch(null, Long.MAX_VALUE, 1);
+    }
+
+    boolean isWorthwhile(long itemsToCheck) {
+        return pool != null && itemsToCheck >= threshold;
+    }
+
+    /**
+     * Страница совпадений с ID не меньше {@code page.startId()}: параллельно по сегментам до {@code idLimit},
+     * если проверить нужно не меньше порога вещей, иначе одним обходом в вызывающем потоке.
+     */
+    <T> List<T> page(Pagination page, long itemsToCheck, long idLimit, SegmentScanner<T> scanner) {
+        int limit = (int) Math.min((long) page.getFrom() + page.getSize(), Integer.MAX_VALUE);
+        List<T> matches = isWorthwhile(itemsToCheck)
+                ? collect(Math.max(page.startId(), 0), idLimit, limit, scanner)
+                : scanner.scan(page.startId(), Long.MAX_VALUE, limit);
+        return matches.subList(Math.min(page.getFrom(), matches.size()), matches.size());
+    }
+
+    /**
+     * Первые {@code limit} совпадений с ID в диапазоне [{@code fromId}, {@code toId}) по возрастанию ID.
+     * {@code scanner} вызывается для каждого сегмента; для всех, кроме первого, — на потоках пула.
+     */
+    <T> List<T> collect(long fromId, long toId, int limit, SegmentScanner<T> scanner) {
+        if (fromId >= toId) {
+            return List.of();
+        }
+        long firstSegment = fromId / segmentSize;
+        long headEnd = Math.min(toId, (firstSegment + 1) * segmentSize);
+        List<T> head = scanner.scan(fromId, headEnd, limit);
+        if (head.size() >= limit || headEnd == toId) {
+            return head;
+        }
+        Search<T> search = new Search<>(headEnd, toId, limit - head.size(), scanner);
+        List<T> rest = pool.invoke(new SegmentTask<>(search, firstSegment + 1, (toId - 1) / segmentSize + 1));
+        List<T> result = new ArrayList<>(head.size() + rest.size());
+        result.addAll(head);
+        result.addAll(rest);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @FunctionalInterface
+    interface SegmentScanner<T> {
+        /**
+         * Не больше {@code limit} совпадений с ID в диапазоне [{@code fromId}, {@code toId}) по возрастанию ID.
+         */
+        List<T> scan(long fromId, long toId, int limit);
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("item-search-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    private final class Search<T> {
+        final long fromId;
+        final long toId;
+        final int limit;
+        final SegmentScanner<T> scanner;
+        // Номер первого сегмента, который сам набрал limit совпадений: следующие сегменты уже не нужны
+        final AtomicLong filledSegment = new AtomicLong(Long.MAX_VALUE);
+
+        Search(long fromId, long toId, int limit, SegmentScanner<T> scanner) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.limit = limit;
+            this.scanner = scanner;
+        }
+
+        List<T> scanSegment(long segment) {
+            if (segment > filledSegment.get()) {
+                return List.of();
+            }
+            long start = Math.max(fromId, segment * segmentSize);
+            long end = Math.min(toId, (segment + 1) * segmentSize);
+            List<T> found = scanner.scan(start, end, limit);
+            if (found.size() >= limit) {
+                filledSegment.accumulateAndGet(segment, Math::min);
+            }
+            return found;
+        }
+    }
+
+    private static final class SegmentTask<T> extends RecursiveTask<List<T>> {
+        private final Search<T> search;
+        private final long fromSegment;
+        private final long toSegment;
+
+        SegmentTask(Search<T> search, long fromSegment, long toSegment) {
+            this.search = search;
+            this.fromSegment = fromSegment;
+            this.toSegment = toSegment;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (toSegment - fromSegment == 1) {
+                return search.scanSegment(fromSegment);
+            }
+            long middle = (fromSegment + toSegment) >>> 1;
+            SegmentTask<T> right = new SegmentTask<>(search, middle, toSegment);
+            right.fork();
+            List<T> left = new SegmentTask<>(search, fromSegment, middle).compute();
+            if (left.size() >= search.limit) {
+                right.cancel(false);
+                return left;
+            }
+            List<T> rest = right.join();
+            List<T> result = new ArrayList<>(Math.min(left.size() + rest.size(), search.limit));
+            result.addAll(left);
+            result.addAll(rest.subList(0, Math.min(rest.size(), search.limit - left.size())));
+            return result;
+        }
+    }
+}
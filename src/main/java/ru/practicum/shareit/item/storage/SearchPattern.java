@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.storage;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Подстрока поискового запроса, сравниваемая с заранее подготовленным текстом вещи.
+ * Текст вещи — название и описание в нижнем регистре в UTF-8, разделенные байтом {@code 0xFF}:
+ * в UTF-8 он не встречается, поэтому совпадение не может захватить границу полей.
+ * Поиск идет по алгоритму Хорспула; таблица сдвигов строится один раз на запрос,
+ * и проверка вещи ничего не выделяет. Для запросов короче {@value #HORSPOOL_MIN_LENGTH} байт
+ * сдвиг слишком мал, чтобы окупить обращение к таблице, и текст просто просматривается по первому байту.
+ */
+final class SearchPattern {
+    private static final byte FIELD_SEPARATOR = (byte) 0xFF;
+    private static final int HORSPOOL_MIN_LENGTH = 4;
+
+    private final byte[] pattern;
+    private final int[] shifts = new int[256];
+
+    /**
+     * @param text запрос, уже приведенный к нижнему регистру
+     */
+    SearchPattern(String text) {
+        pattern = text.getBytes(UTF_8);
+        int last = pattern.length - 1;
+        Arrays.fill(shifts, pattern.length);
+        for (int i = 0; i < last; i++) {
+            shifts[pattern[i] & 0xFF] = last - i;
+        }
+    }
+
+    static byte[] searchText(Item item) {
+        byte[] name = ItemSearchIndex.normalize(item.getName()).getBytes(UTF_8);
+        byte[] description = ItemSearchIndex.normalize(item.getDescription()).getBytes(UTF_8);
+        byte[] text = Arrays.copyOf(name, name.length + 1 + description.length);
+        text[name.length] = FIELD_SEPARATOR;
+        System.arraycopy(description, 0, text, name.length + 1, description.length);
+        return text;
+    }
+
+    boolean isFoundIn(byte[] text) {
+        int last = pattern.length - 1;
+        if (last < 0) {
+            return true;
+        }
+        if (pattern.length < HORSPOOL_MIN_LENGTH) {
+            return scan(text);
+        }
+        byte tail = pattern[last];
+        for (int pos = 0; pos + last < text.length; ) {
+            byte current = text[pos + last];
+            if (current == tail && Arrays.equals(text, pos, pos + last, pattern, 0, last)) {
+                return true;
+            }
+            pos += shifts[current & 0xFF];
+        }
+        return false;
+    }
+
+    private boolean scan(byte[] text) {
+        byte first = pattern[0];
+        for (int pos = 0, max = text.length - pattern.length; pos <= max; pos++) {
+            if (text[pos] == first && Arrays.equals(text, pos + 1, pos + pattern.length, pattern, 1, pattern.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
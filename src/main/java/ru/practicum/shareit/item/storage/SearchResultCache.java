@@ -0,0 +1,206 @@
+package ru.practicum.shareit.item.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Кэш поиска вещей по тексту: нормализованный запрос и страница → ID найденных вещей.
+ * Записи не сбрасываются, а помечаются штампом — суммой поколений триграмм запроса (для запросов
+ * короче триграммы — общим поколением). Запись вещи увеличивает поколения триграмм старого и нового
+ * значения каждого измененного поля (при изменении доступности, создании и удалении — всех полей),
+ * поэтому меняются штампы только тех запросов, на результат которых изменение могло повлиять:
+ * найденная вещь, у которой поменялось другое поле, так и останется найденной. Поколения хранятся
+ * в полосах: коллизия лишь изредка делает недействительным лишний запрос. Одинаковые одновременные промахи выполняют поиск один раз.
+ * Статистика публикуется как {@code cache.gets{cache=itemSearch,result=hit|miss|coalesced}}.
+ */
+public final class SearchResultCache {
+    private static final int STRIPES = 4096;
+
+    private final Cache<Key, Result> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final ConcurrentMap<Flight, CompletableFuture<List<Item>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    /**
+     * @param maximumIds суммарное число ID во всех закэшированных результатах
+     */
+    public SearchResultCache(long maximumIds, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumIds)
+                .<Key, Result>weigher((key, result) -> result.ids().length + 1)
+                .build();
+        this.hits = counter(registry, "hit");
+        this.misses = counter(registry, "miss");
+        this.coalesced = counter(registry, "coalesced");
+        Gauge.builder("cache.size", cache, Cache::estimatedSize)
+                .tag("cache", "itemSearch")
+                .register(registry);
+    }
+
+    private SearchResultCache() {
+        this.cache = null;
+        this.hits = null;
+        this.misses = null;
+        this.coalesced = null;
+    }
+
+    /**
+     * Кэш выключен: каждый запрос выполняет поиск.
+     */
+    public static SearchResultCache none() {
+        return new SearchResultCache();
+    }
+
+    /**
+     * Результат из кэша, если он действителен, иначе результат {@code search}. ID из кэша
+     * превращаются в текущие снимки через {@code lookup}; удаленные за это время вещи пропускаются.
+     */
+    List<Item> get(String text, Pagination page, Supplier<List<Item>> search, LongFunction<Item> lookup) {
+        if (cache == null) {
+            return search.get();
+        }
+        Key key = new Key(text, page);
+        long stamp = stamp(text);
+        Result cached = cache.asMap().get(key);
+        if (cached != null && cached.stamp() == stamp) {
+            hits.increment();
+            return resolve(cached.ids(), lookup);
+        }
+
+        // Штамп входит в ключ: запрос, пришедший после записи, не получит результат, посчитанный до нее
+        Flight flight = new Flight(key, stamp);
+        CompletableFuture<List<Item>> mine = new CompletableFuture<>();
+        CompletableFuture<List<Item>> running = inFlight.putIfAbsent(flight, mine);
+        if (running != null) {
+            coalesced.increment();
+            return join(running);
+        }
+        misses.increment();
+        try {
+            List<Item> result = List.copyOf(search.get());
+            cache.put(key, new Result(stamp, result.stream().mapToLong(Item::getId).toArray()));
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, mine);
+        }
+    }
+
+    /**
+     * Вызывается после записи вещи, когда изменение уже видно поиску. Изменения, не влияющие
+     * на поиск (владелец, запрос), штампы не меняют; изменение одного текстового поля меняет
+     * штампы только запросов, совпадавших с его старым или новым значением.
+     */
+    void invalidate(Item previous, Item current) {
+        if (cache == null) {
+            return;
+        }
+        boolean nameChanged;
+        boolean descriptionChanged;
+        if (previous == null || current == null
+                || !Objects.equals(previous.getAvailable(), current.getAvailable())) {
+            nameChanged = true;
+            descriptionChanged = true;
+        } else {
+            nameChanged = !Objects.equals(previous.getName(), current.getName());
+            descriptionChanged = !Objects.equals(previous.getDescription(), current.getDescription());
+        }
+        if (nameChanged) {
+            bump(previous, Item::getName);
+            bump(current, Item::getName);
+        }
+        if (descriptionChanged) {
+            bump(previous, Item::getDescription);
+            bump(current, Item::getDescription);
+        }
+        if (nameChanged || descriptionChanged) {
+            globalGeneration.incrementAndGet();
+        }
+    }
+
+    private long stamp(String text) {
+        if (text.length() < ItemSearchIndex.GRAM_LENGTH) {
+            return globalGeneration.get();
+        }
+        // Поколения только растут, поэтому сумма меняется при изменении любого из них
+        long stamp = 0;
+        for (String gram : ItemSearchIndex.grams(text)) {
+            stamp += generations.get(stripe(gram));
+        }
+        return stamp;
+    }
+
+    private void bump(Item item, Function<Item, String> field) {
+        if (item != null) {
+            for (String gram : ItemSearchIndex.grams(ItemSearchIndex.normalize(field.apply(item)))) {
+                generations.incrementAndGet(stripe(gram));
+            }
+        }
+    }
+
+    private static List<Item> resolve(long[] ids, LongFunction<Item> lookup) {
+        List<Item> items = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Item item = lookup.apply(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static List<Item> join(CompletableFuture<List<Item>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static int stripe(String gram) {
+        return (gram.hashCode() * 0x9E3779B9 >>> 20) & (STRIPES - 1);
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", "itemSearch")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Key(String text, Pagination page) {
+    }
+
+    private record Result(long stamp, long[] ids) {
+    }
+
+    private record Flight(Key key, long stamp) {
+    }
+}
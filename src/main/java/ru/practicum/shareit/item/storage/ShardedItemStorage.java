@@ -0,0 +1,295 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.persistence.ChangeJournal;
+import ru.practicum.shareit.persistence.RecoverableStorage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Хранилище вещей в памяти, разделенное по владельцам на сегменты — {@link InMemoryItemStorage} со своими
+ * счетчиком ID, индексами и блокировками, поэтому записи вещей разных владельцев не конкурируют.
+ * Номер сегмента хранится в младших битах ID, и вещь по ID находится без общего каталога.
+ * Выборки по владельцу обращаются к одному сегменту; поиск и выборка по запросам обходят все
+ * сегменты и сливают результаты по возрастанию ID.
+ */
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ShardedItemStorage implements ItemStorage, RecoverableStorage<Item> {
+    public static final int MAX_SHARDS = 1024;
+    private static final Comparator<Item> BY_ID = Comparator.comparing(Item::getId);
+
+    private final InMemoryItemStorage[] shards;
+    private final int shardBits;
+    private final ParallelSearch parallelSearch;
+    private final SearchResultCache searchCache;
+    // Владельцы, у которых есть вещи вне их сегмента: восстановленные из данных без сегментов или сменившие владельца
+    private final Set<Long> scatteredOwners = ConcurrentHashMap.newKeySet();
+
+    public ShardedItemStorage(int shards) {
+        this(shards, ChangeJournal.none(), ParallelSearch.sequential(), SearchResultCache.none());
+    }
+
+    /**
+     * @param shards число сегментов, округляется вверх до степени двойки
+     */
+    public ShardedItemStorage(int shards, ChangeJournal<Item> journal, ParallelSearch parallelSearch,
+                              SearchResultCache searchCache) {
+        if (shards < 1 || shards > MAX_SHARDS) {
+            throw new IllegalArgumentException("Число сегментов должно быть от 1 до " + MAX_SHARDS + ": " + shards);
+        }
+        this.shardBits = 32 - Integer.numberOfLeadingZeros(shards - 1);
+        this.shards = new InMemoryItemStorage[1 << shardBits];
+        for (int shard = 0; shard < this.shards.length; shard++) {
+            this.shards[shard] = new InMemoryItemStorage(journal, parallelSearch, searchCache, shardBits, shard);
+        }
+        this.parallelSearch = parallelSearch;
+        this.searchCache = searchCache;
+        log.info("Хранилище вещей разделено по владельцам, сегментов: {}", this.shards.length);
+    }
+
+    @Override
+    public Item create(Item item) {
+        return ownerShard(item.getOwnerId()).create(item);
+    }
+
+    @Override
+    public List<Item> createAll(List<Item> newItems) {
+        List<Item> result = new ArrayList<>(newItems.size());
+        for (Item item : newItems) {
+            result.add(create(item));
+        }
+        return result;
+    }
+
+    @Override
+    public Item update(Long itemId, UnaryOperator<Item> updater) {
+        InMemoryItemStorage shard = itemShard(itemId);
+        return shard.update(itemId, current -> {
+            Item updated = updater.apply(current);
+            // Отмечается до публикации снимка: выборка по владельцу после записи уже обойдет все сегменты
+            markIfScattered(updated, shard);
+            return updated;
+        });
+    }
+
+    @Override
+    public boolean delete(Long itemId) {
+        return itemShard(itemId).delete(itemId);
+    }
+
+    @Override
+    public Optional<Item> findItemById(Long itemId) {
+        return itemShard(itemId).findItemById(itemId);
+    }
+
+    @Override
+    public OptionalLong findItemVersion(Long itemId) {
+        return itemShard(itemId).findItemVersion(itemId);
+    }
+
+    @Override
+    public List<Item> searchItemsByText(String text, Pagination page) {
+        List<Item> matchingItems = searchCache.get(text, page, () -> search(text, page), this::itemOrNull);
+        log.debug("Найдены вещи по тексту '{}': {}", text, LogSummary.of(matchingItems, Item::getId));
+        return matchingItems;
+    }
+
+    /**
+     * Сегменты обходятся по одним и тем же диапазонам ID, поэтому параллельный обход делит
+     * на части весь каталог, а не каждый сегмент по отдельности.
+     */
+    private List<Item> search(String text, Pagination page) {
+        List<ParallelSearch.SegmentScanner<Item>> scanners = new ArrayList<>(shards.length);
+        long itemsToCheck = 0;
+        long idLimit = 0;
+        for (InMemoryItemStorage shard : shards) {
+            InMemoryItemStorage.TextScan scan = shard.textScan(text);
+            scanners.add(scan.scanner());
+            itemsToCheck += scan.itemsToCheck();
+            idLimit = Math.max(idLimit, scan.idLimit());
+        }
+        return parallelSearch.page(page, itemsToCheck, idLimit, (fromId, toId, limit) -> {
+            List<Item> matches = new ArrayList<>();
+            for (ParallelSearch.SegmentScanner<Item> scanner : scanners) {
+                matches.addAll(scanner.scan(fromId, toId, limit));
+            }
+            return firstById(matches, limit);
+        });
+    }
+
+    @Override
+    public List<Item> getItems(Long ownerId, Pagination page) {
+        if (!scatteredOwners.contains(ownerId)) {
+            return ownerShard(ownerId).getItems(ownerId, page);
+        }
+        int limit = (int) Math.min((long) page.getFrom() + page.getSize(), Integer.MAX_VALUE);
+        Pagination shardPage = Pagination.of(0, limit, page.getAfterId());
+        List<Item> items = new ArrayList<>();
+        for (InMemoryItemStorage shard : shards) {
+            items.addAll(shard.getItems(ownerId, shardPage));
+        }
+        List<Item> result = firstById(items, limit);
+        return result.subList(Math.min(page.getFrom(), result.size()), result.size());
+    }
+
+    @Override
+    public Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds) {
+        Map<Long, List<Item>> result = new HashMap<>();
+        for (InMemoryItemStorage shard : shards) {
+            shard.findItemsByRequestIds(requestIds).forEach((requestId, answers) ->
+                    result.merge(requestId, answers, (first, second) -> {
+                        List<Item> merged = new ArrayList<>(first);
+                        merged.addAll(second);
+                        merged.sort(BY_ID);
+                        return merged;
+                    }));
+        }
+        return result;
+    }
+
+    @Override
+    public void forEachItem(Long ownerId, Consumer<Item> action) {
+        if (!scatteredOwners.contains(ownerId)) {
+            ownerShard(ownerId).forEachItem(ownerId, action);
+            return;
+        }
+        List<Item> items = new ArrayList<>();
+        for (InMemoryItemStorage shard : shards) {
+            shard.forEachItem(ownerId, items::add);
+        }
+        items.sort(BY_ID);
+        items.forEach(action);
+    }
+
+    /**
+     * Слияние совпадений сегментов по возрастанию ID: в каждом сегменте проверяется не больше вещей,
+     * чем нужно, чтобы {@code action} получил следующую.
+     */
+    @Override
+    public void scanMatches(String text, Predicate<Item> action) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(shards.length,
+                Comparator.comparing(head -> head.item().getId()));
+        for (InMemoryItemStorage shard : shards) {
+            Iterator<Item> matches = shard.matches(text);
+            if (matches.hasNext()) {
+                heads.add(new Head(matches.next(), matches));
+            }
+        }
+        while (!heads.isEmpty()) {
+            Head head = heads.poll();
+            if (!action.test(head.item())) {
+                return;
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (InMemoryItemStorage shard : shards) {
+            count += shard.count();
+        }
+        return count;
+    }
+
+    @Override
+    public void restore(Item item) {
+        InMemoryItemStorage shard = itemShard(item.getId());
+        shard.restore(item);
+        markIfScattered(item, shard);
+    }
+
+    @Override
+    public void restoreAll(Collection<Item> restored) {
+        List<List<Item>> byShard = new ArrayList<>(shards.length);
+        for (int shard = 0; shard < shards.length; shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (Item item : restored) {
+            int shard = (int) (item.getId() & (shards.length - 1));
+            byShard.get(shard).add(item);
+            markIfScattered(item, shards[shard]);
+        }
+        for (int shard = 0; shard < shards.length; shard++) {
+            shards[shard].restoreAll(byShard.get(shard));
+        }
+    }
+
+    @Override
+    public void restoreNextId(long nextId) {
+        for (InMemoryItemStorage shard : shards) {
+            shard.restoreNextId(nextId);
+        }
+    }
+
+    @Override
+    public long nextId() {
+        long nextId = 0;
+        for (InMemoryItemStorage shard : shards) {
+            nextId = Math.max(nextId, shard.nextId());
+        }
+        return nextId;
+    }
+
+    @Override
+    public void forEachStored(Consumer<Item> action) {
+        for (InMemoryItemStorage shard : shards) {
+            shard.forEachStored(action);
+        }
+    }
+
+    private Item itemOrNull(Long itemId) {
+        return itemShard(itemId).itemOrNull(itemId);
+    }
+
+    private InMemoryItemStorage itemShard(Long itemId) {
+        return shards[(int) (itemId & (shards.length - 1))];
+    }
+
+    /**
+     * Сегмент владельца по старшим битам мультипликативного хеша его ID.
+     */
+    private InMemoryItemStorage ownerShard(Long ownerId) {
+        if (ownerId == null || shardBits == 0) {
+            return shards[0];
+        }
+        return shards[(int) ((ownerId * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - shardBits))];
+    }
+
+    private void markIfScattered(Item item, InMemoryItemStorage shard) {
+        if (item.getOwnerId() != null && ownerShard(item.getOwnerId()) != shard) {
+            scatteredOwners.add(item.getOwnerId());
+        }
+    }
+
+    private static List<Item> firstById(List<Item> items, int limit) {
+        items.sort(BY_ID);
+        return items.size() > limit ? items.subList(0, limit) : items;
+    }
+
+    private record Head(Item item, Iterator<Item> rest) {
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.logging;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Краткое представление коллекции для логов: количество элементов и ID первых из них.
+ * Строка собирается только в {@link #toString()}, то есть лишь если сообщение действительно пишется.
+ */
+public final class LogSummary<T> {
+    public static final int DEFAULT_IDS = 5;
+
+    private final Collection<T> values;
+    private final Function<T, ?> idExtractor;
+    private final int maxIds;
+
+    private LogSummary(Collection<T> values, Function<T, ?> idExtractor, int maxIds) {
+        this.values = values;
+        this.idExtractor = idExtractor;
+        this.maxIds = maxIds;
+    }
+
+    public static <T> LogSummary<T> of(Collection<T> values, Function<T, ?> idExtractor) {
+        return new LogSummary<>(values, idExtractor, DEFAULT_IDS);
+    }
+
+    public static <T> LogSummary<T> of(Collection<T> values, Function<T, ?> idExtractor, int maxIds) {
+        return new LogSummary<>(values, idExtractor, maxIds);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("count=").append(values.size()).append(", ids=[");
+        Iterator<T> iterator = values.iterator();
+        for (int i = 0; i < maxIds && iterator.hasNext(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(idExtractor.apply(iterator.next()));
+        }
+        if (values.size() > maxIds) {
+            sb.append(", ...");
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.logging;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.logging")
+public class LoggingProperties {
+    // Доля запросов (0.0 - 1.0), для которых в лог пишутся полные тела запроса и ответа
+    double payloadSampleRate = 0.0;
+    // Писать ли одну итоговую строку на каждый HTTP-запрос
+    boolean requestLogEnabled = true;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.logging;
+
+import org.slf4j.Logger;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Пишет полные тела запросов и ответов только для выборки запросов
+ * с долей {@code shareit.logging.payload-sample-rate}.
+ */
+@Component
+@EnableConfigurationProperties(LoggingProperties.class)
+public class PayloadLogger {
+    private final double sampleRate;
+
+    public PayloadLogger(LoggingProperties properties) {
+        this.sampleRate = properties.getPayloadSampleRate();
+    }
+
+    public void log(Logger log, String format, Object... args) {
+        if (sampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info(format, args);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Единственная INFO-строка на запрос: метод, путь, пользователь, статус и длительность.
+ */
+@Slf4j
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final boolean enabled;
+
+    public RequestLoggingFilter(LoggingProperties properties) {
+        this.enabled = properties.isRequestLogEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled || !log.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            log.info("method={} uri={} query={} userId={} status={} durationMs={}",
+                    request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                    request.getHeader(USER_ID_HEADER), response.getStatus(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
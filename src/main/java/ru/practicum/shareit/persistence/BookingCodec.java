@@ -0,0 +1,52 @@
+package ru.practicum.shareit.persistence;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.nio.ByteBuffer;
+
+import static ru.practicum.shareit.persistence.EntityCodec.TIME_BYTES;
+import static ru.practicum.shareit.persistence.EntityCodec.getTime;
+import static ru.practicum.shareit.persistence.EntityCodec.putTime;
+
+public final class BookingCodec implements EntityCodec<Booking> {
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Override
+    public byte[] encode(Booking booking) {
+        ByteBuffer buffer = ByteBuffer.allocate(5 * Long.BYTES + 2 * TIME_BYTES + 1);
+        buffer.putLong(booking.getId());
+        buffer.putLong(booking.getVersion());
+        buffer.putLong(booking.getItemId());
+        buffer.putLong(booking.getBookerId());
+        buffer.putLong(booking.getOwnerId());
+        putTime(buffer, booking.getStart());
+        putTime(buffer, booking.getEnd());
+        buffer.put((byte) booking.getStatus().ordinal());
+        return buffer.array();
+    }
+
+    @Override
+    public Booking decode(ByteBuffer source) {
+        return Booking.builder()
+                .id(source.getLong())
+                .version(source.getLong())
+                .itemId(source.getLong())
+                .bookerId(source.getLong())
+                .ownerId(source.getLong())
+                .start(getTime(source))
+                .end(getTime(source))
+                .status(STATUSES[source.get()])
+                .build();
+    }
+
+    @Override
+    public long id(Booking booking) {
+        return booking.getId();
+    }
+
+    @Override
+    public long version(Booking booking) {
+        return booking.getVersion();
+    }
+}
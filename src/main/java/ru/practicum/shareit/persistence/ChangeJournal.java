@@ -0,0 +1,20 @@
+package ru.practicum.shareit.persistence;
+
+/**
+ * Приемник изменений хранилища в памяти. Вызовы для одного ID приходят в порядке изменений
+ * и всегда передают актуальный снимок, поэтому последняя запись по ID отражает итоговое состояние.
+ */
+public interface ChangeJournal<T> {
+
+    void put(T value);
+
+    void delete(Long id);
+
+    /**
+     * Журнал, который ничего не записывает: режим без сохранения на диск.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ChangeJournal<T> none() {
+        return (ChangeJournal<T>) NoJournal.INSTANCE;
+    }
+}
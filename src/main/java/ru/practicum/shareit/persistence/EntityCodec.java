@@ -0,0 +1,49 @@
+package ru.practicum.shareit.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Компактное двоичное представление сущности для журнала и снимков.
+ */
+public interface EntityCodec<T> {
+    int TIME_BYTES = Long.BYTES + Integer.BYTES;
+
+    byte[] encode(T value);
+
+    T decode(ByteBuffer source);
+
+    long id(T value);
+
+    long version(T value);
+
+    static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + bytes.length;
+    }
+
+    static void putBytes(ByteBuffer target, byte[] bytes) {
+        target.putInt(bytes.length);
+        target.put(bytes);
+    }
+
+    static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String getString(ByteBuffer source) {
+        byte[] bytes = new byte[source.getInt()];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void putTime(ByteBuffer target, LocalDateTime time) {
+        target.putLong(time.toEpochSecond(ZoneOffset.UTC));
+        target.putInt(time.getNano());
+    }
+
+    static LocalDateTime getTime(ByteBuffer source) {
+        return LocalDateTime.ofEpochSecond(source.getLong(), source.getInt(), ZoneOffset.UTC);
+    }
+}
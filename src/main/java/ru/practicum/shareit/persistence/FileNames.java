@@ -0,0 +1,25 @@
+package ru.practicum.shareit.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+final class FileNames {
+
+    private FileNames() {
+    }
+
+    /**
+     * Номера файлов вида {@code <prefix><номер><suffix>} в каталоге по возрастанию.
+     */
+    static long[] numbers(Path directory, String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .mapToLong(name -> Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())))
+                    .sorted()
+                    .toArray();
+        }
+    }
+}
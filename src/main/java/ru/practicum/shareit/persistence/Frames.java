@@ -0,0 +1,78 @@
+package ru.practicum.shareit.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * Формат записи журнала и снимка: длина (тип + данные), CRC32C (тип + данные), тип, данные.
+ * Нулевая длина означает конец записанных данных: файл журнала заранее заполнен нулями.
+ */
+final class Frames {
+    static final int HEADER = 2 * Integer.BYTES + 1;
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    // Завершает снимок: количество записей и следующий ID
+    static final byte END = 3;
+
+    private Frames() {
+    }
+
+    static int crc(byte type, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    static void write(ByteBuffer target, byte type, byte[] payload, int crc) {
+        target.putInt(payload.length + 1);
+        target.putInt(crc);
+        target.put(type);
+        target.put(payload);
+    }
+
+    static byte[] longs(long... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Long.BYTES);
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Передает записи посетителю до конца данных. Возвращает {@code false}, если встретилась
+     * поврежденная или недописанная запись; записи после нее не читаются, а позиция {@code source}
+     * остается на ее начале.
+     */
+    static boolean read(ByteBuffer source, Visitor visitor) {
+        CRC32C crc = new CRC32C();
+        while (source.remaining() >= HEADER) {
+            int start = source.position();
+            int length = source.getInt();
+            if (length == 0) {
+                return true;
+            }
+            int expectedCrc = source.getInt();
+            if (length < 1 || length > source.remaining()) {
+                source.position(start);
+                return false;
+            }
+            ByteBuffer frame = source.slice(source.position(), length);
+            crc.reset();
+            crc.update(frame.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                source.position(start);
+                return false;
+            }
+            byte type = frame.get();
+            visitor.visit(type, frame.slice());
+            source.position(source.position() + length);
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(byte type, ByteBuffer payload);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.persistence;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.nio.ByteBuffer;
+
+import static ru.practicum.shareit.persistence.EntityCodec.getString;
+import static ru.practicum.shareit.persistence.EntityCodec.putBytes;
+import static ru.practicum.shareit.persistence.EntityCodec.sizeOf;
+import static ru.practicum.shareit.persistence.EntityCodec.utf8;
+
+public final class ItemCodec implements EntityCodec<Item> {
+    private static final long NO_REQUEST = 0;
+
+    @Override
+    public byte[] encode(Item item) {
+        byte[] name = utf8(item.getName());
+        byte[] description = utf8(item.getDescription());
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Long.BYTES + 1 + sizeOf(name) + sizeOf(description));
+        buffer.putLong(item.getId());
+        buffer.putLong(item.getVersion());
+        buffer.putLong(item.getOwnerId());
+        buffer.putLong(item.getRequestId() != null ? item.getRequestId() : NO_REQUEST);
+        buffer.put((byte) (Boolean.TRUE.equals(item.getAvailable()) ? 1 : 0));
+        putBytes(buffer, name);
+        putBytes(buffer, description);
+        return buffer.array();
+    }
+
+    @Override
+    public Item decode(ByteBuffer source) {
+        long id = source.getLong();
+        long version = source.getLong();
+        long ownerId = source.getLong();
+        long requestId = source.getLong();
+        return Item.builder()
+                .id(id)
+                .version(version)
+                .ownerId(ownerId)
+                .requestId(requestId != NO_REQUEST ? requestId : null)
+                .available(source.get() == 1)
+                .name(getString(source))
+                .description(getString(source))
+                .build();
+    }
+
+    @Override
+    public long id(Item item) {
+        return item.getId();
+    }
+
+    @Override
+    public long version(Item item) {
+        return item.getVersion();
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.persistence;
+
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.nio.ByteBuffer;
+
+import static ru.practicum.shareit.persistence.EntityCodec.TIME_BYTES;
+import static ru.practicum.shareit.persistence.EntityCodec.getString;
+import static ru.practicum.shareit.persistence.EntityCodec.getTime;
+import static ru.practicum.shareit.persistence.EntityCodec.putBytes;
+import static ru.practicum.shareit.persistence.EntityCodec.putTime;
+import static ru.practicum.shareit.persistence.EntityCodec.sizeOf;
+import static ru.practicum.shareit.persistence.EntityCodec.utf8;
+
+/**
+ * Запросы не изменяются, поэтому версия в журнале всегда равна 1.
+ */
+public final class ItemRequestCodec implements EntityCodec<ItemRequest> {
+
+    @Override
+    public byte[] encode(ItemRequest request) {
+        byte[] description = utf8(request.getDescription());
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES + TIME_BYTES + sizeOf(description));
+        buffer.putLong(request.getId());
+        buffer.putLong(request.getRequestorId());
+        putTime(buffer, request.getCreated());
+        putBytes(buffer, description);
+        return buffer.array();
+    }
+
+    @Override
+    public ItemRequest decode(ByteBuffer source) {
+        return ItemRequest.builder()
+                .id(source.getLong())
+                .requestorId(source.getLong())
+                .created(getTime(source))
+                .description(getString(source))
+                .build();
+    }
+
+    @Override
+    public long id(ItemRequest request) {
+        return request.getId();
+    }
+
+    @Override
+    public long version(ItemRequest request) {
+        return 1;
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Журнал из сегментов фиксированного размера, отображенных в память. Запись — копирование
+ * в отображенный буфер под короткой блокировкой; данные попадают в page cache и переживают
+ * падение процесса, {@link #force()} сбрасывает их на диск.
+ */
+final class MappedJournal implements AutoCloseable {
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final String DISCARDED_SUFFIX = ".discarded";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long segment;
+    private MappedByteBuffer buffer;
+
+    MappedJournal(Path directory, int segmentSize, long firstSegment) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        openSegment(firstSegment);
+    }
+
+    void append(byte type, byte[] payload) {
+        int crc = Frames.crc(type, payload);
+        int size = Frames.HEADER + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Запись размером " + size + " байт не помещается в сегмент журнала");
+        }
+        lock.lock();
+        try {
+            if (buffer.remaining() < size) {
+                openSegment(segment + 1);
+            }
+            Frames.write(buffer, type, payload, crc);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Начинает новый сегмент и возвращает его номер: все последующие записи попадут в него или позже.
+     */
+    long roll() {
+        lock.lock();
+        try {
+            openSegment(segment + 1);
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void force() {
+        MappedByteBuffer current;
+        lock.lock();
+        try {
+            current = buffer;
+        } finally {
+            lock.unlock();
+        }
+        current.force();
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private void openSegment(long number) {
+        if (buffer != null) {
+            buffer.force();
+        }
+        Path file = segmentPath(directory, number);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // Отображение остается действительным и после закрытия канала
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать сегмент журнала " + file, e);
+        }
+        segment = number;
+    }
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, number, SUFFIX));
+    }
+
+    static long[] segments(Path directory) throws IOException {
+        return FileNames.numbers(directory, PREFIX, SUFFIX);
+    }
+
+    /**
+     * Возвращает смещение первой поврежденной записи сегмента или {@code -1}, если сегмент цел.
+     */
+    static long replay(Path file, Frames.Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return Frames.read(data, visitor) ? -1 : data.position();
+        }
+    }
+
+    /**
+     * Обрезает сегмент перед поврежденной записью: при следующем старте он читается целым.
+     */
+    static void truncate(Path file, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Выводит сегмент из журнала, оставляя файл рядом для разбора.
+     */
+    static void discard(Path directory, long number) throws IOException {
+        Path file = segmentPath(directory, number);
+        Files.move(file, file.resolveSibling(file.getFileName() + DISCARDED_SUFFIX),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static void deleteBefore(Path directory, long number) throws IOException {
+        for (long existing : segments(directory)) {
+            if (existing < number) {
+                Files.deleteIfExists(segmentPath(directory, existing));
+            }
+        }
+    }
+}
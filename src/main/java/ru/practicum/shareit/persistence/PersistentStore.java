@@ -0,0 +1,217 @@
+package ru.practicum.shareit.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Сохранение хранилища в памяти на диск: журнал изменений и периодические снимки в фоне.
+ * При старте загружается последний целый снимок и поверх него применяется хвост журнала
+ * до первой поврежденной записи.
+ * <p>
+ * Каждая запись журнала — полный снимок сущности с версией, поэтому применение идемпотентно:
+ * более старая версия не перезаписывает более новую, а удаленный ID не воскрешается
+ * (ID никогда не переиспользуются). Это позволяет снимать снимок, не останавливая запись.
+ */
+@Slf4j
+public class PersistentStore<T> implements ChangeJournal<T>, AutoCloseable {
+    private final Path directory;
+    private final EntityCodec<T> codec;
+    private final int segmentSize;
+    private final Duration snapshotInterval;
+    private final Duration fsyncInterval;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private ScheduledExecutorService scheduler;
+    private RecoverableStorage<T> storage;
+    private MappedJournal journal;
+
+    public PersistentStore(Path directory, EntityCodec<T> codec, int segmentSize, Duration snapshotInterval,
+                           Duration fsyncInterval) {
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+        this.snapshotInterval = snapshotInterval;
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    /**
+     * Восстанавливает состояние хранилища с диска и начинает журналировать его изменения.
+     */
+    public void attach(RecoverableStorage<T> target) {
+        this.storage = target;
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            long lastSegment = recover(target);
+            journal = new MappedJournal(directory, segmentSize, lastSegment + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось восстановить данные из " + directory, e);
+        }
+        log.info("Данные из {} восстановлены за {} мс", directory, (System.nanoTime() - started) / 1_000_000);
+        startBackgroundTasks();
+    }
+
+    @Override
+    public void put(T value) {
+        journal.append(Frames.PUT, codec.encode(value));
+    }
+
+    @Override
+    public void delete(Long id) {
+        journal.append(Frames.DELETE, Frames.longs(id));
+    }
+
+    /**
+     * Пишет снимок текущего состояния и удаляет журнал и снимки, которые им покрыты.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            long segment = journal.roll();
+            // Счетчик читается после переключения сегмента: он больше любого ID из старых сегментов
+            long nextId = storage.nextId();
+            SnapshotFile.write(directory, segment, nextId, codec, storage::forEachStored);
+            SnapshotFile.deleteBefore(directory, segment);
+            MappedJournal.deleteBefore(directory, segment);
+            log.debug("Снимок {} записан в {}", segment, directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать снимок в " + directory, e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    public void force() {
+        journal.force();
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (journal != null) {
+            // Снимок при штатной остановке ускоряет следующий старт и освобождает сегменты журнала
+            if (!snapshotInterval.isZero()) {
+                runSafely(this::snapshot);
+            }
+            journal.close();
+        }
+    }
+
+    /**
+     * Возвращает номер последнего прочитанного сегмента журнала.
+     */
+    private long recover(RecoverableStorage<T> target) throws IOException {
+        Map<Long, T> state = new HashMap<>();
+        long nextId = 1;
+        long firstSegment = 0;
+        long[] snapshots = SnapshotFile.snapshots(directory);
+        for (int i = snapshots.length - 1; i >= 0; i--) {
+            long snapshotNextId = SnapshotFile.read(SnapshotFile.path(directory, snapshots[i]), codec,
+                    value -> state.put(codec.id(value), value));
+            if (snapshotNextId > 0) {
+                nextId = snapshotNextId;
+                firstSegment = snapshots[i];
+                break;
+            }
+            log.warn("Снимок {} в {} поврежден, используется предыдущий", snapshots[i], directory);
+            state.clear();
+        }
+
+        Set<Long> deleted = new HashSet<>();
+        long[] maxId = {nextId - 1};
+        long lastSegment = firstSegment - 1;
+        long corruptSegment = -1;
+        for (long segment : MappedJournal.segments(directory)) {
+            if (segment < firstSegment) {
+                continue;
+            }
+            Path path = MappedJournal.segmentPath(directory, segment);
+            if (corruptSegment >= 0) {
+                // Записи после повреждения не применяются, но их ID не должны достаться новым сущностям
+                MappedJournal.replay(path, (type, payload) -> maxId[0] = Math.max(maxId[0], frameId(type, payload)));
+                MappedJournal.discard(directory, segment);
+                log.warn("Сегмент журнала {} в {} идет после поврежденного {} и отброшен", segment, directory,
+                        corruptSegment);
+                continue;
+            }
+            lastSegment = segment;
+            long corruptAt = MappedJournal.replay(path, (type, payload) -> {
+                if (type == Frames.PUT) {
+                    T value = codec.decode(payload);
+                    long id = codec.id(value);
+                    maxId[0] = Math.max(maxId[0], id);
+                    T existing = state.get(id);
+                    if (!deleted.contains(id) && (existing == null || codec.version(existing) <= codec.version(value))) {
+                        state.put(id, value);
+                    }
+                } else if (type == Frames.DELETE) {
+                    long id = payload.getLong();
+                    maxId[0] = Math.max(maxId[0], id);
+                    deleted.add(id);
+                    state.remove(id);
+                }
+            });
+            if (corruptAt >= 0) {
+                MappedJournal.truncate(path, corruptAt);
+                corruptSegment = segment;
+                log.warn("Сегмент журнала {} в {} поврежден со смещения {}: восстановление остановлено, сегмент "
+                        + "обрезан", segment, directory, corruptAt);
+            }
+        }
+
+        target.restoreAll(state.values());
+        target.restoreNextId(Math.max(nextId, maxId[0] + 1));
+        return lastSegment;
+    }
+
+    private long frameId(byte type, ByteBuffer payload) {
+        if (type == Frames.PUT) {
+            return codec.id(codec.decode(payload));
+        }
+        return type == Frames.DELETE ? payload.getLong() : 0;
+    }
+
+    private void startBackgroundTasks() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "persistence-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!snapshotInterval.isZero()) {
+            scheduler.scheduleWithFixedDelay(() -> runSafely(this::snapshot), snapshotInterval.toMillis(),
+                    snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (!fsyncInterval.isZero()) {
+            scheduler.scheduleWithFixedDelay(() -> runSafely(this::force), fsyncInterval.toMillis(),
+                    fsyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Фоновая задача сохранения {} завершилась ошибкой", directory, e);
+        }
+    }
+}
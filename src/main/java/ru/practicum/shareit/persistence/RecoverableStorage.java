@@ -0,0 +1,29 @@
+package ru.practicum.shareit.persistence;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Хранилище, состояние которого можно выгрузить в снимок и восстановить при старте.
+ * Методы восстановления не пишут в журнал.
+ */
+public interface RecoverableStorage<T> {
+
+    void restore(T value);
+
+    /**
+     * Восстанавливает записи при старте; хранилище может строить индексы сразу для всех.
+     */
+    default void restoreAll(Collection<T> values) {
+        values.forEach(this::restore);
+    }
+
+    /**
+     * Сдвигает счетчик ID так, чтобы новые записи не получили ID удаленных.
+     */
+    void restoreNextId(long nextId);
+
+    long nextId();
+
+    void forEachStored(Consumer<T> action);
+}
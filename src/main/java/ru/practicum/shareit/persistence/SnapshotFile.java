@@ -0,0 +1,96 @@
+package ru.practicum.shareit.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Снимок состояния: записи того же формата, что и в журнале, и завершающая запись
+ * {@link Frames#END}. Номер снимка — первый сегмент журнала, который нужно применить поверх него.
+ */
+final class SnapshotFile {
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SnapshotFile() {
+    }
+
+    static <T> void write(Path directory, long segment, long nextId, EntityCodec<T> codec,
+                          Consumer<Consumer<T>> source) throws IOException {
+        Path target = path(directory, segment);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            long[] count = {0};
+            source.accept(value -> {
+                try {
+                    writeFrame(out, Frames.PUT, codec.encode(value));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            writeFrame(out, Frames.END, Frames.longs(count[0], nextId));
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Читает снимок. Возвращает следующий ID или {@code -1}, если снимок поврежден или не дописан.
+     */
+    static <T> long read(Path file, EntityCodec<T> codec, Consumer<T> action) throws IOException {
+        long[] result = {-1, 0};
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Снимок " + file + " больше 2 ГБ");
+            }
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            boolean intact = Frames.read(data, (type, payload) -> {
+                if (type == Frames.PUT) {
+                    action.accept(codec.decode(payload));
+                    result[1]++;
+                } else if (type == Frames.END && payload.getLong() == result[1]) {
+                    result[0] = payload.getLong();
+                }
+            });
+            return intact ? result[0] : -1;
+        }
+    }
+
+    static Path path(Path directory, long segment) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, segment, SUFFIX));
+    }
+
+    static long[] snapshots(Path directory) throws IOException {
+        return FileNames.numbers(directory, PREFIX, SUFFIX);
+    }
+
+    static void deleteBefore(Path directory, long segment) throws IOException {
+        for (long existing : snapshots(directory)) {
+            if (existing < segment) {
+                Files.deleteIfExists(path(directory, existing));
+            }
+        }
+    }
+
+    private static void writeFrame(DataOutputStream out, byte type, byte[] payload) throws IOException {
+        out.writeInt(payload.length + 1);
+        out.writeInt(Frames.crc(type, payload));
+        out.writeByte(type);
+        out.write(payload);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.persistence;
+
+import ru.practicum.shareit.user.model.User;
+
+import java.nio.ByteBuffer;
+
+import static ru.practicum.shareit.persistence.EntityCodec.getString;
+import static ru.practicum.shareit.persistence.EntityCodec.putBytes;
+import static ru.practicum.shareit.persistence.EntityCodec.sizeOf;
+import static ru.practicum.shareit.persistence.EntityCodec.utf8;
+
+public final class UserCodec implements EntityCodec<User> {
+
+    @Override
+    public byte[] encode(User user) {
+        byte[] name = utf8(user.getName());
+        byte[] email = utf8(user.getEmail());
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES + sizeOf(name) + sizeOf(email));
+        buffer.putLong(user.getId());
+        buffer.putLong(user.getVersion());
+        putBytes(buffer, name);
+        putBytes(buffer, email);
+        return buffer.array();
+    }
+
+    @Override
+    public User decode(ByteBuffer source) {
+        return User.builder()
+                .id(source.getLong())
+                .version(source.getLong())
+                .name(getString(source))
+                .email(getString(source))
+                .build();
+    }
+
+    @Override
+    public long id(User user) {
+        return user.getId();
+    }
+
+    @Override
+    public long version(User user) {
+        return user.getVersion();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.request.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.logging.PayloadLogger;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+
+import static ru.practicum.shareit.item.controller.ItemController.USER_ID_HEADER;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/requests")
+public class ItemRequestController {
+    private final ItemRequestService itemRequestService;
+    private final PayloadLogger payloadLogger;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ItemRequestDto create(@RequestHeader(USER_ID_HEADER) Long requestorId,
+                                 @Valid @RequestBody NewItemRequestDto request) {
+        log.debug("Пришел POST запрос /requests с телом: {} от пользователя с ID: {}", request, requestorId);
+        ItemRequestDto createdRequest = itemRequestService.create(requestorId, request);
+        payloadLogger.log(log, "Отправлен ответ /requests с телом: {}", createdRequest);
+        return createdRequest;
+    }
+
+    @GetMapping
+    public List<ItemRequestDto> getUserRequests(@RequestHeader(USER_ID_HEADER) Long requestorId,
+                                                @RequestParam(name = "from", required = false) Integer from,
+                                                @RequestParam(name = "size", required = false) Integer size,
+                                                @RequestParam(name = "after", required = false) Long afterId) {
+        log.debug("Пришел GET запрос /requests от пользователя с ID: {}", requestorId);
+        List<ItemRequestDto> requests = itemRequestService.getUserRequests(requestorId,
+                Pagination.of(from, size, afterId));
+        payloadLogger.log(log, "Отправлен ответ /requests с телом: {}", requests);
+        return requests;
+    }
+
+    @GetMapping("/all")
+    public List<ItemRequestDto> getOtherRequests(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                 @RequestParam(name = "from", required = false) Integer from,
+                                                 @RequestParam(name = "size", required = false) Integer size,
+                                                 @RequestParam(name = "after", required = false) Long afterId) {
+        log.debug("Пришел GET запрос /requests/all от пользователя с ID: {}", userId);
+        List<ItemRequestDto> requests = itemRequestService.getOtherRequests(userId,
+                Pagination.of(from, size, afterId));
+        payloadLogger.log(log, "Отправлен ответ /requests/all с телом: {}", requests);
+        return requests;
+    }
+
+    @GetMapping("/{id}")
+    public ItemRequestDto findRequest(@RequestHeader(USER_ID_HEADER) Long userId,
+                                      @PathVariable("id") Long requestId) {
+        log.debug("Пришел GET запрос /requests/{} от пользователя с ID: {}", requestId, userId);
+        ItemRequestDto request = itemRequestService.findRequest(userId, requestId);
+        payloadLogger.log(log, "Отправлен ответ /requests/{} с телом: {}", requestId, request);
+        return request;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NewItemRequestDto {
+    @NotBlank(message = "Описание запроса не должно быть пустым")
+    @Size(max = 4000, message = "Описание запроса не должно быть длиннее 4000 символов")
+    String description;
+}
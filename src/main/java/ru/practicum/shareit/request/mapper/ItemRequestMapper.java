@@ -0,0 +1,36 @@
+package ru.practicum.shareit.request.mapper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ItemRequestMapper {
+
+    public static ItemRequestDto mapToItemRequestDto(ItemRequest request, List<Item> items) {
+        ItemRequestDto dto = new ItemRequestDto();
+        dto.setId(request.getId());
+        dto.setDescription(request.getDescription());
+        dto.setRequestorId(request.getRequestorId());
+        dto.setCreated(request.getCreated());
+        dto.setItems(items.stream()
+                .map(ItemMapper::mapToItemDto)
+                .toList());
+        return dto;
+    }
+
+    public static ItemRequest mapToItemRequest(Long requestorId, NewItemRequestDto request, LocalDateTime created) {
+        return ItemRequest.builder()
+                .description(request.getDescription())
+                .requestorId(requestorId)
+                .created(created)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запрос пользователя на вещь, которой нет в каталоге. Запросы не изменяются после создания;
+ * ID выдаются по возрастанию времени создания.
+ */
+@Value
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = {"id"})
+public class ItemRequest {
+    Long id;
+    String description;
+    Long requestorId;
+    LocalDateTime created;
+}
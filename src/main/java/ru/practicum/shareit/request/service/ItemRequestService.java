@@ -0,0 +1,23 @@
+package ru.practicum.shareit.request.service;
+
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ItemRequestDto create(Long requestorId, NewItemRequestDto request);
+
+    /**
+     * Запросы пользователя с ответами, от новых к старым.
+     */
+    List<ItemRequestDto> getUserRequests(Long requestorId, Pagination page);
+
+    /**
+     * Запросы остальных пользователей с ответами, от новых к старым.
+     */
+    List<ItemRequestDto> getOtherRequests(Long userId, Pagination page);
+
+    ItemRequestDto findRequest(Long userId, Long requestId);
+}
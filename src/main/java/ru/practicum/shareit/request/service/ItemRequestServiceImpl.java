@@ -0,0 +1,84 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemRequestServiceImpl implements ItemRequestService {
+
+    private final ItemRequestStorage itemRequestStorage;
+    private final ItemStorage itemStorage;
+    private final UserStorage userStorage;
+
+    @Autowired
+    public ItemRequestServiceImpl(ItemRequestStorage itemRequestStorage, ItemStorage itemStorage,
+                                  UserStorage userStorage) {
+        this.itemRequestStorage = itemRequestStorage;
+        this.itemStorage = itemStorage;
+        this.userStorage = userStorage;
+    }
+
+    @Override
+    public ItemRequestDto create(Long requestorId, NewItemRequestDto request) {
+        log.debug("Создаем запрос вещи для пользователя с ID: {}", requestorId);
+        userStorage.findUser(requestorId);
+        ItemRequest itemRequest = itemRequestStorage.create(
+                ItemRequestMapper.mapToItemRequest(requestorId, request, LocalDateTime.now()));
+        log.debug("Создан запрос вещи: {}", itemRequest);
+        return ItemRequestMapper.mapToItemRequestDto(itemRequest, List.of());
+    }
+
+    @Override
+    public List<ItemRequestDto> getUserRequests(Long requestorId, Pagination page) {
+        log.debug("Получение запросов пользователя с ID: {}", requestorId);
+        userStorage.findUser(requestorId);
+        return withAnswers(itemRequestStorage.getUserRequests(requestorId, page));
+    }
+
+    @Override
+    public List<ItemRequestDto> getOtherRequests(Long userId, Pagination page) {
+        log.debug("Получение запросов других пользователей для пользователя с ID: {}", userId);
+        userStorage.findUser(userId);
+        return withAnswers(itemRequestStorage.getOtherRequests(userId, page));
+    }
+
+    @Override
+    public ItemRequestDto findRequest(Long userId, Long requestId) {
+        log.debug("Поиск запроса с ID: {} для пользователя с ID: {}", requestId, userId);
+        userStorage.findUser(userId);
+        return withAnswers(List.of(itemRequestStorage.findRequest(requestId))).get(0);
+    }
+
+    /**
+     * Ответы на всю страницу запросов загружаются одним обращением к хранилищу вещей.
+     */
+    private List<ItemRequestDto> withAnswers(List<ItemRequest> requests) {
+        log.debug("Найдены запросы: {}", LogSummary.of(requests, ItemRequest::getId));
+        Map<Long, List<Item>> answers = itemStorage.findItemsByRequestIds(requests.stream()
+                .map(ItemRequest::getId)
+                .toList());
+        return requests.stream()
+                .map(request -> ItemRequestMapper.mapToItemRequestDto(request,
+                        answers.getOrDefault(request.getId(), List.of())))
+                .toList();
+    }
+}
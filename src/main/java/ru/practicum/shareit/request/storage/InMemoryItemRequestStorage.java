@@ -0,0 +1,137 @@
+package ru.practicum.shareit.request.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.persistence.ChangeJournal;
+import ru.practicum.shareit.persistence.RecoverableStorage;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Хранилище запросов в памяти. Запросы не изменяются, поэтому индекс по автору
+ * пополняется только при создании.
+ */
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class InMemoryItemRequestStorage implements ItemRequestStorage, RecoverableStorage<ItemRequest> {
+
+    private final NavigableMap<Long, ItemRequest> requests = new ConcurrentSkipListMap<>();
+    private AtomicLong idCounter = new AtomicLong(1);
+    private final LongAdder size = new LongAdder();
+    private final Map<Long, NavigableSet<Long>> requestorRequests = new ConcurrentHashMap<>();
+    private final ChangeJournal<ItemRequest> journal;
+
+    public InMemoryItemRequestStorage() {
+        this(ChangeJournal.none());
+    }
+
+    public InMemoryItemRequestStorage(ChangeJournal<ItemRequest> journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public ItemRequest create(ItemRequest request) {
+        ItemRequest newRequest = request.toBuilder()
+                .id(idCounter.getAndIncrement())
+                .build();
+        index(newRequest);
+        journal.put(newRequest);
+        log.debug("Создан запрос с ID {}: {}", newRequest.getId(), newRequest);
+        return newRequest;
+    }
+
+    @Override
+    public Optional<ItemRequest> findRequestById(Long requestId) {
+        return Optional.ofNullable(requests.get(requestId));
+    }
+
+    @Override
+    public List<ItemRequest> getUserRequests(Long requestorId, Pagination page) {
+        NavigableSet<Long> requestIds = requestorRequests.get(requestorId);
+        List<ItemRequest> result = requestIds == null
+                ? List.of()
+                : collectPage(requestIds.headSet(page.endId(), false).descendingSet(), page, request -> true);
+        log.debug("Найдены запросы пользователя с ID {}: {}", requestorId, LogSummary.of(result, ItemRequest::getId));
+        return result;
+    }
+
+    @Override
+    public List<ItemRequest> getOtherRequests(Long requestorId, Pagination page) {
+        List<ItemRequest> result = collectPage(requests.headMap(page.endId(), false).descendingKeySet(), page,
+                request -> !request.getRequestorId().equals(requestorId));
+        log.debug("Найдены запросы других пользователей для пользователя с ID {}: {}", requestorId,
+                LogSummary.of(result, ItemRequest::getId));
+        return result;
+    }
+
+    @Override
+    public long count() {
+        return size.sum();
+    }
+
+    @Override
+    public void restore(ItemRequest request) {
+        index(request);
+    }
+
+    @Override
+    public void restoreNextId(long nextId) {
+        idCounter.accumulateAndGet(nextId, Math::max);
+    }
+
+    @Override
+    public long nextId() {
+        return idCounter.get();
+    }
+
+    @Override
+    public void forEachStored(Consumer<ItemRequest> action) {
+        requests.values().forEach(action);
+    }
+
+    private void index(ItemRequest request) {
+        requests.put(request.getId(), request);
+        size.increment();
+        requestorRequests.computeIfAbsent(request.getRequestorId(), id -> new ConcurrentSkipListSet<>())
+                .add(request.getId());
+    }
+
+    /**
+     * Собирает страницу, проходя ID по порядку и останавливаясь, как только она заполнена.
+     */
+    private List<ItemRequest> collectPage(Iterable<Long> requestIds, Pagination page, Predicate<ItemRequest> filter) {
+        List<ItemRequest> result = new ArrayList<>();
+        int skipped = 0;
+        for (Long requestId : requestIds) {
+            ItemRequest request = requests.get(requestId);
+            if (request == null || !filter.test(request)) {
+                continue;
+            }
+            if (skipped < page.getFrom()) {
+                skipped++;
+                continue;
+            }
+            result.add(request);
+            if (result.size() >= page.getSize()) {
+                break;
+            }
+        }
+        return result;
+    }
+}
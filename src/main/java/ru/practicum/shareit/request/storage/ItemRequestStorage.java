@@ -0,0 +1,31 @@
+package ru.practicum.shareit.request.storage;
+
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemRequestStorage {
+    ItemRequest create(ItemRequest request);
+
+    Optional<ItemRequest> findRequestById(Long requestId);
+
+    default ItemRequest findRequest(Long requestId) {
+        return findRequestById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запрос с ID " + requestId + " не найден"));
+    }
+
+    /**
+     * Запросы пользователя от новых к старым (по убыванию ID).
+     */
+    List<ItemRequest> getUserRequests(Long requestorId, Pagination page);
+
+    /**
+     * Запросы остальных пользователей от новых к старым. Курсор страницы — ID последнего запроса предыдущей.
+     */
+    List<ItemRequest> getOtherRequests(Long requestorId, Pagination page);
+
+    long count();
+}
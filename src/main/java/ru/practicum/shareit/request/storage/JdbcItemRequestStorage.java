@@ -0,0 +1,90 @@
+package ru.practicum.shareit.request.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Хранилище запросов в PostgreSQL. Страницы идут по убыванию ID через индекс {@code (requestor_id, id)}
+ * и первичный ключ.
+ */
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class JdbcItemRequestStorage implements ItemRequestStorage {
+    private static final String INSERT = "INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)";
+    private static final String COUNT = "SELECT COUNT(*) FROM requests";
+    private static final String SELECT = "SELECT id, description, requestor_id, created FROM requests ";
+    private static final String FIND_BY_ID = SELECT + "WHERE id = ?";
+    private static final String FIND_BY_REQUESTOR = SELECT + "WHERE requestor_id = ? AND id < ? "
+            + "ORDER BY id DESC LIMIT ? OFFSET ?";
+    private static final String FIND_OTHERS = SELECT + "WHERE requestor_id <> ? AND id < ? "
+            + "ORDER BY id DESC LIMIT ? OFFSET ?";
+    private static final RowMapper<ItemRequest> REQUEST_ROW_MAPPER = JdbcItemRequestStorage::mapRow;
+
+    JdbcTemplate jdbcTemplate;
+
+    public JdbcItemRequestStorage(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public ItemRequest create(ItemRequest request) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT, new String[]{"id"});
+            ps.setString(1, request.getDescription());
+            ps.setLong(2, request.getRequestorId());
+            ps.setObject(3, request.getCreated());
+            return ps;
+        }, keyHolder);
+        ItemRequest newRequest = request.toBuilder()
+                .id(keyHolder.getKey().longValue())
+                .build();
+        log.debug("Создан запрос с ID {}: {}", newRequest.getId(), newRequest);
+        return newRequest;
+    }
+
+    @Override
+    public Optional<ItemRequest> findRequestById(Long requestId) {
+        return jdbcTemplate.query(FIND_BY_ID, REQUEST_ROW_MAPPER, requestId).stream().findFirst();
+    }
+
+    @Override
+    public List<ItemRequest> getUserRequests(Long requestorId, Pagination page) {
+        return jdbcTemplate.query(FIND_BY_REQUESTOR, REQUEST_ROW_MAPPER, requestorId, page.endId(), page.getSize(),
+                page.getFrom());
+    }
+
+    @Override
+    public List<ItemRequest> getOtherRequests(Long requestorId, Pagination page) {
+        return jdbcTemplate.query(FIND_OTHERS, REQUEST_ROW_MAPPER, requestorId, page.endId(), page.getSize(),
+                page.getFrom());
+    }
+
+    @Override
+    public long count() {
+        return jdbcTemplate.queryForObject(COUNT, Long.class);
+    }
+
+    private static ItemRequest mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return ItemRequest.builder()
+                .id(rs.getLong("id"))
+                .description(rs.getString("description"))
+                .requestorId(rs.getLong("requestor_id"))
+                .created(rs.getObject("created", LocalDateTime.class))
+                .build();
+    }
+}
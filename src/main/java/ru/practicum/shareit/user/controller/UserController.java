@@ -3,14 +3,24 @@ package ru.practicum.shareit.user.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.ETags;
+import ru.practicum.shareit.common.NdjsonWriter;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.logging.PayloadLogger;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -18,45 +28,77 @@ import java.util.Collection;
 @RequestMapping(path = "/users")
 public class UserController {
     private final UserServiceImpl userService;
+    private final NdjsonWriter ndjsonWriter;
+    private final PayloadLogger payloadLogger;
+    private final ETags etags;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserDto create(@Valid @RequestBody NewUserRequest user) {
-        log.info("Пришел POST запрос /users с телом: {}", user);
+        log.debug("Пришел POST запрос /users с телом: {}", user);
         UserDto createdUser = userService.create(user);
-        log.info("Отправлен ответ /users с телом: {}", createdUser);
+        payloadLogger.log(log, "Отправлен ответ /users с телом: {}", createdUser);
         return createdUser;
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<UserDto>> createBatch(@RequestBody List<NewUserRequest> users) {
+        log.debug("Пришел POST запрос /users/batch с {} элементами", users.size());
+        List<BatchResult<UserDto>> results = userService.createAll(users);
+        payloadLogger.log(log, "Отправлен ответ /users/batch с телом: {}", results);
+        return results;
+    }
+
     @PatchMapping("/{id}")
     public UserDto update(@PathVariable("id") Long userId, @Valid @RequestBody UpdateUserRequest newUser) {
-        log.info("Пришел PATCH запрос /users/{} с телом: {}", userId, newUser);
+        log.debug("Пришел PATCH запрос /users/{} с телом: {}", userId, newUser);
         UserDto updatedUser = userService.update(userId, newUser);
-        log.info("Отправлен ответ /users/{} с телом: {}", userId, updatedUser);
+        payloadLogger.log(log, "Отправлен ответ /users/{} с телом: {}", userId, updatedUser);
         return updatedUser;
     }
 
     @DeleteMapping("/{id}")
     public boolean delete(@PathVariable("id") Long userId) {
-        log.info("Пришел DELETE запрос /users/{}", userId);
+        log.debug("Пришел DELETE запрос /users/{}", userId);
         boolean isDeleted = userService.delete(userId);
-        log.info("Отправлен ответ /users/{} с результатом: {}", userId, isDeleted);
+        payloadLogger.log(log, "Отправлен ответ /users/{} с результатом: {}", userId, isDeleted);
         return isDeleted;
     }
 
+    /**
+     * Отвечает с ETag из ID и версии пользователя. Если версия совпадает с {@code If-None-Match},
+     * возвращает 304 без чтения пользователя и сериализации.
+     */
     @GetMapping("/{id}")
-    public UserDto findUser(@PathVariable("id") Long userId) {
-        log.info("Пришел GET запрос /users/{}", userId);
+    public ResponseEntity<UserDto> findUser(@PathVariable("id") Long userId,
+                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+                                            String ifNoneMatch) {
+        log.debug("Пришел GET запрос /users/{}", userId);
+        if (ifNoneMatch != null) {
+            String etag = etags.of(userId, userService.getUserVersion(userId));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                log.debug("Пользователь с ID {} не изменился, ETag: {}", userId, etag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         UserDto userDto = userService.findUser(userId);
-        log.info("Отправлен ответ /users/{} с телом: {}", userId, userDto);
-        return userDto;
+        payloadLogger.log(log, "Отправлен ответ /users/{} с телом: {}", userId, userDto);
+        return ResponseEntity.ok().eTag(etags.of(userDto.getId(), userDto.getVersion())).body(userDto);
     }
 
     @GetMapping
-    public Collection<UserDto> getUsers() {
-        log.info("Пришел GET запрос /users");
-        Collection<UserDto> users = userService.getUsers();
-        log.info("Отправлен ответ /users с телом: {}", users);
+    public Collection<UserDto> getUsers(@RequestParam(name = "from", required = false) Integer from,
+                                        @RequestParam(name = "size", required = false) Integer size,
+                                        @RequestParam(name = "after", required = false) Long afterId) {
+        log.debug("Пришел GET запрос /users с параметрами from: {}, size: {}, after: {}", from, size, afterId);
+        Collection<UserDto> users = userService.getUsers(Pagination.of(from, size, afterId));
+        payloadLogger.log(log, "Отправлен ответ /users с телом: {}", users);
         return users;
     }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        log.debug("Пришел GET запрос /users (ndjson)");
+        return ndjsonWriter.<UserDto>write(userService::streamUsers);
+    }
 }
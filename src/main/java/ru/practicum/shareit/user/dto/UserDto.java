@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AccessLevel;
 import lombok.Data;
@@ -12,4 +13,7 @@ public class UserDto {
     Long id;
     String email;
     String name;
+    // Версия снимка для ETag, в тело ответа не выводится
+    @JsonIgnore
+    long version;
 }
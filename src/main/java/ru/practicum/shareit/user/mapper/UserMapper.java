@@ -15,23 +15,25 @@ public final class UserMapper {
         dto.setId(user.getId());
         dto.setEmail(user.getEmail());
         dto.setName(user.getName());
+        dto.setVersion(user.getVersion());
         return dto;
     }
 
     public static User mapToUser(NewUserRequest request) {
-        User user = new User();
-        user.setEmail(request.getEmail());
-        user.setName(request.getName());
-        return user;
+        return User.builder()
+                .email(request.getEmail())
+                .name(request.getName())
+                .build();
     }
 
     public static User updateUserFields(User user, UpdateUserRequest request) {
+        User.UserBuilder builder = user.toBuilder();
         if (request.hasEmail()) {
-            user.setEmail(request.getEmail());
+            builder.email(request.getEmail());
         }
         if (request.hasName()) {
-            user.setName(request.getName());
+            builder.name(request.getName());
         }
-        return user;
+        return builder.build();
     }
 }
@@ -1,15 +1,18 @@
 package ru.practicum.shareit.user.model;
 
-import lombok.AccessLevel;
-import lombok.Data;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
-import lombok.experimental.FieldDefaults;
+import lombok.Value;
 
-@Data
-@EqualsAndHashCode(of = {"id"})
-@FieldDefaults(level = AccessLevel.PRIVATE)
+/**
+ * Неизменяемый снимок пользователя; {@code version} растет при каждом обновлении.
+ */
+@Value
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = {"id", "version"})
 public class User {
     Long id;
     String name;
     String email;
+    long version;
 }
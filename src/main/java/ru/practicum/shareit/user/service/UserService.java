@@ -1,19 +1,36 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.Pagination;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto create(NewUserRequest request);
 
     UserDto update(Long userId, UpdateUserRequest request);
 
+    /**
+     * Создает пользователей одной пакетной вставкой. Некорректные элементы и занятые email
+     * пропускаются и отражаются в результате, остальные создаются.
+     */
+    List<BatchResult<UserDto>> createAll(List<NewUserRequest> requests);
+
     boolean delete(Long userId);
 
     UserDto findUser(Long userId);
 
-    Collection<UserDto> getUsers();
+    /**
+     * Версия пользователя для условного запроса: без чтения пользователя целиком и без преобразования в DTO.
+     */
+    long getUserVersion(Long userId);
+
+    Collection<UserDto> getUsers(Pagination page);
+
+    void streamUsers(Consumer<UserDto> action);
 }
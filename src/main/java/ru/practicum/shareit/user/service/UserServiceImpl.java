@@ -1,13 +1,20 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.validation.Validator;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.DataAlreadyExistException;
 import ru.practicum.shareit.exception.DuplicatedDataException;
+import ru.practicum.shareit.exception.ErrorMetrics;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.logging.LogSummary;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -15,7 +22,13 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,15 +37,19 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserStorage userStorage;
+    private final Validator validator;
+    private final ErrorMetrics errorMetrics;
 
     @Autowired
-    public UserServiceImpl(@Qualifier("InMemoryUserStorage") UserStorage userStorage) {
+    public UserServiceImpl(UserStorage userStorage, Validator validator, ErrorMetrics errorMetrics) {
         this.userStorage = userStorage;
+        this.validator = validator;
+        this.errorMetrics = errorMetrics;
     }
 
     @Override
     public UserDto create(NewUserRequest request) {
-        log.info("Создание нового пользователя с данными: {}", request);
+        log.debug("Создание нового пользователя с данными: {}", request);
 
         if (userStorage.isUserWithEmailExist(request.getEmail())) {
             log.warn("Попытка создания пользователя с уже существующим email: {}", request.getEmail());
@@ -41,28 +58,78 @@ public class UserServiceImpl implements UserService {
 
         User user = UserMapper.mapToUser(request);
         user = userStorage.create(user);
-        log.info("Создан новый пользователь: {}", user);
+        log.debug("Создан новый пользователь: {}", user);
 
         return UserMapper.mapToUserDto(user);
     }
 
+    @Override
+    public List<BatchResult<UserDto>> createAll(List<NewUserRequest> requests) {
+        BatchResult.checkSize(requests);
+        log.debug("Пакетное создание {} пользователей", requests.size());
+        List<BatchResult<UserDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        Set<String> batchEmails = new HashSet<>();
+        List<User> users = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            BatchResult<UserDto> invalid = BatchResult.validate(validator, i, requests.get(i));
+            if (invalid != null) {
+                results.set(i, invalid);
+                continue;
+            }
+            String email = requests.get(i).getEmail();
+            if (!batchEmails.add(UserStorage.normalizeEmail(email)) || userStorage.isUserWithEmailExist(email)) {
+                results.set(i, BatchResult.failure(i, HttpStatus.CONFLICT,
+                        String.format("Этот E-mail \"%s\" уже используется", email)));
+                continue;
+            }
+            users.add(UserMapper.mapToUser(requests.get(i)));
+            positions.add(i);
+        }
+
+        try {
+            List<User> created = userStorage.createAll(users);
+            for (int k = 0; k < created.size(); k++) {
+                int index = positions.get(k);
+                results.set(index, BatchResult.success(index, HttpStatus.CREATED,
+                        UserMapper.mapToUserDto(created.get(k))));
+            }
+        } catch (DataAlreadyExistException e) {
+            // Email заняли параллельно: пакетная вставка откатилась целиком, создаем по одному
+            log.debug("Пакетная вставка пользователей отклонена, создаем по одному: {}", e.getMessage());
+            for (int k = 0; k < users.size(); k++) {
+                int index = positions.get(k);
+                try {
+                    results.set(index, BatchResult.success(index, HttpStatus.CREATED,
+                            UserMapper.mapToUserDto(userStorage.create(users.get(k)))));
+                } catch (DataAlreadyExistException duplicate) {
+                    results.set(index, BatchResult.failure(index, HttpStatus.CONFLICT, duplicate.getMessage()));
+                }
+            }
+        }
+        errorMetrics.recordFailures(results);
+        return results;
+    }
+
     @Override
     public UserDto update(Long userId, UpdateUserRequest request) {
-        log.info("Обновление данных пользователя с ID {}: {}", userId, request);
+        log.debug("Обновление данных пользователя с ID {}: {}", userId, request);
 
         if (userId == null) {
             log.warn("ID пользователя не указан");
             throw new ValidationException("ID пользователя должен быть указан");
         }
 
-        if (userStorage.isUserWithEmailExist(request.getEmail())) {
+        if (request.hasEmail() && userStorage.findUserIdByEmail(request.getEmail())
+                .filter(ownerId -> !ownerId.equals(userId))
+                .isPresent()) {
             log.warn("Попытка обновления пользователя с уже существующим email: {}", request.getEmail());
             throw new DuplicatedDataException(String.format("Этот E-mail \"%s\" уже используется", request.getEmail()));
         }
 
-        User updatedUser = UserMapper.updateUserFields(userStorage.findUser(userId), request);
-        updatedUser = userStorage.update(updatedUser);
-        log.info("Обновлены данные пользователя: {}", updatedUser);
+        User updatedUser = userStorage.update(userId, user -> UserMapper.updateUserFields(user, request));
+        log.debug("Обновлены данные пользователя: {}", updatedUser);
 
         return UserMapper.mapToUserDto(updatedUser);
     }
@@ -70,10 +137,10 @@ public class UserServiceImpl implements UserService {
     @Override
     public boolean delete(Long userId) {
         User user = userStorage.findUser(userId);
-        log.info("Удаление пользователя с ID {}: {}", userId, user.getName());
+        log.debug("Удаление пользователя с ID {}: {}", userId, user.getName());
         boolean isDeleted = userStorage.delete(userId);
         if (isDeleted) {
-            log.info("Пользователь с ID {} удален", userId);
+            log.debug("Пользователь с ID {} удален", userId);
         } else {
             log.warn("Пользователь с ID {} не найден", userId);
         }
@@ -82,19 +149,31 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto findUser(Long userId) {
-        log.info("Поиск пользователя с ID {}", userId);
+        log.debug("Поиск пользователя с ID {}", userId);
         User user = userStorage.findUser(userId);
-        log.info("Найден пользователь: {}", user);
+        log.debug("Найден пользователь: {}", user);
         return UserMapper.mapToUserDto(user);
     }
 
     @Override
-    public Collection<UserDto> getUsers() {
-        log.info("Получение списка всех пользователей");
-        Collection<User> users = userStorage.getUsers();
-        log.info("Найдены пользователи: {}", users);
+    public long getUserVersion(Long userId) {
+        return userStorage.findUserVersion(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с ID " + userId + " не найден"));
+    }
+
+    @Override
+    public Collection<UserDto> getUsers(Pagination page) {
+        log.debug("Получение списка пользователей: {}", page);
+        Collection<User> users = userStorage.getUsers(page);
+        log.debug("Найдены пользователи: {}", LogSummary.of(users, User::getId));
         return users.stream()
                 .map(UserMapper::mapToUserDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public void streamUsers(Consumer<UserDto> action) {
+        log.debug("Потоковая выгрузка всех пользователей");
+        userStorage.forEachUser(user -> action.accept(UserMapper.mapToUserDto(user)));
+    }
 }
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.user.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.common.EntityCache;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Декоратор хранилища пользователей, читающий пользователей по ID через кэш. Изменение и удаление
+ * через этот декоратор сбрасывают запись кэша. Удаление пользователя в БД каскадно удаляет его вещи,
+ * поэтому после него вызывается {@code afterDelete} — обычно сброс кэша вещей.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class CachingUserStorage implements UserStorage {
+    UserStorage delegate;
+    EntityCache<User> cache;
+    Runnable afterDelete;
+
+    public CachingUserStorage(UserStorage delegate, EntityCache<User> cache, Runnable afterDelete) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.afterDelete = afterDelete;
+    }
+
+    @Override
+    public User create(User user) {
+        return delegate.create(user);
+    }
+
+    @Override
+    public List<User> createAll(List<User> users) {
+        return delegate.createAll(users);
+    }
+
+    @Override
+    public User update(Long userId, UnaryOperator<User> updater) {
+        try {
+            return delegate.update(userId, updater);
+        } finally {
+            cache.invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        boolean isDeleted;
+        try {
+            isDeleted = delegate.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
+        if (isDeleted) {
+            afterDelete.run();
+        }
+        return isDeleted;
+    }
+
+    @Override
+    public Optional<User> findUserById(Long userId) {
+        return cache.get(userId, delegate::findUserById);
+    }
+
+    @Override
+    public OptionalLong findUserVersion(Long userId) {
+        Optional<User> cached = cache.getIfPresent(userId);
+        return cached.isPresent() ? OptionalLong.of(cached.get().getVersion()) : delegate.findUserVersion(userId);
+    }
+
+    @Override
+    public List<User> getUsers(Pagination page) {
+        return delegate.getUsers(page);
+    }
+
+    @Override
+    public void forEachUser(Consumer<User> action) {
+        delegate.forEachUser(action);
+    }
+
+    @Override
+    public boolean isUserWithEmailExist(String email) {
+        return delegate.isUserWithEmailExist(email);
+    }
+
+    @Override
+    public Optional<Long> findUserIdByEmail(String email) {
+        return delegate.findUserIdByEmail(email);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+}
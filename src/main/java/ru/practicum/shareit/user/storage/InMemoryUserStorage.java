@@ -3,60 +3,130 @@ package ru.practicum.shareit.user.storage;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.IdTable;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.common.StripedLock;
 import ru.practicum.shareit.exception.DataAlreadyExistException;
-import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.persistence.ChangeJournal;
+import ru.practicum.shareit.persistence.RecoverableStorage;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
+/**
+ * Хранилище пользователей в памяти.
+ */
 @Slf4j
-@Component("InMemoryUserStorage")
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
-public class InMemoryUserStorage implements UserStorage {
+public class InMemoryUserStorage implements UserStorage, RecoverableStorage<User> {
 
-    private final Map<Long, User> users = new HashMap<>();
+    private final IdTable<User> users = new IdTable<>();
     private AtomicLong idCounter = new AtomicLong(1);
-    private final Set emailUniqSet = new HashSet<>();
+    private final LongAdder size = new LongAdder();
+    // Нормализованный email -> ID пользователя. Запись резервируется до публикации пользователя
+    private final Map<String, Long> emailIndex = new ConcurrentHashMap<>();
+    private final ChangeJournal<User> journal;
+    // Снимки, уже записанные в журнал; ведутся только при включенном журнале
+    private final IdTable<User> journaledUsers = new IdTable<>();
+    private final StripedLock journalLocks = new StripedLock(256);
+    private final StripedLock emailLocks = new StripedLock(256);
+
+    public InMemoryUserStorage() {
+        this(ChangeJournal.none());
+    }
+
+    public InMemoryUserStorage(ChangeJournal<User> journal) {
+        this.journal = journal;
+    }
 
     @Override
     public User create(User user) {
-        final String email = user.getEmail();
-        if (emailUniqSet.contains(email)) {
-            throw new DataAlreadyExistException("Email: " + email + " already exists");
-        }
         long newId = idCounter.getAndIncrement();
-        user.setId(newId);
-        log.info("Создан новый пользователь с ID {}: {}", newId, user);
-        users.put(newId, user);
-        emailUniqSet.add(email);
-        return user;
+        reserveEmail(user.getEmail(), newId);
+        User newUser = user.toBuilder()
+                .id(newId)
+                .version(1)
+                .build();
+        log.debug("Создан новый пользователь с ID {}: {}", newId, newUser);
+        users.put(newId, newUser);
+        size.increment();
+        syncJournal(newId);
+        return newUser;
     }
 
+    /**
+     * Как и в JDBC-хранилище, пакет создается целиком или не создается вовсе:
+     * сначала резервируются все email, и при конфликте резервирование откатывается.
+     */
     @Override
-    public User update(User newUser) {
-        log.info("Обновление данных пользователя с ID {}: {}", newUser.getId(), newUser);
-        final String email = newUser.getEmail();
-        users.computeIfPresent(newUser.getId(), (id, existingUser) -> {
-            if (!email.equalsIgnoreCase(existingUser.getEmail())) {
-                if (emailUniqSet.contains(email)) {
-                    throw new DataAlreadyExistException("Email: " + email + " already exists");
-                }
-                emailUniqSet.remove(existingUser.getEmail());
-                emailUniqSet.add(email);
+    public List<User> createAll(List<User> newUsers) {
+        List<User> result = new ArrayList<>(newUsers.size());
+        try {
+            for (User user : newUsers) {
+                long newId = idCounter.getAndIncrement();
+                reserveEmail(user.getEmail(), newId);
+                result.add(user.toBuilder()
+                        .id(newId)
+                        .version(1)
+                        .build());
             }
-            return newUser;
-        });
-        return newUser;
+        } catch (DataAlreadyExistException e) {
+            for (User reserved : result) {
+                emailIndex.remove(UserStorage.normalizeEmail(reserved.getEmail()), reserved.getId());
+            }
+            throw e;
+        }
+        for (User newUser : result) {
+            users.put(newUser.getId(), newUser);
+            size.increment();
+            syncJournal(newUser.getId());
+        }
+        log.debug("Сохранено пользователей: {}", result.size());
+        return result;
+    }
+
+    @Override
+    public User update(Long userId, UnaryOperator<User> updater) {
+        while (true) {
+            User current = findUser(userId);
+            User newUser = updater.apply(current)
+                    .toBuilder()
+                    .id(userId)
+                    .version(current.getVersion() + 1)
+                    .build();
+            String oldEmail = UserStorage.normalizeEmail(current.getEmail());
+            String newEmail = UserStorage.normalizeEmail(newUser.getEmail());
+            boolean replaced = newEmail.equals(oldEmail)
+                    ? users.replace(userId, current, newUser)
+                    : replaceWithEmail(current, newUser, oldEmail, newEmail);
+            if (replaced) {
+                syncJournal(userId);
+                log.debug("Обновление данных пользователя с ID {}: {}", userId, newUser);
+                return newUser;
+            }
+            log.debug("Пользователь с ID {} изменен параллельно, повторяем обновление", userId);
+        }
     }
 
     @Override
     public boolean delete(Long userId) {
         User removedUser = users.remove(userId);
         if (removedUser != null) {
-            log.info("Удален пользователь с ID {}: {}", userId, removedUser);
-            emailUniqSet.remove(removedUser.getEmail());
+            size.decrement();
+            log.debug("Удален пользователь с ID {}: {}", userId, removedUser);
+            emailIndex.remove(UserStorage.normalizeEmail(removedUser.getEmail()), userId);
+            syncJournal(userId);
             return true;
         } else {
             log.warn("Попытка удаления пользователя с ID {}, которого не существует", userId);
@@ -65,26 +135,136 @@ public class InMemoryUserStorage implements UserStorage {
     }
 
     @Override
-    public User findUser(Long userId) {
+    public Optional<User> findUserById(Long userId) {
+        return Optional.ofNullable(users.get(userId));
+    }
+
+    @Override
+    public OptionalLong findUserVersion(Long userId) {
         User user = users.get(userId);
-        if (user == null) {
-            log.warn("Пользователь с ID {} не найден", userId);
-            throw new NotFoundException(String.format("Пользователь с ID %d не найден", userId));
+        return user != null ? OptionalLong.of(user.getVersion()) : OptionalLong.empty();
+    }
+
+    @Override
+    public List<User> getUsers(Pagination page) {
+        log.debug("Получение списка пользователей: {}", page);
+        List<User> result = new ArrayList<>();
+        Iterator<User> candidates = users.valuesFrom(page.startId());
+        for (int skipped = 0; candidates.hasNext() && result.size() < page.getSize(); ) {
+            User user = candidates.next();
+            if (skipped < page.getFrom()) {
+                skipped++;
+            } else {
+                result.add(user);
+            }
         }
-        log.info("Найден пользователь с ID {}: {}", userId, user);
-        return user;
+        return result;
     }
 
     @Override
-    public Collection<User> getUsers() {
-        log.info("Получение списка всех пользователей");
-        return users.values();
+    public void forEachUser(Consumer<User> action) {
+        users.forEach(action);
     }
 
     @Override
     public boolean isUserWithEmailExist(String email) {
-        boolean exists = users.values().stream().anyMatch(user -> user.getEmail().equalsIgnoreCase(email));
-        log.info("Проверка существования пользователя с email {}: {}", email, exists);
+        boolean exists = emailIndex.containsKey(UserStorage.normalizeEmail(email));
+        log.debug("Проверка существования пользователя с email {}: {}", email, exists);
         return exists;
     }
+
+    @Override
+    public Optional<Long> findUserIdByEmail(String email) {
+        return Optional.ofNullable(emailIndex.get(UserStorage.normalizeEmail(email)));
+    }
+
+    @Override
+    public long count() {
+        return size.sum();
+    }
+
+    @Override
+    public void restore(User user) {
+        users.put(user.getId(), user);
+        size.increment();
+        emailIndex.put(UserStorage.normalizeEmail(user.getEmail()), user.getId());
+        if (journal != ChangeJournal.<User>none()) {
+            journaledUsers.put(user.getId(), user);
+        }
+    }
+
+    @Override
+    public void restoreNextId(long nextId) {
+        idCounter.accumulateAndGet(nextId, Math::max);
+    }
+
+    @Override
+    public long nextId() {
+        return idCounter.get();
+    }
+
+    @Override
+    public void forEachStored(Consumer<User> action) {
+        users.forEach(action);
+    }
+
+    /**
+     * Записывает в журнал текущий снимок пользователя; вызовы для одного ID сериализуются.
+     */
+    private void syncJournal(Long userId) {
+        if (journal == ChangeJournal.<User>none()) {
+            return;
+        }
+        ReentrantLock lock = journalLocks.forId(userId);
+        lock.lock();
+        try {
+            User previous = journaledUsers.get(userId);
+            User current = users.get(userId);
+            if (previous == current) {
+                return;
+            }
+            if (current != null) {
+                journaledUsers.put(userId, current);
+                journal.put(current);
+            } else {
+                journaledUsers.remove(userId);
+                journal.delete(userId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Смены email одного пользователя сериализуются; при проигрыше снимается только свой резерв.
+     */
+    private boolean replaceWithEmail(User current, User newUser, String oldEmail, String newEmail) {
+        Long userId = newUser.getId();
+        ReentrantLock lock = emailLocks.forId(userId);
+        lock.lock();
+        try {
+            boolean reserved = reserveEmail(newUser.getEmail(), userId);
+            if (users.replace(userId, current, newUser)) {
+                emailIndex.remove(oldEmail, userId);
+                return true;
+            }
+            if (reserved) {
+                emailIndex.remove(newEmail, userId);
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true}, если запись создана этим вызовом, {@code false}, если email уже принадлежит пользователю
+     */
+    private boolean reserveEmail(String email, Long userId) {
+        Long ownerId = emailIndex.putIfAbsent(UserStorage.normalizeEmail(email), userId);
+        if (ownerId != null && !ownerId.equals(userId)) {
+            throw new DataAlreadyExistException("Email: " + email + " already exists");
+        }
+        return ownerId == null;
+    }
 }
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.user.storage;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.DataAlreadyExistException;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Хранилище пользователей в PostgreSQL. Уникальность email обеспечивает
+ * уникальный индекс по нормализованному (lower/trim) адресу.
+ */
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class JdbcUserStorage implements UserStorage {
+    private static final String INSERT = "INSERT INTO users (name, email, email_normalized, version) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE users SET name = ?, email = ?, email_normalized = ?, version = ? "
+            + "WHERE id = ? AND version = ?";
+    private static final String DELETE = "DELETE FROM users WHERE id = ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM users";
+    private static final String SELECT = "SELECT id, name, email, version FROM users ";
+    private static final String FIND_BY_ID = SELECT + "WHERE id = ?";
+    private static final String FIND_VERSION = "SELECT version FROM users WHERE id = ?";
+    private static final String FIND_PAGE = SELECT + "WHERE id >= ? ORDER BY id LIMIT ? OFFSET ?";
+    private static final String FIND_ID_BY_EMAIL = "SELECT id FROM users WHERE email_normalized = ?";
+    private static final String STREAM_ALL = SELECT + "ORDER BY id";
+    private static final RowMapper<User> USER_ROW_MAPPER = JdbcUserStorage::mapRow;
+
+    JdbcTemplate jdbcTemplate;
+    // Читает результат порциями через курсор, а не целиком в память
+    JdbcTemplate streamingJdbcTemplate;
+    int batchSize;
+
+    public JdbcUserStorage(JdbcTemplate jdbcTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(batchSize);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public User create(User user) {
+        return createAll(List.of(user)).get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<User> createAll(List<User> users) {
+        List<User> result = new ArrayList<>(users.size());
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<User> chunk = users.subList(from, Math.min(from + batchSize, users.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            try {
+                jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[]{"id"}),
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                setUserValues(ps, chunk.get(i), 1L);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return chunk.size();
+                            }
+                        }, keyHolder);
+            } catch (DuplicateKeyException e) {
+                throw new DataAlreadyExistException("Email already exists: " + e.getMostSpecificCause().getMessage());
+            }
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+                result.add(chunk.get(i).toBuilder().id(id).version(1).build());
+            }
+        }
+        log.debug("Сохранено пользователей: {}", result.size());
+        return result;
+    }
+
+    @Override
+    public User update(Long userId, UnaryOperator<User> updater) {
+        while (true) {
+            User current = findUser(userId);
+            User newUser = updater.apply(current)
+                    .toBuilder()
+                    .id(userId)
+                    .version(current.getVersion() + 1)
+                    .build();
+            int updated;
+            try {
+                updated = jdbcTemplate.update(UPDATE, ps -> {
+                    setUserValues(ps, newUser, newUser.getVersion());
+                    ps.setLong(5, userId);
+                    ps.setLong(6, current.getVersion());
+                });
+            } catch (DuplicateKeyException e) {
+                throw new DataAlreadyExistException("Email: " + newUser.getEmail() + " already exists");
+            }
+            if (updated == 1) {
+                log.debug("Обновление данных пользователя с ID {}: {}", userId, newUser);
+                return newUser;
+            }
+            log.debug("Пользователь с ID {} изменен параллельно, повторяем обновление", userId);
+        }
+    }
+
+    @Override
+    public boolean delete(Long userId) {
+        boolean isDeleted = jdbcTemplate.update(DELETE, userId) > 0;
+        if (isDeleted) {
+            log.debug("Удален пользователь с ID {}", userId);
+        } else {
+            log.warn("Попытка удаления пользователя с ID {}, которого не существует", userId);
+        }
+        return isDeleted;
+    }
+
+    @Override
+    public Optional<User> findUserById(Long userId) {
+        return jdbcTemplate.query(FIND_BY_ID, USER_ROW_MAPPER, userId).stream().findFirst();
+    }
+
+    @Override
+    public OptionalLong findUserVersion(Long userId) {
+        List<Long> versions = jdbcTemplate.queryForList(FIND_VERSION, Long.class, userId);
+        return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.get(0));
+    }
+
+    @Override
+    public List<User> getUsers(Pagination page) {
+        return jdbcTemplate.query(FIND_PAGE, USER_ROW_MAPPER, page.startId(), page.getSize(), page.getFrom());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachUser(Consumer<User> action) {
+        streamingJdbcTemplate.query(STREAM_ALL, rs -> {
+            action.accept(mapRow(rs, rs.getRow()));
+        });
+    }
+
+    @Override
+    public boolean isUserWithEmailExist(String email) {
+        return findUserIdByEmail(email).isPresent();
+    }
+
+    @Override
+    public Optional<Long> findUserIdByEmail(String email) {
+        List<Long> ids = jdbcTemplate.queryForList(FIND_ID_BY_EMAIL, Long.class, UserStorage.normalizeEmail(email));
+        return ids.stream().findFirst();
+    }
+
+    @Override
+    public long count() {
+        return jdbcTemplate.queryForObject(COUNT, Long.class);
+    }
+
+    private static void setUserValues(PreparedStatement ps, User user, long version) throws SQLException {
+        ps.setString(1, user.getName());
+        ps.setString(2, user.getEmail());
+        ps.setString(3, UserStorage.normalizeEmail(user.getEmail()));
+        ps.setLong(4, version);
+    }
+
+    private static User mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return User.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .version(rs.getLong("version"))
+                .build();
+    }
+}
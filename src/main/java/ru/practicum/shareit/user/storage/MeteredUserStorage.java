@@ -0,0 +1,127 @@
+package ru.practicum.shareit.user.storage;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.common.MetricNames;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Декоратор хранилища пользователей, снимающий метрики: время каждой операции и количество пользователей.
+ * Количество считается при записи через декоратор, чтобы опрос метрик не обращался к БД. После удаления
+ * пользователя вызывается {@code afterDelete}: в БД вместе с ним каскадно удаляются его вещи.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class MeteredUserStorage implements UserStorage {
+    UserStorage delegate;
+    Timer createTimer;
+    Timer createAllTimer;
+    Timer updateTimer;
+    Timer deleteTimer;
+    Timer findTimer;
+    Timer findVersionTimer;
+    Timer getUsersTimer;
+    Timer streamUsersTimer;
+    Timer findByEmailTimer;
+    AtomicLong size;
+    Runnable afterDelete;
+
+    public MeteredUserStorage(UserStorage delegate, MeterRegistry registry, Runnable afterDelete) {
+        this.delegate = delegate;
+        this.afterDelete = afterDelete;
+        this.createTimer = timer(registry, "create");
+        this.createAllTimer = timer(registry, "createAll");
+        this.updateTimer = timer(registry, "update");
+        this.deleteTimer = timer(registry, "delete");
+        this.findTimer = timer(registry, "find");
+        this.findVersionTimer = timer(registry, "findVersion");
+        this.getUsersTimer = timer(registry, "getUsers");
+        this.streamUsersTimer = timer(registry, "streamUsers");
+        this.findByEmailTimer = timer(registry, "findByEmail");
+        this.size = new AtomicLong(delegate.count());
+        Gauge.builder(MetricNames.STORAGE_SIZE, size, AtomicLong::get)
+                .tag("storage", "user")
+                .register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder(MetricNames.STORAGE_OPERATION)
+                .tag("storage", "user")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    @Override
+    public User create(User user) {
+        User created = createTimer.record(() -> delegate.create(user));
+        size.incrementAndGet();
+        return created;
+    }
+
+    @Override
+    public List<User> createAll(List<User> users) {
+        List<User> created = createAllTimer.record(() -> delegate.createAll(users));
+        size.addAndGet(created.size());
+        return created;
+    }
+
+    @Override
+    public User update(Long userId, UnaryOperator<User> updater) {
+        return updateTimer.record(() -> delegate.update(userId, updater));
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        boolean isDeleted = deleteTimer.record(() -> delegate.delete(id));
+        if (isDeleted) {
+            size.decrementAndGet();
+            afterDelete.run();
+        }
+        return isDeleted;
+    }
+
+    @Override
+    public Optional<User> findUserById(Long userId) {
+        return findTimer.record(() -> delegate.findUserById(userId));
+    }
+
+    @Override
+    public OptionalLong findUserVersion(Long userId) {
+        return findVersionTimer.record(() -> delegate.findUserVersion(userId));
+    }
+
+    @Override
+    public List<User> getUsers(Pagination page) {
+        return getUsersTimer.record(() -> delegate.getUsers(page));
+    }
+
+    @Override
+    public void forEachUser(Consumer<User> action) {
+        streamUsersTimer.record(() -> delegate.forEachUser(action));
+    }
+
+    @Override
+    public boolean isUserWithEmailExist(String email) {
+        return findByEmailTimer.record(() -> delegate.isUserWithEmailExist(email));
+    }
+
+    @Override
+    public Optional<Long> findUserIdByEmail(String email) {
+        return findByEmailTimer.record(() -> delegate.findUserIdByEmail(email));
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+}
@@ -1,19 +1,71 @@
 package ru.practicum.shareit.user.storage;
 
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public interface UserStorage {
     User create(User user);
 
-    User update(User newUser);
+    /**
+     * Сохраняет пользователей одной пакетной операцией. Порядок результата совпадает с порядком аргумента.
+     */
+    List<User> createAll(List<User> users);
+
+    /**
+     * Атомарно применяет изменение к текущему снимку пользователя и увеличивает его версию.
+     * При параллельном изменении {@code updater} может быть вызван повторно со свежим снимком.
+     */
+    User update(Long userId, UnaryOperator<User> updater);
 
     boolean delete(Long id);
 
-    User findUser(Long userId);
+    /**
+     * Ищет пользователя без исключения на промахе. Предпочтителен там, где отсутствие пользователя — обычный исход.
+     */
+    Optional<User> findUserById(Long userId);
+
+    default User findUser(Long userId) {
+        return findUserById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с ID " + userId + " не найден"));
+    }
+
+    /**
+     * Текущая версия пользователя без чтения остальных полей. Используется для условных GET-запросов,
+     * поэтому должна быть не дороже {@link #findUserById}.
+     */
+    OptionalLong findUserVersion(Long userId);
+
+    /**
+     * Возвращает страницу пользователей по возрастанию ID.
+     */
+    List<User> getUsers(Pagination page);
 
-    Collection<User> getUsers();
+    /**
+     * Передает всех пользователей по одному, не собирая их в коллекцию. Используется для потоковой выгрузки.
+     */
+    void forEachUser(Consumer<User> action);
 
     boolean isUserWithEmailExist(String email);
+
+    Optional<Long> findUserIdByEmail(String email);
+
+    /**
+     * Количество пользователей в хранилище. Вызывается при каждом снятии метрик, поэтому должно быть дешевым.
+     */
+    long count();
+
+    /**
+     * Email сравниваются без учета регистра и окружающих пробелов.
+     */
+    static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
 }
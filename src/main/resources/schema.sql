@@ -0,0 +1,49 @@
+CREATE TABLE IF NOT EXISTS users (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             VARCHAR(255) NOT NULL,
+    email            VARCHAR(512) NOT NULL,
+    email_normalized VARCHAR(512) NOT NULL,
+    version          BIGINT       NOT NULL,
+    CONSTRAINT uq_users_email_normalized UNIQUE (email_normalized)
+);
+
+CREATE TABLE IF NOT EXISTS requests (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description  VARCHAR(4000) NOT NULL,
+    requestor_id BIGINT        NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created      TIMESTAMP     NOT NULL
+);
+
+-- ID растут вместе с created, поэтому "новые первыми" — это обратный порядок ID
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_id ON requests (requestor_id, id);
+
+CREATE TABLE IF NOT EXISTS items (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255)  NOT NULL,
+    description VARCHAR(4000) NOT NULL,
+    available   BOOLEAN       NOT NULL,
+    owner_id    BIGINT        NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    request_id  BIGINT        REFERENCES requests (id) ON DELETE SET NULL,
+    version     BIGINT        NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS ix_items_request_id ON items (request_id, id);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    start_date TIMESTAMP   NOT NULL,
+    end_date   TIMESTAMP   NOT NULL,
+    item_id    BIGINT      NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    booker_id  BIGINT      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    owner_id   BIGINT      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    status     VARCHAR(16) NOT NULL,
+    version    BIGINT      NOT NULL,
+    CONSTRAINT ck_bookings_period CHECK (start_date < end_date)
+);
+
+-- Соседи интервала по началу: проверка пересечения читает не больше двух строк индекса
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date);
+-- Выборки автора и владельца от новых к старым: CURRENT/PAST/FUTURE — диапазоны по start_date
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date, id);
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_start ON bookings (owner_id, start_date, id);
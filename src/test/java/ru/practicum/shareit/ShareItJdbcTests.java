@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"shareit.storage.type=jdbc",
+		"shareit.storage.cache.enabled=true",
+		"spring.autoconfigure.exclude=",
+		"spring.datasource.url=jdbc:h2:mem:shareit;DB_CLOSE_DELAY=-1"
+})
+class ShareItJdbcTests {
+
+	@Autowired
+	private ItemStorage itemStorage;
+
+	@Autowired
+	private UserStorage userStorage;
+
+	@Test
+	void contextLoadsWithJdbcStorage() {
+		assertThat(itemStorage.getItems(1L, Pagination.ALL)).isEmpty();
+		assertThat(userStorage.getUsers(Pagination.ALL)).isEmpty();
+	}
+
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Детерминированные тестовые данные для бенчмарков: одинаковый каталог от запуска к запуску.
+ */
+final class BenchmarkData {
+	static final int ITEMS_PER_OWNER = 100;
+	static final int BATCH = 10_000;
+
+	private static final String[] NAMES = {"Дрель", "Пила", "Молоток", "Отвертка", "Лестница", "Палатка",
+			"Велосипед", "Шуруповерт", "Перфоратор", "Удочка"};
+	private static final String[] ADJECTIVES = {"аккумуляторная", "ручная", "складная", "туристическая",
+			"профессиональная", "детская", "легкая", "надежная"};
+
+	private BenchmarkData() {
+	}
+
+	static Item item(long index) {
+		return Item.builder()
+				.ownerId(ownerOf(index))
+				.name(NAMES[(int) (index % NAMES.length)] + " " + index)
+				.description(ADJECTIVES[(int) (index % ADJECTIVES.length)] + " вещь для дома и дачи")
+				.available(index % 5 != 0)
+				.build();
+	}
+
+	static User user(long index) {
+		return User.builder()
+				.name("Пользователь " + index)
+				.email("user" + index + "@yandex.ru")
+				.build();
+	}
+
+	static long ownerOf(long index) {
+		return index / ITEMS_PER_OWNER + 1;
+	}
+
+	static void fillItems(ItemStorage storage, int count) {
+		List<Item> batch = new ArrayList<>(BATCH);
+		for (long i = 0; i < count; i++) {
+			batch.add(item(i));
+			if (batch.size() == BATCH) {
+				storage.createAll(batch);
+				batch.clear();
+			}
+		}
+		storage.createAll(batch);
+	}
+
+	static void fillUsers(UserStorage storage, int count) {
+		List<User> batch = new ArrayList<>(BATCH);
+		for (long i = 0; i < count; i++) {
+			batch.add(user(i));
+			if (batch.size() == BATCH) {
+				storage.createAll(batch);
+				batch.clear();
+			}
+		}
+		storage.createAll(batch);
+	}
+}
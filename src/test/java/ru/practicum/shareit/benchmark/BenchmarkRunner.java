@@ -0,0 +1,35 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа профиля {@code benchmark}. Принимает обычные аргументы JMH и дополнительно
+ * прогоняет выбранные бенчмарки для каждого количества потоков из {@code -Djmh.threads=1,4,8}.
+ * Результаты каждого прогона сохраняются в {@code target/jmh-result-t<потоки>.json}.
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		for (String threads : System.getProperty("jmh.threads", "1").split(",")) {
+			int threadCount = Integer.parseInt(threads.trim());
+			ChainedOptionsBuilder options = new OptionsBuilder()
+					.parent(commandLine)
+					.threads(threadCount);
+			if (commandLine.getResult().hasValue()) {
+				options.result(commandLine.getResult().get());
+			} else {
+				options.result("target/jmh-result-t" + threadCount + ".json")
+						.resultFormat(ResultFormatType.JSON);
+			}
+			new Runner(options.build()).run();
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.InMemoryBookingStorage;
+import ru.practicum.shareit.common.Pagination;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка занятости вещи в {@link InMemoryBookingStorage} в зависимости от истории ее бронирований
+ * в сравнении с перебором всех бронирований вещи, а также выборки автора по состоянию.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BookingStorageBenchmark {
+	private static final long ITEM_ID = 1L;
+	private static final LocalDateTime EPOCH = LocalDateTime.of(2030, 1, 1, 0, 0);
+	private static final Long BOOKER_ID = 2L;
+	private static final Pagination FIRST_PAGE = Pagination.of(0, 10, null);
+
+	@Param({"1000", "100000"})
+	private int historySize;
+
+	private InMemoryBookingStorage storage;
+	private List<Booking> history;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		storage = new InMemoryBookingStorage();
+		history = new ArrayList<>(historySize);
+		// Бронирования по часу через час: нечетные часы свободны
+		for (int i = 0; i < historySize; i++) {
+			history.add(storage.create(booking(2 * i, 2 * i + 1)));
+		}
+	}
+
+	@Benchmark
+	public boolean isAvailableFree() {
+		int slot = 2 * ThreadLocalRandom.current().nextInt(historySize) + 1;
+		return storage.isAvailable(ITEM_ID, EPOCH.plusHours(slot), EPOCH.plusHours(slot + 1));
+	}
+
+	@Benchmark
+	public boolean isAvailableBusy() {
+		int slot = 2 * ThreadLocalRandom.current().nextInt(historySize);
+		return storage.isAvailable(ITEM_ID, EPOCH.plusHours(slot), EPOCH.plusHours(slot + 1));
+	}
+
+	@Benchmark
+	public boolean linearScanFree() {
+		int slot = 2 * ThreadLocalRandom.current().nextInt(historySize) + 1;
+		LocalDateTime start = EPOCH.plusHours(slot);
+		LocalDateTime end = EPOCH.plusHours(slot + 1);
+		for (Booking booking : history) {
+			if (booking.isActive() && overlaps(booking, start, end)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean overlaps(Booking booking, LocalDateTime start, LocalDateTime end) {
+		return booking.getStart().isBefore(end) && start.isBefore(booking.getEnd());
+	}
+
+	@Benchmark
+	public List<Booking> bookerCurrent() {
+		LocalDateTime now = EPOCH.plusHours(2L * ThreadLocalRandom.current().nextInt(historySize)).plusMinutes(30);
+		return storage.getBookerBookings(BOOKER_ID, BookingState.CURRENT, now, Pagination.ALL);
+	}
+
+	@Benchmark
+	public List<Booking> bookerPastPage() {
+		LocalDateTime now = EPOCH.plusHours(2L * ThreadLocalRandom.current().nextInt(historySize));
+		return storage.getBookerBookings(BOOKER_ID, BookingState.PAST, now, FIRST_PAGE);
+	}
+
+	@Benchmark
+	public List<Booking> bookerCurrentByFilter() {
+		LocalDateTime now = EPOCH.plusHours(2L * ThreadLocalRandom.current().nextInt(historySize)).plusMinutes(30);
+		List<Booking> result = new ArrayList<>();
+		for (Booking booking : history) {
+			if (!booking.getStart().isAfter(now) && booking.getEnd().isAfter(now)) {
+				result.add(booking);
+			}
+		}
+		return result;
+	}
+
+	@Benchmark
+	public Booking createAndReject() {
+		int slot = 2 * ThreadLocalRandom.current().nextInt(historySize) + 1;
+		Booking booking = storage.create(booking(slot, slot + 1));
+		return storage.update(booking.getId(), current -> current.toBuilder().status(BookingStatus.REJECTED).build());
+	}
+
+	private static Booking booking(int startHour, int endHour) {
+		return Booking.builder()
+				.itemId(ITEM_ID)
+				.bookerId(BOOKER_ID)
+				.ownerId(3L)
+				.start(EPOCH.plusHours(startHour))
+				.end(EPOCH.plusHours(endHour))
+				.status(BookingStatus.APPROVED)
+				.build();
+	}
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import ru.practicum.shareit.common.EntityCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.CachingItemStorage;
+import ru.practicum.shareit.item.storage.JdbcItemStorage;
+import ru.practicum.shareit.user.storage.JdbcUserStorage;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение горячих вещей по ID из {@link JdbcItemStorage} напрямую и через {@link CachingItemStorage}.
+ * База — H2 в памяти, поэтому выигрыш занижен: у PostgreSQL к запросу добавляется сетевой round-trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCacheBenchmark {
+	private static final int ITEMS = 10_000;
+	// Горячий набор помещается в кэш целиком
+	private static final int HOT_ITEMS = 1_000;
+
+	private EmbeddedDatabase database;
+	private JdbcItemStorage jdbcStorage;
+	private CachingItemStorage cachingStorage;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2)
+				.addScript("classpath:schema.sql")
+				.build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		BenchmarkData.fillUsers(new JdbcUserStorage(jdbcTemplate, BenchmarkData.BATCH),
+				ITEMS / BenchmarkData.ITEMS_PER_OWNER);
+		jdbcStorage = new JdbcItemStorage(jdbcTemplate, BenchmarkData.BATCH);
+		BenchmarkData.fillItems(jdbcStorage, ITEMS);
+		cachingStorage = new CachingItemStorage(jdbcStorage,
+				new EntityCache<>("items", HOT_ITEMS, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		database.shutdown();
+	}
+
+	@Benchmark
+	public Item findHotItemJdbc() {
+		return jdbcStorage.findItem(hotId());
+	}
+
+	@Benchmark
+	public Item findHotItemCached() {
+		return cachingStorage.findItem(hotId());
+	}
+
+	private static long hotId() {
+		return ThreadLocalRandom.current().nextInt(HOT_ITEMS) + 1L;
+	}
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Занятая куча на одну запись хранилищ в памяти со всеми индексами. Не JMH: измеряется
+ * разность занятой кучи после полной сборки мусора до и после заполнения.
+ * Запуск: {@code java -Xmx4g -cp <test classpath> ru.practicum.shareit.benchmark.HeapFootprint 1000000}.
+ */
+public final class HeapFootprint {
+
+	private HeapFootprint() {
+	}
+
+	public static void main(String[] args) {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+		long before = usedHeap();
+		InMemoryItemStorage items = new InMemoryItemStorage();
+		BenchmarkData.fillItems(items, count);
+		long afterItems = usedHeap();
+		InMemoryUserStorage users = new InMemoryUserStorage();
+		BenchmarkData.fillUsers(users, count);
+		long afterUsers = usedHeap();
+
+		System.out.printf("Вещей: %d, байт на вещь: %d%n", items.count(), (afterItems - before) / count);
+		System.out.printf("Пользователей: %d, байт на пользователя: %d%n", users.count(),
+				(afterUsers - afterItems) / count);
+	}
+
+	private static long usedHeap() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+}
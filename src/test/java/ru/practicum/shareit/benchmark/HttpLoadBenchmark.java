@@ -0,0 +1,151 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Нагрузочный тест веб-слоя: {@link #CONCURRENCY} одновременных запросов к {@code /items/{id}}
+ * и {@code /items/search} на платформенных и виртуальных потоках Tomcat. Параметр
+ * {@code storageLatencyMillis} добавляет задержку к каждому обращению к хранилищу вещей —
+ * так ведет себя блокирующий ввод-вывод (JDBC, сеть): на платформенных потоках одновременно
+ * обслуживается не больше {@code server.tomcat.threads.max} запросов, на виртуальных — все.
+ * Результат — запросов в секунду.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class HttpLoadBenchmark {
+	static final int CONCURRENCY = 400;
+	private static final int ITEMS = 10_000;
+	private static final String[] QUERIES = {"дрель", "пила", "молоток", "палатка", "удочка"};
+
+	@Param({"false", "true"})
+	private boolean virtualThreads;
+
+	@Param({"0", "20"})
+	private int storageLatencyMillis;
+
+	private ConfigurableApplicationContext context;
+	private ExecutorService clientExecutor;
+	private HttpClient client;
+	private String baseUrl;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// Аргументы командной строки, а не properties(): те лишь умолчания и проигрывают application.properties
+		context = new SpringApplicationBuilder(ShareItApp.class)
+				.initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(latencyInjector()))
+				.run("--server.port=0",
+						"--spring.threads.virtual.enabled=" + virtualThreads,
+						"--shareit.logging.request-log-enabled=false",
+						"--logging.level.root=WARN");
+		BenchmarkData.fillUsers(context.getBean(UserStorage.class), ITEMS / BenchmarkData.ITEMS_PER_OWNER);
+		BenchmarkData.fillItems(context.getBean(ItemStorage.class), ITEMS);
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		baseUrl = "http://localhost:" + port;
+		clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(clientExecutor)
+				.build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+		clientExecutor.shutdownNow();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CONCURRENCY)
+	public int findItem() {
+		return sendAll(random -> "/items/" + (random.nextInt(ITEMS) + 1));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CONCURRENCY)
+	public int searchItems() {
+		return sendAll(random -> "/items/search?size=20&text="
+				+ URLEncoder.encode(QUERIES[random.nextInt(QUERIES.length)], StandardCharsets.UTF_8));
+	}
+
+	private int sendAll(Function<ThreadLocalRandom, String> path) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENCY];
+		for (int i = 0; i < CONCURRENCY; i++) {
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path.apply(random)))
+					.header("X-Sharer-User-Id", "1")
+					.header("Accept", "application/json")
+					.build();
+			responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.thenAccept(response -> {
+						if (response.statusCode() != 200) {
+							throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.uri());
+						}
+					});
+		}
+		CompletableFuture.allOf(responses).join();
+		return responses.length;
+	}
+
+	/**
+	 * Оборачивает исходное хранилище вещей (под метриками) так, что каждый вызов сначала ждет
+	 * {@code storageLatencyMillis}.
+	 */
+	private BeanPostProcessor latencyInjector() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (storageLatencyMillis == 0 || !"itemStorageTarget".equals(beanName)) {
+					return bean;
+				}
+				return Proxy.newProxyInstance(ItemStorage.class.getClassLoader(), new Class<?>[]{ItemStorage.class},
+						(proxy, method, args) -> {
+							Thread.sleep(storageLatencyMillis);
+							try {
+								return method.invoke(bean, args);
+							} catch (InvocationTargetException e) {
+								throw e.getCause();
+							}
+						});
+			}
+		};
+	}
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение из {@link InMemoryItemStorage} на каталогах разного размера.
+ * Количество потоков задается при запуске (см. {@link BenchmarkRunner}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ItemStorageBenchmark {
+	private static final Pagination FIRST_PAGE = Pagination.of(0, 20, null);
+
+	@Param({"1000", "100000", "1000000"})
+	private int catalogSize;
+
+	private InMemoryItemStorage storage;
+	private long owners;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		storage = new InMemoryItemStorage();
+		BenchmarkData.fillItems(storage, catalogSize);
+		owners = BenchmarkData.ownerOf(catalogSize - 1);
+	}
+
+	@Benchmark
+	public Item findItem() {
+		return storage.findItem(ThreadLocalRandom.current().nextLong(1, catalogSize + 1));
+	}
+
+	@Benchmark
+	public List<Item> getItems() {
+		return storage.getItems(ThreadLocalRandom.current().nextLong(1, owners + 1), Pagination.ALL);
+	}
+
+	/**
+	 * Частый запрос: совпадает с десятой частью каталога, отдается первая страница.
+	 */
+	@Benchmark
+	public List<Item> searchFrequentFirstPage() {
+		return storage.searchItemsByText("дрель", FIRST_PAGE);
+	}
+
+	/**
+	 * Редкий запрос: совпадает с одной вещью.
+	 */
+	@Benchmark
+	public List<Item> searchRare() {
+		return storage.searchItemsByText("пила " + (ThreadLocalRandom.current().nextInt(catalogSize / 10) * 10L + 1),
+				Pagination.ALL);
+	}
+
+	/**
+	 * Короткий запрос, для которого индекс не применим.
+	 */
+	@Benchmark
+	public List<Item> searchShortFirstPage() {
+		return storage.searchItemsByText("ль", FIRST_PAGE);
+	}
+
+	/**
+	 * Короткий запрос без совпадений: проверяется каждая вещь каталога.
+	 */
+	@Benchmark
+	public List<Item> searchShortMiss() {
+		return storage.searchItemsByText("qz", FIRST_PAGE);
+	}
+}
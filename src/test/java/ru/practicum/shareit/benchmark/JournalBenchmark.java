@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.persistence.ItemCodec;
+import ru.practicum.shareit.persistence.PersistentStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы журнала на запись: создание и обновление вещи без журнала и с журналом.
+ * Фоновые снимки выключены, сброс на диск — раз в секунду, как в конфигурации по умолчанию.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JournalBenchmark {
+	private static final int CATALOG_SIZE = 10_000;
+
+	@Param({"false", "true"})
+	private boolean journal;
+
+	private Path directory;
+	private PersistentStore<Item> store;
+	private InMemoryItemStorage storage;
+
+	@Setup(Level.Iteration)
+	public void setUp() throws IOException {
+		if (journal) {
+			directory = Files.createTempDirectory("journal-benchmark");
+			store = new PersistentStore<>(directory, new ItemCodec(), 64 * 1024 * 1024, Duration.ZERO,
+					Duration.ofSeconds(1));
+			storage = new InMemoryItemStorage(store);
+			store.attach(storage);
+		} else {
+			storage = new InMemoryItemStorage();
+		}
+		BenchmarkData.fillItems(storage, CATALOG_SIZE);
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() throws IOException {
+		if (store != null) {
+			store.close();
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Benchmark
+	public Item create() {
+		return storage.create(BenchmarkData.item(ThreadLocalRandom.current().nextInt(CATALOG_SIZE)));
+	}
+
+	@Benchmark
+	public Item update() {
+		return storage.update(ThreadLocalRandom.current().nextLong(1, CATALOG_SIZE + 1),
+				current -> current.toBuilder().available(!current.getAvailable()).build());
+	}
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.MessageFormatter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.logging.LogSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость форматирования логов одного поиска вещей: прежний режим (полная коллекция
+ * в контроллере, сервисе и хранилище) против сводки и одной строки на запрос.
+ * Форматирование выполняется без вывода, чтобы мерить именно работу, которую делает логгер.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+	@Param({"10", "1000"})
+	private int size;
+
+	private List<Item> items;
+
+	@Setup
+	public void setUp() {
+		items = new ArrayList<>(size);
+		for (long i = 1; i <= size; i++) {
+			items.add(Item.builder()
+					.id(i)
+					.ownerId(1L)
+					.name("Дрель " + i)
+					.description("Аккумуляторная дрель с набором бит")
+					.available(true)
+					.version(1)
+					.build());
+		}
+	}
+
+	@Benchmark
+	public int fullPayloads() {
+		int length = 0;
+		length += format("Найдены вещи по тексту '{}': {}", "дрель", items);
+		length += format("Найдены вещи: {}", items);
+		length += format("Отправлен ответ /items/search с телом: {}", items);
+		return length;
+	}
+
+	@Benchmark
+	public int summaries() {
+		int length = 0;
+		length += format("Найдены вещи по тексту '{}': {}", "дрель", LogSummary.of(items, Item::getId));
+		length += format("Найдены вещи: {}", LogSummary.of(items, Item::getId));
+		length += requestLine();
+		return length;
+	}
+
+	@Benchmark
+	public int requestLineOnly() {
+		return requestLine();
+	}
+
+	private static int requestLine() {
+		return format("method={} uri={} query={} userId={} status={} durationMs={}",
+				"GET", "/items/search", "text=дрель", "1", 200, 3L);
+	}
+
+	private static int format(String pattern, Object... args) {
+		return MessageFormatter.arrayFormat(pattern, args).getMessage().length();
+	}
+}
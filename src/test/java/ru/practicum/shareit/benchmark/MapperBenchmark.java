@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.NewUserRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразования между моделью и DTO. {@code catalogSize} — размер отображаемой выборки,
+ * как при выдаче полного списка вещей или пользователей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+	@Param({"1000", "100000"})
+	private int catalogSize;
+
+	private List<Item> items;
+	private List<User> users;
+	private NewItemRequest newItemRequest;
+	private UpdateItemRequest updateItemRequest;
+	private NewUserRequest newUserRequest;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		items = new ArrayList<>(catalogSize);
+		users = new ArrayList<>(catalogSize);
+		for (long i = 0; i < catalogSize; i++) {
+			items.add(BenchmarkData.item(i).toBuilder().id(i + 1).version(1).build());
+			users.add(BenchmarkData.user(i).toBuilder().id(i + 1).version(1).build());
+		}
+		newItemRequest = new NewItemRequest();
+		newItemRequest.setName("Дрель");
+		newItemRequest.setDescription("Аккумуляторная дрель");
+		newItemRequest.setAvailable(true);
+		updateItemRequest = new UpdateItemRequest();
+		updateItemRequest.setDescription("Дрель с набором бит");
+		newUserRequest = new NewUserRequest();
+		newUserRequest.setName("Иван");
+		newUserRequest.setEmail("ivan@yandex.ru");
+	}
+
+	@Benchmark
+	public List<ItemDto> mapToItemDto() {
+		List<ItemDto> result = new ArrayList<>(items.size());
+		for (Item item : items) {
+			result.add(ItemMapper.mapToItemDto(item));
+		}
+		return result;
+	}
+
+	@Benchmark
+	public List<UserDto> mapToUserDto() {
+		List<UserDto> result = new ArrayList<>(users.size());
+		for (User user : users) {
+			result.add(UserMapper.mapToUserDto(user));
+		}
+		return result;
+	}
+
+	@Benchmark
+	public Item mapToItem() {
+		return ItemMapper.mapToItem(1L, newItemRequest);
+	}
+
+	@Benchmark
+	public Item updateItemFields() {
+		return ItemMapper.updateItemFields(items.get(0), updateItemRequest);
+	}
+
+	@Benchmark
+	public User mapToUser() {
+		return UserMapper.mapToUser(newUserRequest);
+	}
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость промаха при поиске вещи по сравнению с успешным поиском: Optional,
+ * исключение без стека и прежнее исключение со стеком и {@code String.format}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MissPathBenchmark {
+
+	private InMemoryItemStorage storage;
+	private Long existingId;
+	private Long deletedId;
+
+	@Setup
+	public void setUp() {
+		storage = new InMemoryItemStorage();
+		for (int i = 0; i < 1_000; i++) {
+			storage.create(Item.builder()
+					.ownerId(1L)
+					.name("Дрель " + i)
+					.description("Аккумуляторная дрель")
+					.available(true)
+					.build());
+		}
+		existingId = 500L;
+		deletedId = 501L;
+		storage.delete(deletedId);
+	}
+
+	@Benchmark
+	public Object hit() {
+		return storage.findItem(existingId);
+	}
+
+	@Benchmark
+	public Object missOptional() {
+		return storage.findItemById(deletedId).orElse(null);
+	}
+
+	@Benchmark
+	public Object missStacklessException() {
+		try {
+			return storage.findItem(deletedId);
+		} catch (NotFoundException e) {
+			return e.getMessage();
+		}
+	}
+
+	@Benchmark
+	public Object missLegacyException() {
+		try {
+			Item item = storage.findItemById(deletedId).orElse(null);
+			if (item == null) {
+				throw new LegacyNotFoundException(String.format("Вещь с ID %d не найдена", deletedId));
+			}
+			return item;
+		} catch (LegacyNotFoundException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * Исключение в прежнем виде: со стеком вызовов.
+	 */
+	private static class LegacyNotFoundException extends RuntimeException {
+		LegacyNotFoundException(String message) {
+			super(message);
+		}
+	}
+}
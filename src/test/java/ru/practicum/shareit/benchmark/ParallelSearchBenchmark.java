@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.item.storage.ParallelSearch;
+import ru.practicum.shareit.persistence.ChangeJournal;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Последовательный и параллельный поиск по тексту в {@link InMemoryItemStorage} на каталогах разного размера.
+ * {@code parallelism = 0} — последовательный поиск; иначе параллельный с порогом 0, чтобы найти
+ * размер каталога, с которого он выигрывает, и подобрать {@code shareit.storage.search.parallel-threshold}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ParallelSearchBenchmark {
+	private static final Pagination FIRST_PAGE = Pagination.of(0, 20, null);
+
+	@Param({"10000", "100000", "1000000"})
+	private int catalogSize;
+
+	@Param({"0", "2", "4"})
+	private int parallelism;
+
+	@Param({"16384"})
+	private int segmentSize;
+
+	private ParallelSearch parallelSearch;
+	private InMemoryItemStorage storage;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		parallelSearch = parallelism == 0
+				? ParallelSearch.sequential()
+				: new ParallelSearch(parallelism, 0, segmentSize);
+		storage = new InMemoryItemStorage(ChangeJournal.none(), parallelSearch);
+		BenchmarkData.fillItems(storage, catalogSize);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		parallelSearch.close();
+	}
+
+	/**
+	 * Короткий запрос без совпадений: проверяется весь каталог.
+	 */
+	@Benchmark
+	public List<Item> shortQueryMiss() {
+		return storage.searchItemsByText("qz", FIRST_PAGE);
+	}
+
+	/**
+	 * Короткий запрос, первая страница набирается в начале каталога.
+	 */
+	@Benchmark
+	public List<Item> shortQueryFirstPage() {
+		return storage.searchItemsByText("ль", FIRST_PAGE);
+	}
+
+	/**
+	 * Частый запрос по индексу, все совпадения (десятая часть каталога).
+	 */
+	@Benchmark
+	public List<Item> frequentQueryAll() {
+		return storage.searchItemsByText("дрель", Pagination.ALL);
+	}
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.persistence.ItemCodec;
+import ru.practicum.shareit.persistence.PersistentStore;
+import ru.practicum.shareit.persistence.RecoverableStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Время восстановления каталога при старте: из одного журнала и из снимка с коротким хвостом журнала.
+ * {@code replay} только читает файлы, {@code recover} дополнительно строит хранилище с индексами.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RecoveryBenchmark {
+	private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	@Param({"100000", "1000000"})
+	private int catalogSize;
+
+	@Param({"false", "true"})
+	private boolean snapshot;
+
+	private Path directory;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("recovery-benchmark");
+		PersistentStore<Item> store = newStore();
+		InMemoryItemStorage storage = new InMemoryItemStorage(store);
+		store.attach(storage);
+		BenchmarkData.fillItems(storage, catalogSize);
+		if (snapshot) {
+			store.snapshot();
+		}
+		for (long id = 1; id <= catalogSize; id += 100) {
+			storage.update(id, current -> current.toBuilder().available(!current.getAvailable()).build());
+		}
+		store.close();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	@Benchmark
+	public long recover() {
+		PersistentStore<Item> store = newStore();
+		InMemoryItemStorage storage = new InMemoryItemStorage(store);
+		store.attach(storage);
+		store.close();
+		return storage.count();
+	}
+
+	@Benchmark
+	public long replay() {
+		long[] count = {0};
+		PersistentStore<Item> store = newStore();
+		store.attach(new RecoverableStorage<>() {
+			@Override
+			public void restore(Item value) {
+				count[0]++;
+			}
+
+			@Override
+			public void restoreNextId(long nextId) {
+			}
+
+			@Override
+			public long nextId() {
+				return count[0] + 1;
+			}
+
+			@Override
+			public void forEachStored(Consumer<Item> action) {
+			}
+		});
+		store.close();
+		return count[0];
+	}
+
+	private PersistentStore<Item> newStore() {
+		return new PersistentStore<>(directory, new ItemCodec(), SEGMENT_SIZE, Duration.ZERO, Duration.ZERO);
+	}
+}
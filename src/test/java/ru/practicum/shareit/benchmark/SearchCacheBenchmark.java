@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.item.storage.ParallelSearch;
+import ru.practicum.shareit.item.storage.SearchResultCache;
+import ru.practicum.shareit.persistence.ChangeJournal;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Повторяющиеся запросы поиска с кэшем результатов и без него. Набор из {@value #QUERIES} запросов
+ * вида «дрель 12»: каждый пересекает большие списки триграмм, но отдает одну страницу.
+ * {@code writeEvery} — одна запись описания случайной вещи на столько поисков (0 — без записей).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SearchCacheBenchmark {
+	private static final int QUERIES = 300;
+	private static final Pagination FIRST_PAGE = Pagination.of(0, 20, null);
+	private static final String[] NAMES = {"дрель", "пила", "молоток"};
+
+	@Param({"100000"})
+	private int catalogSize;
+
+	@Param({"false", "true"})
+	private boolean cached;
+
+	@Param({"0", "100"})
+	private int writeEvery;
+
+	private InMemoryItemStorage storage;
+	private String[] queries;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SearchResultCache cache = cached
+				? new SearchResultCache(100_000, new SimpleMeterRegistry())
+				: SearchResultCache.none();
+		storage = new InMemoryItemStorage(ChangeJournal.none(), ParallelSearch.sequential(), cache);
+		BenchmarkData.fillItems(storage, catalogSize);
+		queries = new String[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = NAMES[i % NAMES.length] + " " + (i / NAMES.length + 1);
+		}
+	}
+
+	@Benchmark
+	public List<Item> hotQueries() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		if (writeEvery > 0 && random.nextInt(writeEvery) == 0) {
+			String description = "обновлено " + random.nextInt();
+			storage.update(random.nextLong(1, catalogSize + 1),
+					current -> current.toBuilder().description(description).build());
+		}
+		return storage.searchItemsByText(queries[random.nextInt(QUERIES)], FIRST_PAGE);
+	}
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.item.storage.ShardedItemStorage;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Записи и выборки по владельцу в одном хранилище вещей и в разделенном по владельцам на сегменты.
+ * {@code shards = 0} — {@link InMemoryItemStorage} без сегментов. Масштабирование по потокам
+ * проверяется запуском с {@code -t} или через {@link BenchmarkRunner} с {@code -Djmh.threads=1,4,8}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ShardedWriteBenchmark {
+	private static final int CATALOG_SIZE = 100_000;
+	private static final int OWNERS = (int) BenchmarkData.ownerOf(CATALOG_SIZE - 1);
+
+	@Param({"0", "16"})
+	private int shards;
+
+	private ItemStorage storage;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		storage = shards == 0 ? new InMemoryItemStorage() : new ShardedItemStorage(shards);
+		BenchmarkData.fillItems(storage, CATALOG_SIZE);
+	}
+
+	/**
+	 * Новая вещь случайного владельца: счетчик ID, таблица и индексы поиска и владельца.
+	 */
+	@Benchmark
+	public Item create() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return storage.create(BenchmarkData.item(random.nextLong(CATALOG_SIZE)));
+	}
+
+	/**
+	 * Изменение описания случайной вещи; ID берутся из выборки владельца, как в сервисе.
+	 */
+	@Benchmark
+	public Item updateOwnerItem() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long ownerId = random.nextLong(1, OWNERS + 1);
+		List<Item> items = storage.getItems(ownerId, Pagination.of(0, 1, null));
+		String description = "обновлено " + random.nextInt(1_000);
+		return storage.update(items.get(0).getId(), current -> current.toBuilder().description(description).build());
+	}
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка занятости email в {@link InMemoryUserStorage} на разном количестве пользователей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class UserStorageBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	private int catalogSize;
+
+	private InMemoryUserStorage storage;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		storage = new InMemoryUserStorage();
+		BenchmarkData.fillUsers(storage, catalogSize);
+	}
+
+	@Benchmark
+	public boolean isUserWithEmailExistHit() {
+		return storage.isUserWithEmailExist("User" + ThreadLocalRandom.current().nextInt(catalogSize) + "@Yandex.ru");
+	}
+
+	@Benchmark
+	public boolean isUserWithEmailExistMiss() {
+		return storage.isUserWithEmailExist("guest" + ThreadLocalRandom.current().nextInt(catalogSize) + "@yandex.ru");
+	}
+}
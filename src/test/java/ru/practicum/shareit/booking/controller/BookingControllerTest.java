@@ -0,0 +1,211 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.storage.InMemoryBookingStorage;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.exception.ErrorMetrics;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.logging.LoggingProperties;
+import ru.practicum.shareit.logging.PayloadLogger;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookingControllerTest {
+	private static final LocalDateTime DAY = LocalDateTime.now().plusDays(1).withNano(0);
+
+	private InMemoryBookingStorage bookingStorage;
+	private MockMvc mvc;
+	private long ownerId;
+	private long bookerId;
+	private long strangerId;
+	private Item drill;
+
+	@BeforeEach
+	void setUp() {
+		bookingStorage = new InMemoryBookingStorage();
+		InMemoryItemStorage itemStorage = new InMemoryItemStorage();
+		InMemoryUserStorage userStorage = new InMemoryUserStorage();
+		ownerId = userStorage.create(user("Иван", "ivan@yandex.ru")).getId();
+		bookerId = userStorage.create(user("Петр", "petr@yandex.ru")).getId();
+		strangerId = userStorage.create(user("Анна", "anna@yandex.ru")).getId();
+		drill = itemStorage.create(Item.builder()
+				.ownerId(ownerId)
+				.name("Дрель")
+				.description("Ударная")
+				.available(true)
+				.build());
+		ErrorMetrics errorMetrics = new ErrorMetrics(new SimpleMeterRegistry());
+		BookingController controller = new BookingController(
+				new BookingServiceImpl(bookingStorage, itemStorage, userStorage),
+				new PayloadLogger(new LoggingProperties()));
+		mvc = MockMvcBuilders.standaloneSetup(controller)
+				.setControllerAdvice(new ErrorHandler(errorMetrics))
+				.build();
+	}
+
+	@Test
+	void createReturnsCreatedBookingAndRejectsInvalidBody() throws Exception {
+		mvc.perform(post("/bookings")
+						.header(ItemController.USER_ID_HEADER, bookerId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body(drill.getId(), 0, 2)))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.id").isNumber())
+				.andExpect(jsonPath("$.status").value("WAITING"))
+				.andExpect(jsonPath("$.item.id").value(drill.getId()))
+				.andExpect(jsonPath("$.booker.id").value(bookerId));
+
+		for (String body : new String[]{body(drill.getId(), 5, 4), body(drill.getId(), -2, -1),
+				"{\"start\": \"" + DAY + "\", \"end\": \"" + DAY.plusDays(1) + "\"}"}) {
+			mvc.perform(post("/bookings")
+							.header(ItemController.USER_ID_HEADER, bookerId)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(body))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.error").isNotEmpty());
+		}
+		assertThat(bookingStorage.count()).isEqualTo(1);
+	}
+
+	@Test
+	void bookingOwnOrMissingItemIsNotFound() throws Exception {
+		for (long[] request : new long[][]{{ownerId, drill.getId()}, {bookerId, 999L}, {999L, drill.getId()}}) {
+			mvc.perform(post("/bookings")
+							.header(ItemController.USER_ID_HEADER, request[0])
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(body(request[1], 0, 2)))
+					.andExpect(status().isNotFound())
+					.andExpect(jsonPath("$.error").isNotEmpty());
+		}
+		assertThat(bookingStorage.count()).isZero();
+	}
+
+	@Test
+	void onlyOwnerCanApproveAndOnlyParticipantsCanRead() throws Exception {
+		long bookingId = create(bookerId, 0, 2);
+
+		mvc.perform(patch("/bookings/{id}", bookingId)
+						.header(ItemController.USER_ID_HEADER, bookerId)
+						.param("approved", "true"))
+				.andExpect(status().isForbidden());
+		mvc.perform(patch("/bookings/{id}", bookingId)
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.param("approved", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("APPROVED"));
+		mvc.perform(patch("/bookings/{id}", bookingId)
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.param("approved", "false"))
+				.andExpect(status().isBadRequest());
+
+		for (long userId : new long[]{bookerId, ownerId}) {
+			mvc.perform(get("/bookings/{id}", bookingId).header(ItemController.USER_ID_HEADER, userId))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.id").value(bookingId))
+					.andExpect(jsonPath("$.status").value("APPROVED"));
+		}
+		mvc.perform(get("/bookings/{id}", bookingId).header(ItemController.USER_ID_HEADER, strangerId))
+				.andExpect(status().isNotFound());
+		mvc.perform(get("/bookings/{id}", 999L).header(ItemController.USER_ID_HEADER, bookerId))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void overlappingBookingIsConflict() throws Exception {
+		create(bookerId, 0, 2);
+
+		mvc.perform(post("/bookings")
+						.header(ItemController.USER_ID_HEADER, strangerId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body(drill.getId(), 1, 3)))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void unknownStateIsBadRequestAndStateIgnoresCase() throws Exception {
+		long bookingId = create(bookerId, 0, 2);
+
+		for (String path : new String[]{"/bookings", "/bookings/owner"}) {
+			long userId = path.endsWith("owner") ? ownerId : bookerId;
+			mvc.perform(get(path).header(ItemController.USER_ID_HEADER, userId).param("state", "UNKNOWN"))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.error").value("Unknown state: UNKNOWN"));
+			for (String state : new String[]{"waiting", "Future", "aLL"}) {
+				mvc.perform(get(path).header(ItemController.USER_ID_HEADER, userId).param("state", state))
+						.andExpect(status().isOk())
+						.andExpect(jsonPath("$[*].id").value(contains((int) bookingId)));
+			}
+			mvc.perform(get(path).header(ItemController.USER_ID_HEADER, userId).param("state", "past"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$").isEmpty());
+		}
+	}
+
+	@Test
+	void fromAndSizeSelectPageOfNewestFirstBookings() throws Exception {
+		long first = create(bookerId, 0, 1);
+		long second = create(bookerId, 2, 3);
+		long third = create(bookerId, 4, 5);
+
+		for (String path : new String[]{"/bookings", "/bookings/owner"}) {
+			long userId = path.endsWith("owner") ? ownerId : bookerId;
+			mvc.perform(get(path).header(ItemController.USER_ID_HEADER, userId))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$[*].id").value(contains((int) third, (int) second, (int) first)));
+			mvc.perform(get(path).header(ItemController.USER_ID_HEADER, userId)
+							.param("from", "1")
+							.param("size", "1"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$[*].id").value(contains((int) second)));
+			mvc.perform(get(path).header(ItemController.USER_ID_HEADER, userId)
+							.param("state", "FUTURE")
+							.param("from", "2")
+							.param("size", "5"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$[*].id").value(contains((int) first)));
+			mvc.perform(get(path).header(ItemController.USER_ID_HEADER, userId).param("size", "0"))
+					.andExpect(status().isBadRequest());
+		}
+	}
+
+	private long create(long userId, int startDays, int endDays) throws Exception {
+		String response = mvc.perform(post("/bookings")
+						.header(ItemController.USER_ID_HEADER, userId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body(drill.getId(), startDays, endDays)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return JsonPath.parse(response).read("$.id", Long.class);
+	}
+
+	private static String body(long itemId, int startDays, int endDays) {
+		return "{\"itemId\": " + itemId + ", \"start\": \"" + DAY.plusDays(startDays)
+				+ "\", \"end\": \"" + DAY.plusDays(endDays) + "\"}";
+	}
+
+	private static User user(String name, String email) {
+		return User.builder()
+				.name(name)
+				.email(email)
+				.build();
+	}
+}
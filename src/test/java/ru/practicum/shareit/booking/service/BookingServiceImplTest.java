@@ -0,0 +1,143 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.InMemoryBookingStorage;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.exception.ItemOwnershipException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingServiceImplTest {
+	private static final LocalDateTime DAY = LocalDateTime.now().plusDays(1).withNano(0);
+
+	private InMemoryBookingStorage bookingStorage;
+	private InMemoryItemStorage itemStorage;
+	private BookingServiceImpl bookingService;
+	private long ownerId;
+	private long bookerId;
+	private long strangerId;
+	private Item drill;
+
+	@BeforeEach
+	void setUp() {
+		bookingStorage = new InMemoryBookingStorage();
+		itemStorage = new InMemoryItemStorage();
+		InMemoryUserStorage userStorage = new InMemoryUserStorage();
+		ownerId = userStorage.create(user("Иван", "ivan@yandex.ru")).getId();
+		bookerId = userStorage.create(user("Петр", "petr@yandex.ru")).getId();
+		strangerId = userStorage.create(user("Анна", "anna@yandex.ru")).getId();
+		drill = itemStorage.create(item("Дрель", true));
+		bookingService = new BookingServiceImpl(bookingStorage, itemStorage, userStorage);
+	}
+
+	@Test
+	void createStoresWaitingBookingAndRejectsOverlap() {
+		BookingDto booking = bookingService.create(bookerId, request(drill.getId(), 0, 2));
+
+		assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING);
+		assertThat(booking.getItem().getId()).isEqualTo(drill.getId());
+		assertThat(booking.getBooker().getId()).isEqualTo(bookerId);
+		assertThat(bookingStorage.count()).isEqualTo(1);
+
+		assertThatThrownBy(() -> bookingService.create(strangerId, request(drill.getId(), 1, 3)))
+				.isInstanceOf(BookingConflictException.class);
+	}
+
+	@Test
+	void createRejectsOwnItemUnavailableItemAndWrongInterval() {
+		Item broken = itemStorage.create(item("Пила", false));
+
+		assertThatThrownBy(() -> bookingService.create(ownerId, request(drill.getId(), 0, 2)))
+				.isInstanceOf(NotFoundException.class);
+		assertThatThrownBy(() -> bookingService.create(bookerId, request(broken.getId(), 0, 2)))
+				.isInstanceOf(ValidationException.class);
+		assertThatThrownBy(() -> bookingService.create(bookerId, request(drill.getId(), 2, 2)))
+				.isInstanceOf(ValidationException.class);
+		assertThatThrownBy(() -> bookingService.create(bookerId, request(drill.getId(), 3, 1)))
+				.isInstanceOf(ValidationException.class);
+		assertThatThrownBy(() -> bookingService.create(bookerId, request(999L, 0, 2)))
+				.isInstanceOf(NotFoundException.class);
+		assertThatThrownBy(() -> bookingService.create(999L, request(drill.getId(), 0, 2)))
+				.isInstanceOf(NotFoundException.class);
+		assertThat(bookingStorage.count()).isZero();
+	}
+
+	@Test
+	void onlyOwnerCanApproveAndOnlyOnce() {
+		BookingDto booking = bookingService.create(bookerId, request(drill.getId(), 0, 2));
+
+		assertThatThrownBy(() -> bookingService.approve(bookerId, booking.getId(), true))
+				.isInstanceOf(ItemOwnershipException.class);
+		assertThatThrownBy(() -> bookingService.approve(strangerId, booking.getId(), true))
+				.isInstanceOf(ItemOwnershipException.class);
+		assertThat(bookingStorage.findBooking(booking.getId()).getStatus()).isEqualTo(BookingStatus.WAITING);
+
+		BookingDto approved = bookingService.approve(ownerId, booking.getId(), true);
+		assertThat(approved.getStatus()).isEqualTo(BookingStatus.APPROVED);
+		assertThat(approved.getBooker().getId()).isEqualTo(bookerId);
+
+		assertThatThrownBy(() -> bookingService.approve(ownerId, booking.getId(), false))
+				.isInstanceOf(ValidationException.class);
+		assertThatThrownBy(() -> bookingService.approve(ownerId, 999L, true))
+				.isInstanceOf(NotFoundException.class);
+	}
+
+	@Test
+	void rejectedBookingReleasesInterval() {
+		BookingDto booking = bookingService.create(bookerId, request(drill.getId(), 0, 2));
+
+		assertThat(bookingService.approve(ownerId, booking.getId(), false).getStatus())
+				.isEqualTo(BookingStatus.REJECTED);
+		assertThat(bookingService.create(strangerId, request(drill.getId(), 0, 2)).getStatus())
+				.isEqualTo(BookingStatus.WAITING);
+	}
+
+	@Test
+	void bookingIsVisibleOnlyToBookerAndOwner() {
+		BookingDto booking = bookingService.create(bookerId, request(drill.getId(), 0, 2));
+
+		assertThat(bookingService.findBooking(bookerId, booking.getId())).isEqualTo(booking);
+		assertThat(bookingService.findBooking(ownerId, booking.getId())).isEqualTo(booking);
+		assertThatThrownBy(() -> bookingService.findBooking(strangerId, booking.getId()))
+				.isInstanceOf(NotFoundException.class);
+		assertThatThrownBy(() -> bookingService.findBooking(bookerId, 999L))
+				.isInstanceOf(NotFoundException.class);
+	}
+
+	private static NewBookingRequest request(Long itemId, int startDays, int endDays) {
+		NewBookingRequest request = new NewBookingRequest();
+		request.setItemId(itemId);
+		request.setStart(DAY.plusDays(startDays));
+		request.setEnd(DAY.plusDays(endDays));
+		return request;
+	}
+
+	private Item item(String name, boolean available) {
+		return Item.builder()
+				.ownerId(ownerId)
+				.name(name)
+				.description("Описание")
+				.available(available)
+				.build();
+	}
+
+	private static User user(String name, String email) {
+		return User.builder()
+				.name(name)
+				.email(email)
+				.build();
+	}
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.BookingConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryBookingStorageTest {
+	private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+	private InMemoryBookingStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		storage = new InMemoryBookingStorage();
+	}
+
+	@Test
+	void overlappingIntervalsConflictAndAdjacentDoNot() {
+		storage.create(booking(1L, 10, 20));
+
+		assertThatThrownBy(() -> storage.create(booking(1L, 15, 25))).isInstanceOf(BookingConflictException.class);
+		assertThatThrownBy(() -> storage.create(booking(1L, 5, 11))).isInstanceOf(BookingConflictException.class);
+		assertThatThrownBy(() -> storage.create(booking(1L, 12, 18))).isInstanceOf(BookingConflictException.class);
+		assertThatThrownBy(() -> storage.create(booking(1L, 0, 30))).isInstanceOf(BookingConflictException.class);
+		assertThatThrownBy(() -> storage.create(booking(1L, 10, 20))).isInstanceOf(BookingConflictException.class);
+
+		storage.create(booking(1L, 20, 30));
+		storage.create(booking(1L, 0, 10));
+		storage.create(booking(2L, 10, 20));
+
+		assertThat(storage.isAvailable(1L, hour(30), hour(40))).isTrue();
+		assertThat(storage.isAvailable(1L, hour(29), hour(40))).isFalse();
+		assertThat(storage.count()).isEqualTo(4);
+	}
+
+	@Test
+	void rejectedBookingReleasesInterval() {
+		Booking booking = storage.create(booking(1L, 10, 20));
+
+		Booking rejected = storage.update(booking.getId(),
+				current -> current.toBuilder().status(BookingStatus.REJECTED).build());
+
+		assertThat(rejected.getVersion()).isEqualTo(2);
+		assertThat(storage.isAvailable(1L, hour(10), hour(20))).isTrue();
+		Booking other = storage.create(booking(1L, 15, 25));
+		assertThatThrownBy(() -> storage.update(booking.getId(),
+				current -> current.toBuilder().status(BookingStatus.APPROVED).build()))
+				.isInstanceOf(BookingConflictException.class);
+		assertThat(storage.findBooking(booking.getId())).isEqualTo(rejected);
+		assertThat(storage.isAvailable(1L, hour(15), hour(25))).isFalse();
+		assertThat(storage.findBooking(other.getId()).getStatus()).isEqualTo(BookingStatus.WAITING);
+	}
+
+	@Test
+	void concurrentReservationsOfSameSlotHaveSingleWinner() throws Exception {
+		int threads = 8;
+		int slots = 500;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger created = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int shift = t % 2;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < slots; i++) {
+						try {
+							// Соседние потоки пытаются занять интервалы, сдвинутые на час
+							storage.create(booking(1L, 2 * i + shift, 2 * i + shift + 2));
+							created.incrementAndGet();
+						} catch (BookingConflictException e) {
+							// ожидаемо для проигравших
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(storage.count()).isEqualTo(created.get());
+		List<Booking> all = new ArrayList<>();
+		storage.forEachStored(all::add);
+		all.sort((a, b) -> a.getStart().compareTo(b.getStart()));
+		for (int i = 1; i < all.size(); i++) {
+			assertThat(all.get(i).getStart()).isAfterOrEqualTo(all.get(i - 1).getEnd());
+		}
+	}
+
+	@Test
+	void stateQueriesAreRangesAroundNowNewestFirst() {
+		Booking past = storage.create(booking(1L, 0, 10));
+		Booking current = storage.create(booking(2L, 5, 30));
+		Booking longCurrent = storage.create(booking(3L, 0, 100));
+		Booking future = storage.create(booking(1L, 30, 40));
+		Booking rejected = storage.update(storage.create(booking(1L, 50, 60)).getId(),
+				b -> b.toBuilder().status(BookingStatus.REJECTED).build());
+		Booking foreign = storage.create(booking(4L, 15, 16).toBuilder().bookerId(200L).build());
+		LocalDateTime now = hour(20);
+
+		assertThat(ids(storage.getBookerBookings(100L, BookingState.ALL, now, Pagination.ALL)))
+				.containsExactly(rejected.getId(), future.getId(), current.getId(), longCurrent.getId(), past.getId());
+		assertThat(storage.getBookerBookings(100L, BookingState.PAST, now, Pagination.ALL)).containsExactly(past);
+		assertThat(storage.getBookerBookings(100L, BookingState.CURRENT, now, Pagination.ALL))
+				.containsExactly(current, longCurrent);
+		assertThat(storage.getBookerBookings(100L, BookingState.FUTURE, now, Pagination.ALL))
+				.containsExactly(rejected, future);
+		assertThat(storage.getBookerBookings(100L, BookingState.WAITING, now, Pagination.of(1, 2, null)))
+				.containsExactly(current, longCurrent);
+		assertThat(storage.getBookerBookings(100L, BookingState.REJECTED, now, Pagination.ALL))
+				.containsExactly(rejected);
+		assertThat(storage.getOwnerBookings(300L, BookingState.CURRENT, now, Pagination.ALL))
+				.containsExactly(current, longCurrent);
+		assertThat(storage.getBookerBookings(200L, BookingState.PAST, now, Pagination.ALL)).containsExactly(foreign);
+		assertThat(storage.getBookerBookings(999L, BookingState.ALL, now, Pagination.ALL)).isEmpty();
+	}
+
+	private static List<Long> ids(List<Booking> bookings) {
+		return bookings.stream().map(Booking::getId).toList();
+	}
+
+	private static LocalDateTime hour(int hour) {
+		return DAY.plusHours(hour);
+	}
+
+	private static Booking booking(Long itemId, int startHour, int endHour) {
+		return Booking.builder()
+				.itemId(itemId)
+				.bookerId(100L)
+				.ownerId(300L)
+				.start(hour(startHour))
+				.end(hour(endHour))
+				.status(BookingStatus.WAITING)
+				.build();
+	}
+}
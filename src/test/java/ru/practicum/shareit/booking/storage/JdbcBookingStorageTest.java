@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.JdbcItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.JdbcUserStorage;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcBookingStorageTest {
+	private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+	private EmbeddedDatabase database;
+	private JdbcBookingStorage storage;
+	private Item item;
+	private User booker;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2)
+				.addScript("classpath:schema.sql")
+				.build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		storage = new JdbcBookingStorage(jdbcTemplate);
+		JdbcUserStorage userStorage = new JdbcUserStorage(jdbcTemplate, 2);
+		User owner = userStorage.create(User.builder().name("Иван").email("ivan@yandex.ru").build());
+		booker = userStorage.create(User.builder().name("Петр").email("petr@yandex.ru").build());
+		item = new JdbcItemStorage(jdbcTemplate, 2).create(Item.builder()
+				.ownerId(owner.getId())
+				.name("Дрель")
+				.description("Аккумуляторная дрель")
+				.available(true)
+				.build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void overlapIsCheckedAgainstNeighbours() {
+		Booking first = storage.create(booking(10, 20));
+		storage.create(booking(20, 30));
+
+		assertThatThrownBy(() -> storage.create(booking(15, 25))).isInstanceOf(BookingConflictException.class);
+		assertThatThrownBy(() -> storage.create(booking(5, 11))).isInstanceOf(BookingConflictException.class);
+		assertThat(storage.isAvailable(item.getId(), DAY.plusHours(0), DAY.plusHours(10))).isTrue();
+		assertThat(storage.findBooking(first.getId())).usingRecursiveComparison().isEqualTo(first);
+	}
+
+	@Test
+	void rejectedBookingReleasesInterval() {
+		Booking booking = storage.create(booking(10, 20));
+
+		Booking rejected = storage.update(booking.getId(),
+				current -> current.toBuilder().status(BookingStatus.REJECTED).build());
+
+		assertThat(rejected.getVersion()).isEqualTo(2);
+		assertThat(storage.findBooking(booking.getId()).getStatus()).isEqualTo(BookingStatus.REJECTED);
+		storage.create(booking(12, 18));
+		assertThatThrownBy(() -> storage.update(booking.getId(),
+				current -> current.toBuilder().status(BookingStatus.APPROVED).build()))
+				.isInstanceOf(BookingConflictException.class);
+		assertThat(storage.count()).isEqualTo(2);
+	}
+
+	@Test
+	void stateQueriesAreOrderedNewestFirst() {
+		Booking past = storage.create(booking(0, 10));
+		Booking current = storage.create(booking(15, 25));
+		Booking future = storage.create(booking(30, 40));
+		Booking rejected = storage.update(storage.create(booking(50, 60)).getId(),
+				b -> b.toBuilder().status(BookingStatus.REJECTED).build());
+		LocalDateTime now = DAY.plusHours(20);
+		Long bookerId = booker.getId();
+
+		assertThat(storage.getBookerBookings(bookerId, BookingState.ALL, now, Pagination.of(1, 2, null)))
+				.extracting(Booking::getId).containsExactly(future.getId(), current.getId());
+		assertThat(storage.getBookerBookings(bookerId, BookingState.PAST, now, Pagination.ALL))
+				.extracting(Booking::getId).containsExactly(past.getId());
+		assertThat(storage.getBookerBookings(bookerId, BookingState.CURRENT, now, Pagination.ALL))
+				.extracting(Booking::getId).containsExactly(current.getId());
+		assertThat(storage.getBookerBookings(bookerId, BookingState.FUTURE, now, Pagination.ALL))
+				.extracting(Booking::getId).containsExactly(rejected.getId(), future.getId());
+		assertThat(storage.getOwnerBookings(item.getOwnerId(), BookingState.REJECTED, now, Pagination.ALL))
+				.extracting(Booking::getId).containsExactly(rejected.getId());
+		assertThat(storage.getOwnerBookings(bookerId, BookingState.ALL, now, Pagination.ALL)).isEmpty();
+	}
+
+	private Booking booking(int startHour, int endHour) {
+		return Booking.builder()
+				.itemId(item.getId())
+				.bookerId(booker.getId())
+				.ownerId(item.getOwnerId())
+				.start(DAY.plusHours(startHour))
+				.end(DAY.plusHours(endHour))
+				.status(BookingStatus.WAITING)
+				.build();
+	}
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+	@Test
+	void ifNoneMatchUsesWeakComparisonOverList() {
+		ETags etags = new ETags("e1");
+		String etag = etags.of(7, 3);
+
+		assertThat(etag).isEqualTo("\"e1-7-3\"");
+		assertThat(ETags.matches("\"e1-7-3\"", etag)).isTrue();
+		assertThat(ETags.matches("\"e1-7-1\", W/\"e1-7-3\"", etag)).isTrue();
+		assertThat(ETags.matches("*", etag)).isTrue();
+		assertThat(ETags.matches("\"e1-7-2\"", etag)).isFalse();
+		assertThat(ETags.matches("e1-7-3", etag)).isFalse();
+		assertThat(ETags.matches(null, etag)).isFalse();
+	}
+
+	@Test
+	void tagDependsOnEpochAndId() {
+		ETags etags = new ETags("e1");
+
+		assertThat(etags.of(7, 1)).isNotEqualTo(etags.of(8, 1));
+		assertThat(etags.of(7, 1)).isNotEqualTo(new ETags("e2").of(7, 1));
+		assertThat(new ETags().of(7, 1)).isNotEqualTo(new ETags().of(7, 1));
+	}
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdTableTest {
+
+	@Test
+	void iteratesInIdOrderSkippingEmptyCells() {
+		IdTable<String> table = new IdTable<>();
+		table.put(5_000, "c");
+		table.put(1, "a");
+		table.put(3, "b");
+
+		assertThat(table.replace(3, "x", "y")).isFalse();
+		assertThat(table.replace(3, table.get(3), "B")).isTrue();
+		assertThat(table.remove(1)).isEqualTo("a");
+		assertThat(table.get(-1)).isNull();
+		assertThat(table.get(1_000_000)).isNull();
+
+		Iterator<String> values = table.valuesFrom(2);
+		assertThat(values).toIterable().containsExactly("B", "c");
+		assertThat(table.valuesFrom(4)).toIterable().containsExactly("c");
+	}
+
+	@Test
+	void stridedTableStoresOnlyItsResidue() {
+		IdTable<String> table = new IdTable<>(2, 3);
+		table.put(3, "a");
+		table.put(7, "b");
+		table.put(4_099, "c");
+
+		assertThat(table.get(7)).isEqualTo("b");
+		assertThat(table.get(6)).isNull();
+		assertThat(table.valuesFrom(4)).toIterable().containsExactly("b", "c");
+		assertThat(table.valuesBetween(3, 7)).toIterable().containsExactly("a");
+		assertThat(table.valuesBetween(8, Long.MAX_VALUE)).toIterable().containsExactly("c");
+		assertThat(table.idLimit()).isGreaterThan(4_099);
+		assertThatThrownBy(() -> table.put(5, "x")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void idBeyondDirectoryLimitIsRejectedWithoutGrowingTable() {
+		IdTable<String> table = new IdTable<>();
+		table.put(1, "a");
+		long limit = table.idLimit();
+
+		assertThatThrownBy(() -> table.put(1L << 40, "x")).isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(table.idLimit()).isEqualTo(limit);
+		assertThat(table.get(1L << 40)).isNull();
+		assertThat(table.remove(1L << 40)).isNull();
+		assertThat(table.valuesFrom(0)).toIterable().containsExactly("a");
+	}
+
+	@Test
+	void idLimitFollowsAllocatedChunksNotDirectoryCapacity() {
+		IdTable<Long> table = new IdTable<>();
+		for (long id = 1; id <= 5_000; id++) {
+			table.put(id, id);
+		}
+		table.put(100_000, 100_000L);
+
+		assertThat(table.idLimit()).isEqualTo(98L * 1024);
+		assertThat(table.valuesFrom(4_999)).toIterable().containsExactly(4_999L, 5_000L, 100_000L);
+		assertThat(table.get(3_000)).isEqualTo(3_000L);
+	}
+}
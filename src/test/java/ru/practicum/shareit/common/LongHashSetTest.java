@@ -0,0 +1,52 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashSetTest {
+
+	@Test
+	void behavesLikeHashSetUnderRandomAddsAndRemoves() {
+		LongHashSet set = new LongHashSet();
+		Set<Long> expected = new HashSet<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 100_000; i++) {
+			long key = 1 + random.nextInt(2_000);
+			if (random.nextInt(3) == 0) {
+				assertThat(set.remove(key)).isEqualTo(expected.remove(key));
+			} else {
+				assertThat(set.add(key)).isEqualTo(expected.add(key));
+			}
+			assertThat(set.size()).isEqualTo(expected.size());
+		}
+
+		for (long key = 1; key <= 2_000; key++) {
+			assertThat(set.contains(key)).isEqualTo(expected.contains(key));
+		}
+		assertThat(Arrays.stream(set.toArray()).boxed()).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	void shrinksBackAfterRemovingEverything() {
+		LongHashSet set = new LongHashSet();
+		for (long key = 1; key <= 1_000; key++) {
+			set.add(key);
+		}
+		for (long key = 1; key <= 1_000; key++) {
+			set.remove(key);
+		}
+
+		assertThat(set.isEmpty()).isTrue();
+		assertThat(set.contains(1)).isFalse();
+		assertThat(set.toArray()).isEmpty();
+		assertThatThrownBy(() -> set.add(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
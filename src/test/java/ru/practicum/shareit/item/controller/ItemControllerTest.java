@@ -0,0 +1,193 @@
+package ru.practicum.shareit.item.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.ETags;
+import ru.practicum.shareit.common.NdjsonWriter;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.exception.ErrorMetrics;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.logging.LoggingProperties;
+import ru.practicum.shareit.logging.PayloadLogger;
+import ru.practicum.shareit.request.storage.InMemoryItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ItemControllerTest {
+
+	private InMemoryItemStorage itemStorage;
+	private MockMvc mvc;
+	private long ownerId;
+
+	@BeforeEach
+	void setUp() {
+		mvc = startApplication();
+	}
+
+	@Test
+	void ifNoneMatchFromBeforeStoreResetIsNotModifiedOnlyForSameStore() throws Exception {
+		Item drill = itemStorage.create(item("Дрель", "Ударная"));
+		String etag = mvc.perform(get("/items/{id}", drill.getId()).header(ItemController.USER_ID_HEADER, ownerId))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(get("/items/{id}", drill.getId())
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		// После перезапуска без сохранения на диск та же вещь снова получает ID и версию 1
+		mvc = startApplication();
+		Item other = itemStorage.create(item("Пила", "Ножовка"));
+		assertThat(other.getId()).isEqualTo(drill.getId());
+		assertThat(other.getVersion()).isEqualTo(drill.getVersion());
+
+		mvc.perform(get("/items/{id}", other.getId())
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+				.andExpect(jsonPath("$.name").value("Пила"));
+	}
+
+	@Test
+	void streamAllWritesOneJsonObjectPerLine() throws Exception {
+		Item drill = itemStorage.create(item("Дрель", "Ударная"));
+		Item saw = itemStorage.create(item("Пила", "Ножовка"));
+
+		MvcResult started = mvc.perform(get("/items")
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String body = mvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		assertThat(body).endsWith("\n");
+		List<JsonNode> lines = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			lines.add(new ObjectMapper().readTree(line));
+		}
+		assertThat(lines)
+				.extracting(node -> node.get("id").asLong(), node -> node.get("name").asText())
+				.containsExactly(tuple(drill.getId(), "Дрель"), tuple(saw.getId(), "Пила"));
+	}
+
+	@Test
+	void streamSearchWithoutMatchesWritesEmptyBody() throws Exception {
+		itemStorage.create(item("Дрель", "Ударная"));
+
+		MvcResult started = mvc.perform(get("/items/search")
+						.param("text", "лестница")
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void batchEndpointsReturnStatusOfEveryElement() throws Exception {
+		Item drill = itemStorage.create(item("Дрель", "Ударная"));
+
+		mvc.perform(post("/items/batch")
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								[{"name": "Пила", "description": "Ножовка", "available": true},
+								 {"name": "", "description": "Без названия", "available": true},
+								 {"name": "Лестница", "description": "Складная", "available": true, "requestId": 42}]
+								"""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].index").value(contains(0, 1, 2)))
+				.andExpect(jsonPath("$[*].status").value(contains(201, 400, 404)))
+				.andExpect(jsonPath("$[0].result.name").value("Пила"))
+				.andExpect(jsonPath("$[0].error").doesNotExist())
+				.andExpect(jsonPath("$[1].result").doesNotExist())
+				.andExpect(jsonPath("$[1].error").isNotEmpty());
+
+		mvc.perform(patch("/items/batch")
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[{\"id\": " + drill.getId() + ", \"name\": \"Дрель ударная\"}, {\"id\": 999}]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].status").value(contains(200, 404)))
+				.andExpect(jsonPath("$[0].result.name").value("Дрель ударная"));
+		assertThat(itemStorage.count()).isEqualTo(2);
+	}
+
+	@Test
+	void batchOutsideSizeLimitIsRejected() throws Exception {
+		String tooMany = "[" + String.join(",", Collections.nCopies(BatchResult.MAX_BATCH_SIZE + 1,
+				"{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}")) + "]";
+
+		for (String body : List.of("[]", tooMany)) {
+			mvc.perform(post("/items/batch")
+							.header(ItemController.USER_ID_HEADER, ownerId)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(body))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.error").isNotEmpty());
+		}
+		assertThat(itemStorage.count()).isZero();
+	}
+
+	private MockMvc startApplication() {
+		itemStorage = new InMemoryItemStorage();
+		InMemoryUserStorage userStorage = new InMemoryUserStorage();
+		ownerId = userStorage.create(User.builder().name("Иван").email("ivan@yandex.ru").build()).getId();
+		ErrorMetrics errorMetrics = new ErrorMetrics(new SimpleMeterRegistry());
+		ItemServiceImpl itemService = new ItemServiceImpl(itemStorage, userStorage, new InMemoryItemRequestStorage(),
+				Validation.buildDefaultValidatorFactory().getValidator(), errorMetrics);
+		ItemController controller = new ItemController(itemService, new NdjsonWriter(new ObjectMapper()),
+				new PayloadLogger(new LoggingProperties()), new ETags());
+		return MockMvcBuilders.standaloneSetup(controller)
+				.setControllerAdvice(new ErrorHandler(errorMetrics))
+				.build();
+	}
+
+	private Item item(String name, String description) {
+		return Item.builder()
+				.ownerId(ownerId)
+				.name(name)
+				.description(description)
+				.available(true)
+				.build();
+	}
+}
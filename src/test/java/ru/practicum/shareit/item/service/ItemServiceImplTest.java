@@ -0,0 +1,132 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.MetricNames;
+import ru.practicum.shareit.exception.ErrorMetrics;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.request.storage.InMemoryItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemServiceImplTest {
+
+	private InMemoryItemStorage itemStorage;
+	private ItemServiceImpl itemService;
+	private long ownerId;
+	private long otherId;
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		itemStorage = new InMemoryItemStorage();
+		InMemoryUserStorage userStorage = new InMemoryUserStorage();
+		ownerId = userStorage.create(User.builder().name("Иван").email("ivan@yandex.ru").build()).getId();
+		otherId = userStorage.create(User.builder().name("Петр").email("petr@yandex.ru").build()).getId();
+		registry = new SimpleMeterRegistry();
+		itemService = new ItemServiceImpl(itemStorage, userStorage, new InMemoryItemRequestStorage(),
+				Validation.buildDefaultValidatorFactory().getValidator(), new ErrorMetrics(registry));
+	}
+
+	@Test
+	void createAllReportsStatusOfEveryElementAndStoresOnlyValidOnes() {
+		NewItemRequest noOwner = newItem("Пила");
+		NewItemRequest unknownOwner = newItem("Молоток");
+		unknownOwner.setOwnerId(999L);
+		NewItemRequest unknownRequest = newItem("Лестница");
+		unknownRequest.setOwnerId(ownerId);
+		unknownRequest.setRequestId(42L);
+		NewItemRequest blankName = newItem(" ");
+		blankName.setOwnerId(ownerId);
+		NewItemRequest drill = newItem("Дрель");
+		drill.setOwnerId(ownerId);
+
+		List<BatchResult<ItemDto>> results = itemService.createAll(null,
+				List.of(drill, noOwner, unknownOwner, unknownRequest, blankName));
+
+		assertThat(results).extracting(BatchResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+		assertThat(results).extracting(BatchResult::getStatus).containsExactly(201, 400, 404, 404, 400);
+		assertThat(results.get(0).getResult().getName()).isEqualTo("Дрель");
+		assertThat(results.get(0).getError()).isNull();
+		assertThat(results.subList(1, 5)).allSatisfy(result -> {
+			assertThat(result.getResult()).isNull();
+			assertThat(result.getError()).isNotBlank();
+		});
+		assertThat(itemStorage.count()).isEqualTo(1);
+		assertThat(errors("404")).isEqualTo(2);
+	}
+
+	@Test
+	void updateAllReportsStatusOfEveryElement() {
+		Item drill = itemStorage.create(item(ownerId, "Дрель"));
+		Item foreign = itemStorage.create(item(otherId, "Пила"));
+
+		List<BatchResult<ItemDto>> results = itemService.updateAll(ownerId, List.of(
+				update(drill.getId(), "Дрель ударная"),
+				update(null, "Без ID"),
+				update(999L, "Нет такой"),
+				update(foreign.getId(), "Чужая")));
+
+		assertThat(results).extracting(BatchResult::getStatus).containsExactly(200, 400, 404, 403);
+		assertThat(results.get(0).getResult().getName()).isEqualTo("Дрель ударная");
+		assertThat(itemStorage.findItem(drill.getId()).getName()).isEqualTo("Дрель ударная");
+		assertThat(itemStorage.findItem(foreign.getId()).getName()).isEqualTo("Пила");
+		assertThat(errors("404")).isEqualTo(1);
+		assertThat(errors("403")).isEqualTo(1);
+	}
+
+	@Test
+	void batchMustHoldFromOneToMaxElements() {
+		List<NewItemRequest> tooMany = Collections.nCopies(BatchResult.MAX_BATCH_SIZE + 1, newItem("Дрель"));
+
+		assertThatThrownBy(() -> itemService.createAll(ownerId, List.of()))
+				.isInstanceOf(ValidationException.class);
+		assertThatThrownBy(() -> itemService.createAll(ownerId, tooMany))
+				.isInstanceOf(ValidationException.class);
+		assertThatThrownBy(() -> itemService.updateAll(ownerId, List.of()))
+				.isInstanceOf(ValidationException.class);
+		assertThat(itemStorage.count()).isZero();
+	}
+
+	private double errors(String status) {
+		return registry.get(MetricNames.ERRORS).tag("status", status).counter().count();
+	}
+
+	private static NewItemRequest newItem(String name) {
+		NewItemRequest request = new NewItemRequest();
+		request.setName(name);
+		request.setDescription("Описание");
+		request.setAvailable(true);
+		return request;
+	}
+
+	private static UpdateItemRequest update(Long id, String name) {
+		UpdateItemRequest request = new UpdateItemRequest();
+		request.setId(id);
+		request.setName(name);
+		return request;
+	}
+
+	private static Item item(long ownerId, String name) {
+		return Item.builder()
+				.ownerId(ownerId)
+				.name(name)
+				.description("Описание")
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedSearchTest {
+
+	@Test
+	void ranksNameThenWholeWordThenPositionThenId() {
+		Item inDescription = item(1L, "Набор", "Дрель в комплекте");
+		Item partOfWord = item(2L, "Электродрель", "");
+		Item laterWord = item(3L, "Большая дрель", "");
+		Item firstWord = item(4L, "Дрель ударная", "");
+		Item sameRankHigherId = item(5L, "Дрель аккумуляторная", "");
+
+		RankedSearch search = new RankedSearch("дрель", 4);
+		for (Item item : new Item[]{inDescription, partOfWord, laterWord, firstWord, sameRankHigherId}) {
+			search.offer(item);
+		}
+
+		assertThat(search.result()).containsExactly(firstWord, sameRankHigherId, laterWord, partOfWord);
+	}
+
+	@Test
+	void prefersWholeWordOccurrenceOverEarlierPartialOne() {
+		Item partialFirst = item(1L, "Пилапила пила", "");
+		Item partialOnly = item(2L, "Пилатес", "");
+
+		RankedSearch search = new RankedSearch("пила", 2);
+		search.offer(partialOnly);
+		search.offer(partialFirst);
+
+		assertThat(search.result()).containsExactly(partialFirst, partialOnly);
+	}
+
+	@Test
+	void stopsOnceAllSelectedItemsHaveBestRank() {
+		RankedSearch search = new RankedSearch("дрель", 2);
+
+		assertThat(search.offer(item(1L, "Дрель", ""))).isTrue();
+		assertThat(search.offer(item(2L, "Электродрель", ""))).isTrue();
+		assertThat(search.offer(item(3L, "Дрель ударная", ""))).isFalse();
+		assertThat(search.result()).extracting(Item::getId).containsExactly(1L, 3L);
+	}
+
+	@Test
+	void ranksAgainstSameLowercaseFormAsStorageMatcher() {
+		// «İ» в нижнем регистре — две буквы, поэтому regionMatches без учета регистра его не находит
+		Item inDescription = item(1L, "Бусы", "Жемчуг İnci");
+		Item inName = item(2L, "İnci", "Жемчуг");
+		Item partOfWord = item(3L, "Ожерелье", "Жемчужинаİnci");
+
+		RankedSearch search = new RankedSearch("İnci".toLowerCase(), 3);
+		search.offer(inDescription);
+		search.offer(inName);
+		search.offer(partOfWord);
+
+		assertThat(search.result()).containsExactly(inName, inDescription, partOfWord);
+	}
+
+	private static Item item(Long id, String name, String description) {
+		return Item.builder()
+				.id(id)
+				.ownerId(1L)
+				.name(name)
+				.description(description)
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.EntityCache;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingItemStorageTest {
+
+	private SimpleMeterRegistry registry;
+	private EntityCache<Item> cache;
+	private InMemoryItemStorage target;
+	private CachingItemStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		cache = new EntityCache<>("items", 100, Duration.ofMinutes(1), registry);
+		target = new InMemoryItemStorage();
+		storage = new CachingItemStorage(target, cache);
+	}
+
+	@Test
+	void repeatedReadsHitCacheAndWritesInvalidate() {
+		Item drill = storage.create(item("Дрель"));
+
+		storage.findItem(drill.getId());
+		storage.findItem(drill.getId());
+		storage.findItem(drill.getId());
+		assertThat(gets("hit")).isEqualTo(2);
+		assertThat(gets("miss")).isEqualTo(1);
+
+		Item updated = storage.update(drill.getId(), current -> current.toBuilder().name("Перфоратор").build());
+		assertThat(storage.findItem(drill.getId())).isEqualTo(updated);
+		assertThat(storage.findItemVersion(drill.getId())).hasValue(updated.getVersion());
+
+		storage.delete(drill.getId());
+		assertThat(storage.findItemById(drill.getId())).isEmpty();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void snapshotLoadedBeforeWriteIsNotCached() {
+		Item drill = target.create(item("Дрель"));
+
+		Optional<Item> loaded = cache.get(drill.getId(), id -> {
+			Optional<Item> stale = target.findItemById(id);
+			storage.update(id, current -> current.toBuilder().name("Перфоратор").build());
+			return stale;
+		});
+
+		assertThat(loaded).contains(drill);
+		assertThat(cache.getIfPresent(drill.getId())).isEmpty();
+		assertThat(storage.findItem(drill.getId()).getName()).isEqualTo("Перфоратор");
+	}
+
+	private double gets(String result) {
+		return registry.get("cache.gets").tags("cache", "items", "result", result).functionCounter().count();
+	}
+
+	private static Item item(String name) {
+		return Item.builder()
+				.ownerId(1L)
+				.name(name)
+				.description("Описание")
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,205 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.persistence.ChangeJournal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class InMemoryItemStorageTest {
+
+	private InMemoryItemStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		storage = new InMemoryItemStorage();
+	}
+
+	@Test
+	void getItemsReturnsOnlyOwnerItemsAfterDelete() {
+		Item first = storage.create(item(1L, "Дрель", "Аккумуляторная дрель"));
+		Item second = storage.create(item(1L, "Отвертка", "Крестовая отвертка"));
+		Item foreign = storage.create(item(2L, "Пила", "Ножовка по дереву"));
+
+		storage.delete(first.getId());
+
+		assertThat(storage.getItems(1L, Pagination.ALL)).containsExactly(second);
+		assertThat(storage.getItems(2L, Pagination.ALL)).containsExactly(foreign);
+
+		storage.delete(second.getId());
+
+		assertThat(storage.getItems(1L, Pagination.ALL)).isEmpty();
+		assertThat(storage.getItems(2L, Pagination.ALL)).containsExactly(foreign);
+	}
+
+	@Test
+	void missingItemIsEmptyAndNotFoundIsStackless() {
+		Item drill = storage.create(item(1L, "Дрель", "Аккумуляторная дрель"));
+		storage.delete(drill.getId());
+
+		assertThat(storage.findItemById(drill.getId())).isEmpty();
+		NotFoundException e = catchThrowableOfType(() -> storage.findItem(drill.getId()), NotFoundException.class);
+		assertThat(e).hasMessage("Вещь с ID " + drill.getId() + " не найдена");
+		assertThat(e.getStackTrace()).isEmpty();
+	}
+
+	@Test
+	void searchFindsSubstringAndIgnoresDeletedItems() {
+		Item drill = storage.create(item(1L, "Дрель", "Аккумуляторная дрель"));
+		Item saw = storage.create(item(1L, "Пила", "Ножовка по дереву"));
+
+		assertThat(storage.searchItemsByText("дрел", Pagination.ALL)).containsExactly(drill);
+		assertThat(storage.searchItemsByText("ов", Pagination.ALL)).containsExactly(saw);
+
+		storage.delete(drill.getId());
+
+		assertThat(storage.searchItemsByText("дрел", Pagination.ALL)).isEmpty();
+	}
+
+	@Test
+	void requestIndexFollowsUpdatesAndDeletes() {
+		Item drill = storage.create(item(1L, "Дрель", "Аккумуляторная дрель").toBuilder().requestId(10L).build());
+		Item saw = storage.create(item(2L, "Пила", "Ножовка").toBuilder().requestId(10L).build());
+		Item hammer = storage.create(item(2L, "Молоток", "Слесарный").toBuilder().requestId(20L).build());
+
+		storage.delete(saw.getId());
+		Item moved = storage.update(hammer.getId(), current -> current.toBuilder().requestId(10L).build());
+
+		Map<Long, List<Item>> answers = storage.findItemsByRequestIds(List.of(10L, 20L, 30L));
+		assertThat(answers).containsOnlyKeys(10L);
+		assertThat(answers.get(10L)).containsExactly(drill, moved);
+	}
+
+	@Test
+	void versionFollowsUpdatesAndDeletes() {
+		Item drill = storage.create(item(1L, "Дрель", "Аккумуляторная дрель"));
+		assertThat(storage.findItemVersion(drill.getId())).hasValue(1L);
+
+		Item updated = storage.update(drill.getId(), current -> current.toBuilder().available(false).build());
+		assertThat(storage.findItemVersion(drill.getId())).hasValue(updated.getVersion());
+
+		storage.delete(drill.getId());
+		assertThat(storage.findItemVersion(drill.getId())).isEmpty();
+	}
+
+	@Test
+	void pagesAreOrderedByIdAndSupportCursor() {
+		List<Item> created = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			created.add(storage.create(item(1L, "Дрель " + i, "Описание")));
+		}
+
+		assertThat(storage.getItems(1L, Pagination.of(1, 2, null))).containsExactly(created.get(1), created.get(2));
+		assertThat(storage.getItems(1L, Pagination.of(0, 2, created.get(2).getId())))
+				.containsExactly(created.get(3), created.get(4));
+		assertThat(storage.searchItemsByText("дрель", Pagination.of(0, 3, created.get(0).getId())))
+				.containsExactly(created.get(1), created.get(2), created.get(3));
+		assertThat(storage.searchItemsByText("др", Pagination.of(4, 10, null))).containsExactly(created.get(4));
+	}
+
+	@Test
+	void scanMatchesStopsWhenActionReturnsFalse() {
+		for (int i = 0; i < 10; i++) {
+			storage.create(item(1L, "Дрель " + i, "Описание"));
+		}
+
+		List<Long> seen = new ArrayList<>();
+		storage.scanMatches("дрель", item -> {
+			seen.add(item.getId());
+			return seen.size() < 3;
+		});
+
+		assertThat(seen).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void parallelSearchReturnsSamePagesAsSequential() {
+		try (ParallelSearch parallelSearch = new ParallelSearch(4, 0, 16)) {
+			InMemoryItemStorage parallel = new InMemoryItemStorage(ChangeJournal.none(), parallelSearch);
+			String[] names = {"Дрель", "Пила", "Молоток"};
+			for (int i = 0; i < 500; i++) {
+				Item item = item((long) i % 7, names[i % names.length] + " " + i, "Описание");
+				storage.create(item);
+				parallel.create(item);
+				if (i % 11 == 0) {
+					storage.delete((long) i + 1);
+					parallel.delete((long) i + 1);
+				}
+			}
+
+			for (String text : new String[]{"др", "дрель", "пила 4", "ь 1", "нет такого"}) {
+				for (Pagination page : List.of(Pagination.ALL, Pagination.of(0, 5, null), Pagination.of(37, 10, null),
+						Pagination.of(3, 20, 250L), Pagination.of(1000, 10, null))) {
+					assertThat(parallel.searchItemsByText(text, page))
+							.as("%s %s", text, page)
+							.containsExactlyElementsOf(storage.searchItemsByText(text, page));
+				}
+			}
+		}
+	}
+
+	@Test
+	void concurrentUpdatesAndCreatesAreNotLost() throws Exception {
+		int threads = 8;
+		int iterations = 2_000;
+		Item counter = storage.create(item(1L, "0", "Счетчик"));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				long ownerId = 100L + t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < iterations; i++) {
+						storage.update(counter.getId(), current -> current.toBuilder()
+								.name(String.valueOf(Integer.parseInt(current.getName()) + 1))
+								.build());
+						if (i % 10 == 0) {
+							storage.create(item(ownerId, "Вещь " + i, "Описание"));
+						}
+						Item snapshot = storage.findItem(counter.getId());
+						assertThat(snapshot.getName()).isEqualTo(String.valueOf(snapshot.getVersion() - 1));
+						storage.searchItemsByText("счетчик", Pagination.ALL);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Item result = storage.findItem(counter.getId());
+		assertThat(result.getName()).isEqualTo(String.valueOf(threads * iterations));
+		assertThat(result.getVersion()).isEqualTo(threads * iterations + 1L);
+		assertThat(storage.searchItemsByText("счетчик", Pagination.ALL)).containsExactly(result);
+		for (int t = 0; t < threads; t++) {
+			assertThat(storage.getItems(100L + t, Pagination.ALL)).hasSize(iterations / 10);
+		}
+	}
+
+	private static Item item(Long ownerId, String name, String description) {
+		return Item.builder()
+				.ownerId(ownerId)
+				.name(name)
+				.description(description)
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest {
+
+	private ItemSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ItemSearchIndex();
+	}
+
+	@Test
+	void candidatesContainEveryQueryTrigramInIdOrder() {
+		Item saw = item(3L, "Пила", "Ножовка по дереву");
+		Item drill = item(1L, "Дрель", "Аккумуляторная дрель");
+		Item driller = item(2L, "Электродрель", "Сетевая");
+		index.update(null, saw);
+		index.update(null, drill);
+		index.update(null, driller);
+
+		assertThat(index.candidates("дрель")).containsExactly(1L, 2L);
+		assertThat(index.candidates("ная др")).containsExactly(1L);
+		// Название и описание не склеиваются в одну строку
+		assertThat(index.candidates("льак")).isEmpty();
+		assertThat(index.candidates("вертолет")).isEmpty();
+		assertThat(index.candidates("др")).isNull();
+	}
+
+	@Test
+	void updateMovesItemBetweenTrigramsAndDeleteRemovesIt() {
+		Item drill = item(1L, "Дрель", "Ударная");
+		index.update(null, drill);
+
+		Item renamed = item(1L, "Перфоратор", "Ударный");
+		index.update(drill, renamed);
+
+		assertThat(index.candidates("дрель")).isEmpty();
+		assertThat(index.candidates("перфо")).containsExactly(1L);
+		assertThat(index.candidates("ударн")).containsExactly(1L);
+
+		index.update(renamed, null);
+
+		assertThat(index.candidates("перфо")).isEmpty();
+	}
+
+	@Test
+	void storageSearchMatchesSubstringsLikeFullScan() {
+		InMemoryItemStorage storage = new InMemoryItemStorage();
+		Item drill = storage.create(item(null, "Дрель", "Аккумуляторная ДРЕЛЬ"));
+		Item saw = storage.create(item(null, "Пила", "Ножовка по дереву"));
+		storage.create(item(null, "Молоток", "Слесарный"));
+
+		// Запрос приходит из сервиса уже в нижнем регистре
+		for (String text : new String[]{"дрел", "дрель", "овка по", "о", "ре", "лесар", "нет такого"}) {
+			assertThat(storage.searchItemsByText(text, Pagination.ALL))
+					.as(text)
+					.containsExactlyElementsOf(storage.getItems(1L, Pagination.ALL).stream()
+							.filter(item -> (item.getName() + "\n" + item.getDescription()).toLowerCase()
+									.contains(text))
+							.toList());
+		}
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).containsExactly(drill);
+		assertThat(storage.searchItemsByText("ов", Pagination.ALL)).containsExactly(saw);
+	}
+
+	private static Item item(Long id, String name, String description) {
+		return Item.builder()
+				.id(id)
+				.ownerId(1L)
+				.name(name)
+				.description(description)
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.storage.JdbcItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.JdbcUserStorage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcItemStorageTest {
+
+	private EmbeddedDatabase database;
+	private JdbcItemStorage storage;
+	private User owner;
+	private JdbcItemRequestStorage requestStorage;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2)
+				.addScript("classpath:schema.sql")
+				.build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		storage = new JdbcItemStorage(jdbcTemplate, 2);
+		requestStorage = new JdbcItemRequestStorage(jdbcTemplate);
+		owner = new JdbcUserStorage(jdbcTemplate, 2).create(User.builder()
+				.name("Иван")
+				.email("ivan@yandex.ru")
+				.build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void createAllAssignsIdsAcrossBatches() {
+		List<Item> created = storage.createAll(List.of(
+				item("Дрель", "Аккумуляторная дрель"),
+				item("Пила", "Ножовка по дереву"),
+				item("Отвертка", "Крестовая отвертка")));
+
+		assertThat(created).extracting(Item::getId).doesNotContainNull().doesNotHaveDuplicates();
+		assertThat(storage.getItems(owner.getId(), Pagination.ALL)).containsExactlyElementsOf(created);
+		assertThat(storage.findItem(created.get(1).getId()).getName()).isEqualTo("Пила");
+	}
+
+	@Test
+	void versionIsReadWithoutLoadingItem() {
+		Item drill = storage.create(item("Дрель", "Аккумуляторная дрель"));
+		Item updated = storage.update(drill.getId(), current -> current.toBuilder().name("Дрель-шуруповерт").build());
+
+		assertThat(storage.findItemVersion(drill.getId())).hasValue(updated.getVersion());
+		storage.delete(drill.getId());
+		assertThat(storage.findItemVersion(drill.getId())).isEmpty();
+	}
+
+	@Test
+	void updateIncrementsVersionAndSearchMatchesSubstring() {
+		Item drill = storage.create(item("Дрель", "Аккумуляторная дрель"));
+
+		Item updated = storage.update(drill.getId(), current -> current.toBuilder().name("Дрель 100%").build());
+
+		assertThat(updated.getVersion()).isEqualTo(2);
+		assertThat(storage.findItem(drill.getId())).isEqualTo(updated);
+		assertThat(storage.searchItemsByText("аккум", Pagination.ALL)).containsExactly(updated);
+		assertThat(storage.searchItemsByText("0%", Pagination.ALL)).containsExactly(updated);
+		assertThat(storage.searchItemsByText("_", Pagination.ALL)).isEmpty();
+	}
+
+	@Test
+	void scanMatchesStopsReadingWhenActionReturnsFalse() {
+		List<Item> drills = storage.createAll(List.of(
+				item("Дрель", "Первая"),
+				item("Пила", "Ножовка"),
+				item("Дрель", "Вторая"),
+				item("Дрель", "Третья")));
+
+		List<Item> seen = new ArrayList<>();
+		storage.scanMatches("дрель", item -> {
+			seen.add(item);
+			return seen.size() < 2;
+		});
+
+		assertThat(seen).containsExactly(drills.get(0), drills.get(2));
+	}
+
+	@Test
+	void deleteRemovesItem() {
+		Item drill = storage.create(item("Дрель", "Аккумуляторная дрель"));
+
+		assertThat(storage.delete(drill.getId())).isTrue();
+		assertThat(storage.delete(drill.getId())).isFalse();
+		assertThatThrownBy(() -> storage.findItem(drill.getId())).isInstanceOf(NotFoundException.class);
+	}
+
+	@Test
+	void itemsAreGroupedByRequestInOneQuery() {
+		ItemRequest first = request("Нужна дрель");
+		ItemRequest second = request("Нужна пила");
+		ItemRequest unanswered = request("Нужен молоток");
+		Item drill = storage.create(item("Дрель", "Аккумуляторная дрель").toBuilder().requestId(first.getId()).build());
+		Item saw = storage.create(item("Пила", "Ножовка").toBuilder().requestId(second.getId()).build());
+		Item otherDrill = storage.create(item("Дрель", "Ударная дрель").toBuilder().requestId(first.getId()).build());
+		storage.create(item("Отвертка", "Крестовая отвертка"));
+
+		Map<Long, List<Item>> answers = storage.findItemsByRequestIds(
+				List.of(first.getId(), second.getId(), unanswered.getId()));
+
+		assertThat(answers).containsOnlyKeys(first.getId(), second.getId());
+		assertThat(answers.get(first.getId())).containsExactly(drill, otherDrill);
+		assertThat(answers.get(second.getId())).containsExactly(saw);
+		assertThat(storage.findItemsByRequestIds(List.of())).isEmpty();
+	}
+
+	private ItemRequest request(String description) {
+		return requestStorage.create(ItemRequest.builder()
+				.description(description)
+				.requestorId(owner.getId())
+				.created(LocalDateTime.now())
+				.build());
+	}
+
+	private Item item(String name, String description) {
+		return Item.builder()
+				.ownerId(owner.getId())
+				.name(name)
+				.description(description)
+				.available(true)
+				.build();
+	}
+}
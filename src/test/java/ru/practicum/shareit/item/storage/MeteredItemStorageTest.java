@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.storage;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.MetricNames;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredItemStorageTest {
+
+	@Test
+	void recordsOperationsSizeAndSearchResults() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ItemStorage storage = new MeteredItemStorage(new InMemoryItemStorage(), registry);
+
+		Item drill = storage.create(Item.builder()
+				.ownerId(1L)
+				.name("Дрель")
+				.description("Аккумуляторная дрель")
+				.available(true)
+				.build());
+		storage.findItem(drill.getId());
+		storage.searchItemsByText("дрел", Pagination.ALL);
+		storage.forEachMatch("пила", item -> {
+		});
+		storage.create(Item.builder()
+				.ownerId(1L)
+				.name("Дрель ударная")
+				.description("Сетевая")
+				.available(true)
+				.build());
+		storage.scanMatches("дрель", item -> false);
+
+		assertThat(registry.get(MetricNames.STORAGE_OPERATION).tags("storage", "item", "operation", "create")
+				.timer().count()).isEqualTo(2);
+		assertThat(registry.get(MetricNames.STORAGE_OPERATION).tags("operation", "find").timer().count()).isEqualTo(1);
+		assertThat(registry.get(MetricNames.STORAGE_SIZE).tag("storage", "item").gauge().value()).isEqualTo(2.0);
+		// Ранжированный поиск остановился на первой из двух подходящих вещей
+		assertThat(registry.get(MetricNames.STORAGE_OPERATION).tags("operation", "scanSearch").timer().count())
+				.isEqualTo(1);
+		assertThat(registry.get(MetricNames.SEARCH_RESULTS).summary().count()).isEqualTo(3);
+		assertThat(registry.get(MetricNames.SEARCH_RESULTS).summary().totalAmount()).isEqualTo(2.0);
+	}
+
+	@Test
+	void sizeGaugeFollowsWritesWithoutQueryingStorage() {
+		AtomicInteger countCalls = new AtomicInteger();
+		InMemoryItemStorage target = new InMemoryItemStorage() {
+			@Override
+			public long count() {
+				countCalls.incrementAndGet();
+				return super.count();
+			}
+		};
+		target.create(item("Пила"));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		MeteredItemStorage storage = new MeteredItemStorage(target, registry);
+		Gauge size = registry.get(MetricNames.STORAGE_SIZE).tag("storage", "item").gauge();
+		countCalls.set(0);
+
+		Item drill = storage.create(item("Дрель"));
+		storage.createAll(List.of(item("Молоток"), item("Отвертка")));
+		storage.delete(drill.getId());
+		storage.delete(drill.getId());
+		assertThat(size.value()).isEqualTo(3.0);
+		assertThat(countCalls).hasValue(0);
+
+		// Удаление в обход декоратора видно только после пересчета
+		target.delete(1L);
+		storage.recount();
+		assertThat(size.value()).isEqualTo(2.0);
+	}
+
+	private static Item item(String name) {
+		return Item.builder()
+				.ownerId(1L)
+				.name(name)
+				.description("Описание")
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchPatternTest {
+
+	@Test
+	void matchesLikeLowercaseContainsWithinEachField() {
+		byte[] text = SearchPattern.searchText(Item.builder()
+				.name("Дрель Bosch")
+				.description("Ударная, ddrill")
+				.build());
+
+		assertThat(new SearchPattern("дрель").isFoundIn(text)).isTrue();
+		assertThat(new SearchPattern("bosch").isFoundIn(text)).isTrue();
+		assertThat(new SearchPattern("ударная,").isFoundIn(text)).isTrue();
+		assertThat(new SearchPattern("drill").isFoundIn(text)).isTrue();
+		assertThat(new SearchPattern("dd").isFoundIn(text)).isTrue();
+		assertThat(new SearchPattern("").isFoundIn(text)).isTrue();
+		assertThat(new SearchPattern("дрели").isFoundIn(text)).isFalse();
+		assertThat(new SearchPattern("drills").isFoundIn(text)).isFalse();
+		// Совпадение не должно переходить из названия в описание
+		assertThat(new SearchPattern("boschудар").isFoundIn(text)).isFalse();
+		assertThat(new SearchPattern("hу").isFoundIn(text)).isFalse();
+	}
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.persistence.ChangeJournal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+	private SimpleMeterRegistry registry;
+	private SearchResultCache cache;
+	private InMemoryItemStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		cache = new SearchResultCache(1_000, registry);
+		storage = new InMemoryItemStorage(ChangeJournal.none(), ParallelSearch.sequential(), cache);
+	}
+
+	@Test
+	void onlyWritesThatCanChangeResultInvalidateIt() {
+		Item drill = storage.create(item(1L, "Дрель", "Ударная"));
+		Item saw = storage.create(item(1L, "Пила", "Ножовка"));
+
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).containsExactly(drill);
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).containsExactly(drill);
+		assertThat(gets("miss")).isEqualTo(1);
+		assertThat(gets("hit")).isEqualTo(1);
+
+		// Текст другой вещи, владелец и описание, не содержащее запрос, не влияют на результат:
+		// запись остается, а снимок берется свежий
+		storage.update(saw.getId(), current -> current.toBuilder().description("Лучковая").build());
+		storage.update(drill.getId(), current -> current.toBuilder().description("Безударная").build());
+		Item moved = storage.update(drill.getId(), current -> current.toBuilder().ownerId(2L).build());
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).containsExactly(moved);
+		assertThat(gets("hit")).isEqualTo(2);
+
+		Item secondDrill = storage.create(item(1L, "Дрель малая", "Для сверления"));
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).containsExactly(moved, secondDrill);
+		assertThat(gets("miss")).isEqualTo(2);
+
+		storage.update(drill.getId(), current -> current.toBuilder().available(false).build());
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).containsExactly(secondDrill);
+
+		storage.delete(secondDrill.getId());
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).isEmpty();
+		assertThat(storage.searchItemsByText("др", Pagination.ALL)).isEmpty();
+		assertThat(gets("miss")).isEqualTo(5);
+	}
+
+	@Test
+	void concurrentIdenticalMissesRunSearchOnce() throws Exception {
+		int threads = 8;
+		AtomicInteger searches = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		Item drill = item(1L, "Дрель", "Ударная").toBuilder().id(1L).build();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<Item>>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(() -> cache.get("дрель", Pagination.ALL, () -> {
+					searches.incrementAndGet();
+					await(release);
+					return List.of(drill);
+				}, id -> drill)));
+			}
+			while (gets("coalesced") < threads - 1) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+
+			for (Future<List<Item>> result : results) {
+				assertThat(result.get()).containsExactly(drill);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(searches).hasValue(1);
+		assertThat(gets("miss")).isEqualTo(1);
+	}
+
+	private double gets(String result) {
+		return registry.get("cache.gets").tag("cache", "itemSearch").tag("result", result).counter().count();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Item item(Long ownerId, String name, String description) {
+		return Item.builder()
+				.ownerId(ownerId)
+				.name(name)
+				.description(description)
+				.available(true)
+				.build();
+	}
+}
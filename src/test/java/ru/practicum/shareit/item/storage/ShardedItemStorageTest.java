@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.persistence.ChangeJournal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedItemStorageTest {
+
+	private ShardedItemStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		storage = new ShardedItemStorage(3);
+	}
+
+	@Test
+	void ownerItemsStayInOneShardAndCrossShardQueriesMergeInIdOrder() {
+		List<Item> drills = new ArrayList<>();
+		for (long ownerId = 1; ownerId <= 20; ownerId++) {
+			drills.add(storage.create(item(ownerId, "Дрель " + ownerId, "Ударная").toBuilder().requestId(7L).build()));
+			storage.create(item(ownerId, "Пила " + ownerId, "Ножовка"));
+		}
+		drills.sort(Comparator.comparing(Item::getId));
+
+		Item third = drills.stream().filter(drill -> drill.getOwnerId() == 3L).findFirst().orElseThrow();
+		assertThat(storage.getItems(3L, Pagination.ALL))
+				.extracting(Item::getId)
+				.containsExactly(third.getId(), third.getId() + 4)
+				.allMatch(id -> (id & 3) == (third.getId() & 3));
+		assertThat(storage.count()).isEqualTo(40);
+
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).containsExactlyElementsOf(drills);
+		assertThat(storage.searchItemsByText("дрель", Pagination.of(2, 3, drills.get(4).getId())))
+				.containsExactlyElementsOf(drills.subList(7, 10));
+		assertThat(storage.searchItemsByText("др", Pagination.of(0, 5, null)))
+				.containsExactlyElementsOf(drills.subList(0, 5));
+
+		List<Item> scanned = new ArrayList<>();
+		storage.scanMatches("дрель", drill -> scanned.add(drill) && scanned.size() < 6);
+		assertThat(scanned).containsExactlyElementsOf(drills.subList(0, 6));
+
+		Map<Long, List<Item>> answers = storage.findItemsByRequestIds(Set.of(7L, 8L));
+		assertThat(answers).containsOnlyKeys(7L);
+		assertThat(answers.get(7L)).containsExactlyElementsOf(drills);
+	}
+
+	@Test
+	void parallelSearchSplitsAllShardsByIdRanges() {
+		try (ParallelSearch parallelSearch = new ParallelSearch(2, 0, 8)) {
+			ShardedItemStorage parallel = new ShardedItemStorage(4, ChangeJournal.none(), parallelSearch,
+					SearchResultCache.none());
+			for (long ownerId = 1; ownerId <= 200; ownerId++) {
+				parallel.create(item(ownerId, "Дрель " + ownerId, "Ударная"));
+				storage.create(item(ownerId, "Дрель " + ownerId, "Ударная"));
+			}
+
+			Pagination page = Pagination.of(30, 50, 40L);
+			assertThat(parallel.searchItemsByText("дрель", page))
+					.isEqualTo(storage.searchItemsByText("дрель", page))
+					.hasSize(50);
+			assertThat(parallel.searchItemsByText("ль", Pagination.ALL)).hasSize(200);
+		}
+	}
+
+	@Test
+	void ownerQueriesStayCompleteForItemsOutsideOwnerShard() {
+		// Вещи одного владельца из хранилища без сегментов попадают в сегменты по ID
+		List<Item> restored = new ArrayList<>();
+		for (long id = 1; id <= 8; id++) {
+			restored.add(item(1L, "Дрель " + id, "Ударная").toBuilder().id(id).version(1).build());
+		}
+		storage.restoreAll(restored);
+		assertThat(storage.searchItemsByText("дрель", Pagination.ALL)).containsExactlyElementsOf(restored);
+		storage.restoreNextId(12);
+		Item created = storage.create(item(1L, "Пила", "Ножовка"));
+		assertThat(created.getId()).isGreaterThanOrEqualTo(12);
+		assertThat(storage.nextId()).isGreaterThan(created.getId());
+
+		assertThat(storage.getItems(1L, Pagination.of(1, 3, null)))
+				.extracting(Item::getId)
+				.containsExactly(2L, 3L, 4L);
+		List<Long> streamed = new ArrayList<>();
+		storage.forEachItem(1L, item -> streamed.add(item.getId()));
+		assertThat(streamed).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, created.getId());
+
+		Item moved = storage.update(created.getId(), current -> current.toBuilder().ownerId(2L).build());
+		assertThat(storage.getItems(2L, Pagination.ALL)).containsExactly(moved);
+		assertThat(storage.getItems(1L, Pagination.ALL)).hasSize(8);
+		assertThat(storage.findItemById(5L)).get().extracting(Item::getName).isEqualTo("Дрель 5");
+	}
+
+	private static Item item(Long ownerId, String name, String description) {
+		return Item.builder()
+				.ownerId(ownerId)
+				.name(name)
+				.description(description)
+				.available(true)
+				.build();
+	}
+}
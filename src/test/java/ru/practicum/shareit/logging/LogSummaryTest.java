@@ -0,0 +1,42 @@
+package ru.practicum.shareit.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSummaryTest {
+
+	@Test
+	void listsCountAndAllIdsWithinLimit() {
+		assertThat(LogSummary.of(List.of(), Function.identity())).hasToString("count=0, ids=[]");
+		assertThat(LogSummary.of(List.of(7L), Function.identity())).hasToString("count=1, ids=[7]");
+		assertThat(LogSummary.of(List.of(1L, 2L, 3L, 4L, 5L), Function.identity()))
+				.hasToString("count=5, ids=[1, 2, 3, 4, 5]");
+	}
+
+	@Test
+	void truncatesToFirstIds() {
+		List<Long> ids = List.of(10L, 20L, 30L, 40L, 50L, 60L, 70L);
+
+		assertThat(LogSummary.of(ids, Function.identity()))
+				.hasToString("count=7, ids=[10, 20, 30, 40, 50, ...]");
+		assertThat(LogSummary.of(ids, Function.identity(), 2)).hasToString("count=7, ids=[10, 20, ...]");
+	}
+
+	@Test
+	void extractsIdLazilyFromElements() {
+		List<String> names = List.of("дрель", "пила");
+		int[] calls = {0};
+		LogSummary<String> summary = LogSummary.of(names, name -> {
+			calls[0]++;
+			return name.length();
+		});
+
+		assertThat(calls[0]).isZero();
+		assertThat(summary).hasToString("count=2, ids=[5, 4]");
+		assertThat(calls[0]).isEqualTo(2);
+	}
+}
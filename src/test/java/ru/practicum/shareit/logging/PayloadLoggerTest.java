@@ -0,0 +1,75 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadLoggerTest {
+	private static final int CALLS = 10_000;
+
+	private Logger log;
+	private ListAppender<ILoggingEvent> appender;
+
+	@BeforeEach
+	void setUp() {
+		log = (Logger) LoggerFactory.getLogger(PayloadLoggerTest.class);
+		log.setLevel(Level.INFO);
+		appender = new ListAppender<>();
+		appender.start();
+		log.addAppender(appender);
+	}
+
+	@AfterEach
+	void tearDown() {
+		log.detachAppender(appender);
+		log.setLevel(null);
+	}
+
+	@Test
+	void zeroRateNeverWritesPayload() {
+		logMany(0.0);
+
+		assertThat(appender.list).isEmpty();
+	}
+
+	@Test
+	void fullRateWritesEveryPayload() {
+		logMany(1.0);
+
+		assertThat(appender.list).hasSize(CALLS);
+		assertThat(appender.list.get(0).getFormattedMessage()).isEqualTo("Отправлен ответ /items с телом: Дрель");
+	}
+
+	@Test
+	void fractionalRateWritesMatchingShare() {
+		logMany(0.25);
+
+		// Биномиальное распределение: среднее 2500, стандартное отклонение около 43
+		assertThat(appender.list.size()).isBetween(2200, 2800);
+	}
+
+	@Test
+	void disabledInfoLevelSkipsSampling() {
+		log.setLevel(Level.WARN);
+
+		logMany(1.0);
+
+		assertThat(appender.list).isEmpty();
+	}
+
+	private void logMany(double rate) {
+		LoggingProperties properties = new LoggingProperties();
+		properties.setPayloadSampleRate(rate);
+		PayloadLogger payloadLogger = new PayloadLogger(properties);
+		for (int i = 0; i < CALLS; i++) {
+			payloadLogger.log(log, "Отправлен ответ /items с телом: {}", "Дрель");
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestLoggingFilterTest {
+
+	private Logger log;
+	private ListAppender<ILoggingEvent> appender;
+
+	@BeforeEach
+	void setUp() {
+		log = (Logger) LoggerFactory.getLogger(RequestLoggingFilter.class);
+		log.setLevel(Level.INFO);
+		appender = new ListAppender<>();
+		appender.start();
+		log.addAppender(appender);
+	}
+
+	@AfterEach
+	void tearDown() {
+		log.detachAppender(appender);
+		log.setLevel(null);
+	}
+
+	@Test
+	void writesOneStructuredLinePerRequest() throws Exception {
+		RequestLoggingFilter filter = new RequestLoggingFilter(new LoggingProperties());
+
+		filter.doFilter(request("/items/search", "text=дрель"), new MockHttpServletResponse(), new MockFilterChain());
+		MockHttpServletResponse created = new MockHttpServletResponse();
+		filter.doFilter(request("/items", null), created, (request, response) -> created.setStatus(201));
+
+		assertThat(appender.list).hasSize(2);
+		assertThat(appender.list).allSatisfy(event -> assertThat(event.getLevel()).isEqualTo(Level.INFO));
+		assertThat(appender.list.get(0).getFormattedMessage())
+				.matches("method=GET uri=/items/search query=text=дрель userId=1 status=200 durationMs=\\d+");
+		assertThat(appender.list.get(1).getFormattedMessage())
+				.matches("method=GET uri=/items query=null userId=1 status=201 durationMs=\\d+");
+	}
+
+	@Test
+	void failedRequestIsStillLoggedOnce() {
+		RequestLoggingFilter filter = new RequestLoggingFilter(new LoggingProperties());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertThatThrownBy(() -> filter.doFilter(request("/items", null), response, (req, res) -> {
+			response.setStatus(500);
+			throw new ServletException("Ошибка");
+		})).isInstanceOf(ServletException.class);
+
+		assertThat(appender.list).singleElement()
+				.extracting(ILoggingEvent::getFormattedMessage).asString()
+				.contains("status=500");
+	}
+
+	@Test
+	void disabledFilterWritesNothing() throws Exception {
+		LoggingProperties properties = new LoggingProperties();
+		properties.setRequestLogEnabled(false);
+
+		new RequestLoggingFilter(properties)
+				.doFilter(request("/items", null), new MockHttpServletResponse(), new MockFilterChain());
+
+		assertThat(appender.list).isEmpty();
+	}
+
+	private static MockHttpServletRequest request(String uri, String query) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		request.setQueryString(query);
+		request.addHeader("X-Sharer-User-Id", "1");
+		return request;
+	}
+}
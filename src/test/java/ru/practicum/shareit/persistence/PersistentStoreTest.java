@@ -0,0 +1,165 @@
+package ru.practicum.shareit.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentStoreTest {
+	private static final int SEGMENT_SIZE = 4096;
+
+	@TempDir
+	Path directory;
+
+	private PersistentStore<Item> store;
+
+	@Test
+	void restartReplaysJournalAndDoesNotReuseDeletedIds() {
+		InMemoryItemStorage storage = open();
+		Item drill = storage.create(item("Дрель"));
+		Item saw = storage.create(item("Пила"));
+		storage.update(drill.getId(), current -> current.toBuilder().description("С набором бит").build());
+		storage.delete(saw.getId());
+		Item updated = storage.findItem(drill.getId());
+		close();
+
+		InMemoryItemStorage recovered = open();
+
+		assertThat(recovered.findItemById(drill.getId())).contains(updated);
+		assertThat(recovered.findItemById(saw.getId())).isEmpty();
+		assertThat(recovered.searchItemsByText("бит", Pagination.ALL)).containsExactly(updated);
+		assertThat(recovered.create(item("Молоток")).getId()).isGreaterThan(saw.getId());
+	}
+
+	@Test
+	void snapshotPlusTailRestoresStateAndDropsCoveredSegments() throws IOException {
+		InMemoryItemStorage storage = open();
+		for (int i = 0; i < 100; i++) {
+			storage.create(item("Вещь " + i));
+		}
+		store.snapshot();
+		storage.delete(1L);
+		Item changed = storage.update(2L, current -> current.toBuilder().name("Другая вещь").build());
+		close();
+
+		long[] snapshots = SnapshotFile.snapshots(directory);
+		assertThat(snapshots).hasSize(1);
+		assertThat(MappedJournal.segments(directory)[0]).isEqualTo(snapshots[0]);
+
+		InMemoryItemStorage recovered = open();
+
+		assertThat(recovered.count()).isEqualTo(99);
+		assertThat(recovered.findItemById(1L)).isEmpty();
+		assertThat(recovered.findItem(2L)).isEqualTo(changed);
+		assertThat(recovered.getItems(1L, Pagination.ALL)).hasSize(99);
+	}
+
+	@Test
+	void tornTailIsSkipped() throws IOException {
+		InMemoryItemStorage storage = open();
+		Item drill = storage.create(item("Дрель"));
+		Item saw = storage.create(item("Пила"));
+		close();
+
+		Path segment = MappedJournal.segmentPath(directory, MappedJournal.segments(directory)[0]);
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			// Портим последний байт данных второй записи
+			long secondEnd = Frames.HEADER * 2L + new ItemCodec().encode(drill).length + new ItemCodec().encode(saw).length;
+			channel.write(ByteBuffer.wrap(new byte[]{0x7f}), secondEnd - 1);
+		}
+
+		InMemoryItemStorage recovered = open();
+
+		assertThat(recovered.findItemById(drill.getId())).contains(drill);
+		assertThat(recovered.findItemById(saw.getId())).isEmpty();
+	}
+
+	@Test
+	void replayStopsAtFirstCorruptFrameAndDropsLaterSegments() throws IOException {
+		InMemoryItemStorage storage = open();
+		Item drill = storage.create(item("Дрель"));
+		Item saw = storage.create(item("Пила"));
+		close();
+		storage = open();
+		Item hammer = storage.create(item("Молоток"));
+		close();
+
+		long[] segments = MappedJournal.segments(directory);
+		try (FileChannel channel = FileChannel.open(MappedJournal.segmentPath(directory, segments[0]),
+				StandardOpenOption.WRITE)) {
+			// Портим данные второй записи первого сегмента, следующий сегмент цел
+			channel.write(ByteBuffer.wrap(new byte[]{0x7f}), Frames.HEADER * 2L + new ItemCodec().encode(drill).length);
+		}
+
+		InMemoryItemStorage recovered = open();
+
+		assertThat(recovered.findItemById(drill.getId())).contains(drill);
+		assertThat(recovered.findItemById(saw.getId())).isEmpty();
+		assertThat(recovered.findItemById(hammer.getId())).isEmpty();
+		Item wrench = recovered.create(item("Ключ"));
+		assertThat(wrench.getId()).isGreaterThan(hammer.getId());
+		close();
+		Path discarded = MappedJournal.segmentPath(directory, segments[1]);
+		assertThat(discarded.resolveSibling(discarded.getFileName() + ".discarded")).exists();
+
+		InMemoryItemStorage reopened = open();
+
+		assertThat(reopened.findItemById(drill.getId())).contains(drill);
+		assertThat(reopened.findItemById(wrench.getId())).contains(wrench);
+		assertThat(reopened.findItemById(hammer.getId())).isEmpty();
+	}
+
+	@Test
+	void usersSurviveRestartWithEmailIndex() {
+		PersistentStore<User> users = new PersistentStore<>(directory, new UserCodec(), SEGMENT_SIZE, Duration.ZERO,
+				Duration.ZERO);
+		InMemoryUserStorage storage = new InMemoryUserStorage(users);
+		users.attach(storage);
+		User user = storage.create(User.builder().name("Иван").email("Ivan@Yandex.ru").build());
+		storage.update(user.getId(), current -> current.toBuilder().email("ivan@mail.ru").build());
+		users.close();
+
+		PersistentStore<User> reopened = new PersistentStore<>(directory, new UserCodec(), SEGMENT_SIZE,
+				Duration.ZERO, Duration.ZERO);
+		InMemoryUserStorage recovered = new InMemoryUserStorage(reopened);
+		reopened.attach(recovered);
+
+		assertThat(recovered.findUser(user.getId()).getEmail()).isEqualTo("ivan@mail.ru");
+		assertThat(recovered.isUserWithEmailExist("IVAN@mail.ru")).isTrue();
+		assertThat(recovered.isUserWithEmailExist("ivan@yandex.ru")).isFalse();
+		reopened.close();
+	}
+
+	private InMemoryItemStorage open() {
+		store = new PersistentStore<>(directory, new ItemCodec(), SEGMENT_SIZE, Duration.ZERO, Duration.ZERO);
+		InMemoryItemStorage storage = new InMemoryItemStorage(store);
+		store.attach(storage);
+		return storage;
+	}
+
+	private void close() {
+		store.close();
+	}
+
+	private static Item item(String name) {
+		return Item.builder()
+				.ownerId(1L)
+				.name(name)
+				.description("Описание " + name)
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.request.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.exception.ErrorMetrics;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.logging.LoggingProperties;
+import ru.practicum.shareit.logging.PayloadLogger;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.request.storage.InMemoryItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ItemRequestControllerTest {
+
+	private InMemoryItemRequestStorage requestStorage;
+	private InMemoryItemStorage itemStorage;
+	private MockMvc mvc;
+	private long requestorId;
+	private long ownerId;
+
+	@BeforeEach
+	void setUp() {
+		requestStorage = new InMemoryItemRequestStorage();
+		itemStorage = new InMemoryItemStorage();
+		InMemoryUserStorage userStorage = new InMemoryUserStorage();
+		requestorId = userStorage.create(User.builder().name("Иван").email("ivan@yandex.ru").build()).getId();
+		ownerId = userStorage.create(User.builder().name("Петр").email("petr@yandex.ru").build()).getId();
+		ItemRequestController controller = new ItemRequestController(
+				new ItemRequestServiceImpl(requestStorage, itemStorage, userStorage),
+				new PayloadLogger(new LoggingProperties()));
+		mvc = MockMvcBuilders.standaloneSetup(controller)
+				.setControllerAdvice(new ErrorHandler(new ErrorMetrics(new SimpleMeterRegistry())))
+				.build();
+	}
+
+	@Test
+	void createReturnsRequestWithoutAnswersAndRejectsBlankDescription() throws Exception {
+		mvc.perform(post("/requests")
+						.header(ItemController.USER_ID_HEADER, requestorId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"description\": \"Нужна дрель\"}"))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.description").value("Нужна дрель"))
+				.andExpect(jsonPath("$.requestorId").value(requestorId))
+				.andExpect(jsonPath("$.items").isEmpty());
+
+		mvc.perform(post("/requests")
+						.header(ItemController.USER_ID_HEADER, requestorId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"description\": \" \"}"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(post("/requests")
+						.header(ItemController.USER_ID_HEADER, 999L)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"description\": \"Нужна пила\"}"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void allReturnsOtherUsersRequestsNewestFirstWithAnswers() throws Exception {
+		ItemRequest drill = requestStorage.create(request("Нужна дрель"));
+		ItemRequest saw = requestStorage.create(request("Нужна пила"));
+		Item answer = itemStorage.create(Item.builder()
+				.ownerId(ownerId)
+				.requestId(drill.getId())
+				.name("Дрель")
+				.description("Ударная")
+				.available(true)
+				.build());
+
+		mvc.perform(get("/requests/all").header(ItemController.USER_ID_HEADER, ownerId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id").value(contains(saw.getId().intValue(), drill.getId().intValue())))
+				.andExpect(jsonPath("$[0].items").isEmpty())
+				.andExpect(jsonPath("$[1].items[*].id").value(contains(answer.getId().intValue())));
+		mvc.perform(get("/requests/all")
+						.header(ItemController.USER_ID_HEADER, ownerId)
+						.param("after", saw.getId().toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id").value(contains(drill.getId().intValue())));
+		mvc.perform(get("/requests/all").header(ItemController.USER_ID_HEADER, requestorId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$").isEmpty());
+	}
+
+	private ItemRequest request(String description) {
+		return ItemRequest.builder()
+				.requestorId(requestorId)
+				.description(description)
+				.created(LocalDateTime.now())
+				.build();
+	}
+}
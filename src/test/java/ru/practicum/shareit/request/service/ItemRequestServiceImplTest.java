@@ -0,0 +1,107 @@
+package ru.practicum.shareit.request.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.storage.InMemoryItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemRequestServiceImplTest {
+
+	private List<List<Long>> answerLookups;
+	private InMemoryItemStorage itemStorage;
+	private ItemRequestServiceImpl requestService;
+	private long requestorId;
+	private long ownerId;
+
+	@BeforeEach
+	void setUp() {
+		answerLookups = new ArrayList<>();
+		itemStorage = new InMemoryItemStorage() {
+			@Override
+			public Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds) {
+				answerLookups.add(List.copyOf(requestIds));
+				return super.findItemsByRequestIds(requestIds);
+			}
+		};
+		InMemoryUserStorage userStorage = new InMemoryUserStorage();
+		requestorId = userStorage.create(User.builder().name("Иван").email("ivan@yandex.ru").build()).getId();
+		ownerId = userStorage.create(User.builder().name("Петр").email("petr@yandex.ru").build()).getId();
+		requestService = new ItemRequestServiceImpl(new InMemoryItemRequestStorage(), itemStorage, userStorage);
+	}
+
+	@Test
+	void otherRequestsAreNewestFirstWithAnswersLoadedInOneCall() {
+		ItemRequestDto drill = requestService.create(requestorId, newRequest("Нужна дрель"));
+		ItemRequestDto saw = requestService.create(requestorId, newRequest("Нужна пила"));
+		ItemRequestDto ladder = requestService.create(requestorId, newRequest("Нужна лестница"));
+		Item drillAnswer = itemStorage.create(answer("Дрель", drill.getId()));
+		Item otherDrillAnswer = itemStorage.create(answer("Перфоратор", drill.getId()));
+		Item ladderAnswer = itemStorage.create(answer("Стремянка", ladder.getId()));
+		answerLookups.clear();
+
+		List<ItemRequestDto> requests = requestService.getOtherRequests(ownerId, Pagination.ALL);
+
+		assertThat(requests).extracting(ItemRequestDto::getId)
+				.containsExactly(ladder.getId(), saw.getId(), drill.getId());
+		assertThat(requests.get(0).getItems()).extracting(ItemDto::getId).containsExactly(ladderAnswer.getId());
+		assertThat(requests.get(1).getItems()).isEmpty();
+		assertThat(requests.get(2).getItems()).extracting(ItemDto::getId)
+				.containsExactlyInAnyOrder(drillAnswer.getId(), otherDrillAnswer.getId());
+		assertThat(answerLookups).containsExactly(List.of(ladder.getId(), saw.getId(), drill.getId()));
+
+		assertThat(requestService.getOtherRequests(requestorId, Pagination.ALL)).isEmpty();
+	}
+
+	@Test
+	void userRequestsPageAndSingleRequestCarryAnswers() {
+		ItemRequestDto drill = requestService.create(requestorId, newRequest("Нужна дрель"));
+		ItemRequestDto saw = requestService.create(requestorId, newRequest("Нужна пила"));
+		Item sawAnswer = itemStorage.create(answer("Пила", saw.getId()));
+		answerLookups.clear();
+
+		List<ItemRequestDto> page = requestService.getUserRequests(requestorId, Pagination.of(1, 1, null));
+		assertThat(page).extracting(ItemRequestDto::getId).containsExactly(drill.getId());
+		assertThat(page.get(0).getItems()).isEmpty();
+
+		ItemRequestDto found = requestService.findRequest(ownerId, saw.getId());
+		assertThat(found.getRequestorId()).isEqualTo(requestorId);
+		assertThat(found.getItems()).extracting(ItemDto::getName).containsExactly(sawAnswer.getName());
+		assertThat(answerLookups).hasSize(2);
+
+		assertThatThrownBy(() -> requestService.findRequest(ownerId, 999L)).isInstanceOf(NotFoundException.class);
+		assertThatThrownBy(() -> requestService.getOtherRequests(999L, Pagination.ALL))
+				.isInstanceOf(NotFoundException.class);
+	}
+
+	private static NewItemRequestDto newRequest(String description) {
+		NewItemRequestDto request = new NewItemRequestDto();
+		request.setDescription(description);
+		return request;
+	}
+
+	private Item answer(String name, Long requestId) {
+		return Item.builder()
+				.ownerId(ownerId)
+				.requestId(requestId)
+				.name(name)
+				.description("Описание")
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.request.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryItemRequestStorageTest {
+
+	private InMemoryItemRequestStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		storage = new InMemoryItemRequestStorage();
+	}
+
+	@Test
+	void pagesAreNewestFirstAndSupportCursor() {
+		ItemRequest first = storage.create(request(1L, "Нужна дрель"));
+		ItemRequest foreign = storage.create(request(2L, "Нужна пила"));
+		ItemRequest second = storage.create(request(1L, "Нужен молоток"));
+		ItemRequest third = storage.create(request(1L, "Нужна отвертка"));
+
+		assertThat(storage.getUserRequests(1L, Pagination.ALL)).containsExactly(third, second, first);
+		assertThat(storage.getUserRequests(1L, Pagination.of(1, 1, null))).containsExactly(second);
+		assertThat(storage.getUserRequests(1L, Pagination.of(0, 5, second.getId()))).containsExactly(first);
+		assertThat(storage.getOtherRequests(2L, Pagination.of(0, 2, null))).containsExactly(third, second);
+		assertThat(storage.getOtherRequests(1L, Pagination.ALL)).containsExactly(foreign);
+		assertThat(storage.getUserRequests(3L, Pagination.ALL)).isEmpty();
+		assertThat(storage.count()).isEqualTo(4);
+	}
+
+	private static ItemRequest request(Long requestorId, String description) {
+		return ItemRequest.builder()
+				.requestorId(requestorId)
+				.description(description)
+				.created(LocalDateTime.now())
+				.build();
+	}
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.user.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.EntityCache;
+import ru.practicum.shareit.exception.DataAlreadyExistException;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingUserStorageTest {
+
+	private SimpleMeterRegistry registry;
+	private EntityCache<User> cache;
+	private AtomicInteger itemInvalidations;
+	private CachingUserStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		cache = new EntityCache<>("users", 100, Duration.ofMinutes(1), registry);
+		itemInvalidations = new AtomicInteger();
+		storage = new CachingUserStorage(new InMemoryUserStorage(), cache, itemInvalidations::incrementAndGet);
+	}
+
+	@Test
+	void repeatedReadsHitCacheAndWritesInvalidate() {
+		User ivan = storage.create(user("Иван", "ivan@yandex.ru"));
+
+		storage.findUser(ivan.getId());
+		storage.findUser(ivan.getId());
+		storage.findUser(ivan.getId());
+		assertThat(gets("hit")).isEqualTo(2);
+		assertThat(gets("miss")).isEqualTo(1);
+
+		User updated = storage.update(ivan.getId(), current -> current.toBuilder().name("Иван Петрович").build());
+		assertThat(cache.getIfPresent(ivan.getId())).isEmpty();
+		assertThat(storage.findUser(ivan.getId())).isEqualTo(updated);
+		assertThat(storage.findUserVersion(ivan.getId())).hasValue(updated.getVersion());
+
+		assertThat(storage.delete(ivan.getId())).isTrue();
+		assertThat(cache.size()).isZero();
+		assertThat(storage.findUserById(ivan.getId())).isEmpty();
+		assertThat(itemInvalidations).hasValue(1);
+
+		assertThat(storage.delete(ivan.getId())).isFalse();
+		assertThat(itemInvalidations).hasValue(1);
+	}
+
+	@Test
+	void rejectedEmailChangeLeavesCachedUserIntact() {
+		User ivan = storage.create(user("Иван", "ivan@yandex.ru"));
+		User petr = storage.create(user("Петр", "petr@yandex.ru"));
+		storage.findUser(petr.getId());
+
+		assertThatThrownBy(() -> storage.update(petr.getId(),
+				current -> current.toBuilder().email("IVAN@yandex.ru").build()))
+				.isInstanceOf(DataAlreadyExistException.class);
+
+		assertThat(storage.findUser(petr.getId())).isEqualTo(petr);
+		assertThat(storage.findUserIdByEmail("ivan@yandex.ru")).contains(ivan.getId());
+
+		User moved = storage.update(petr.getId(), current -> current.toBuilder().email("petr@mail.ru").build());
+		assertThat(storage.findUser(petr.getId())).isEqualTo(moved);
+		assertThat(storage.isUserWithEmailExist("petr@yandex.ru")).isFalse();
+	}
+
+	private double gets(String result) {
+		return registry.get("cache.gets").tags("cache", "users", "result", result).functionCounter().count();
+	}
+
+	private static User user(String name, String email) {
+		return User.builder()
+				.name(name)
+				.email(email)
+				.build();
+	}
+}
@@ -0,0 +1,216 @@
+package ru.practicum.shareit.user.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.DataAlreadyExistException;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryUserStorageTest {
+
+	private InMemoryUserStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		storage = new InMemoryUserStorage();
+	}
+
+	@Test
+	void emailUniquenessIsCaseInsensitive() {
+		User user = storage.create(user("Иван", "ivan@yandex.ru"));
+
+		assertThat(storage.isUserWithEmailExist("IVAN@yandex.ru")).isTrue();
+		assertThat(storage.findUserIdByEmail(" Ivan@Yandex.ru ")).contains(user.getId());
+		assertThatThrownBy(() -> storage.create(user("Другой", "Ivan@Yandex.RU")))
+				.isInstanceOf(DataAlreadyExistException.class);
+	}
+
+	@Test
+	void updateKeepingOwnEmailIsNotConflict() {
+		User user = storage.create(user("Иван", "ivan@yandex.ru"));
+
+		User updated = storage.update(user.getId(), current -> current.toBuilder()
+				.name("Иван Петров")
+				.email("IVAN@yandex.ru")
+				.build());
+
+		assertThat(updated.getEmail()).isEqualTo("IVAN@yandex.ru");
+		assertThat(storage.findUserIdByEmail("ivan@yandex.ru")).contains(user.getId());
+	}
+
+	@Test
+	void changedEmailIsReleased() {
+		User first = storage.create(user("Иван", "ivan@yandex.ru"));
+		User second = storage.create(user("Петр", "petr@yandex.ru"));
+
+		assertThatThrownBy(() -> storage.update(second.getId(), current -> current.toBuilder()
+				.email("ivan@yandex.ru")
+				.build()))
+				.isInstanceOf(DataAlreadyExistException.class);
+
+		storage.update(first.getId(), current -> current.toBuilder().email("ivan@mail.ru").build());
+		storage.update(second.getId(), current -> current.toBuilder().email("ivan@yandex.ru").build());
+
+		assertThat(storage.findUserIdByEmail("ivan@yandex.ru")).contains(second.getId());
+		assertThat(storage.isUserWithEmailExist("petr@yandex.ru")).isFalse();
+
+		storage.delete(second.getId());
+
+		assertThat(storage.isUserWithEmailExist("ivan@yandex.ru")).isFalse();
+	}
+
+	@Test
+	void createAllIsAllOrNothing() {
+		storage.create(user("Иван", "ivan@yandex.ru"));
+
+		assertThatThrownBy(() -> storage.createAll(List.of(
+				user("Петр", "petr@yandex.ru"),
+				user("Другой Иван", "IVAN@yandex.ru"))))
+				.isInstanceOf(DataAlreadyExistException.class);
+
+		assertThat(storage.count()).isEqualTo(1);
+		assertThat(storage.isUserWithEmailExist("petr@yandex.ru")).isFalse();
+		assertThat(storage.createAll(List.of(user("Петр", "petr@yandex.ru")))).hasSize(1);
+	}
+
+	@Test
+	void concurrentUpdatesAndCreatesAreNotLost() throws Exception {
+		int threads = 8;
+		int iterations = 2_000;
+		User counter = storage.create(user("0", "counter@yandex.ru"));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < iterations; i++) {
+						storage.update(counter.getId(), current -> current.toBuilder()
+								.name(String.valueOf(Integer.parseInt(current.getName()) + 1))
+								.build());
+						if (i % 10 == 0) {
+							storage.create(user("Пользователь", "user" + thread + "-" + i + "@yandex.ru"));
+						}
+						User snapshot = storage.findUser(counter.getId());
+						assertThat(snapshot.getName()).isEqualTo(String.valueOf(snapshot.getVersion() - 1));
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		User result = storage.findUser(counter.getId());
+		assertThat(result.getName()).isEqualTo(String.valueOf(threads * iterations));
+		assertThat(result.getVersion()).isEqualTo(threads * iterations + 1L);
+		assertThat(storage.count()).isEqualTo(1 + threads * iterations / 10);
+		assertThat(storage.findUserIdByEmail("counter@yandex.ru")).contains(counter.getId());
+	}
+
+	@Test
+	void updateLosingRaceKeepsEmailPublishedByWinner() throws Exception {
+		User user = storage.create(user("Иван", "ivan@yandex.ru"));
+		CountDownLatch loserRead = new CountDownLatch(1);
+		CountDownLatch winnerDone = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// Первая попытка ждет, пока другое обновление опубликует тот же email, и проигрывает CAS
+			Future<User> loser = executor.submit(() -> storage.update(user.getId(), current -> {
+				loserRead.countDown();
+				await(winnerDone);
+				return current.toBuilder().email("new@yandex.ru").build();
+			}));
+			loserRead.await();
+			storage.update(user.getId(), current -> current.toBuilder().email("new@yandex.ru").build());
+			winnerDone.countDown();
+			assertThat(loser.get().getEmail()).isEqualTo("new@yandex.ru");
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(storage.findUserIdByEmail("new@yandex.ru")).contains(user.getId());
+		assertThat(storage.isUserWithEmailExist("ivan@yandex.ru")).isFalse();
+		assertThatThrownBy(() -> storage.create(user("Другой", "new@yandex.ru")))
+				.isInstanceOf(DataAlreadyExistException.class);
+	}
+
+	@Test
+	void concurrentEmailChangesKeepIndexConsistent() throws Exception {
+		int threads = 8;
+		int iterations = 2_000;
+		List<String> emails = List.of("a@yandex.ru", "b@yandex.ru", "c@yandex.ru");
+		User first = storage.create(user("Иван", "ivan@yandex.ru"));
+		User second = storage.create(user("Петр", "petr@yandex.ru"));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				// Несколько потоков меняют email одного пользователя на одни и те же значения
+				Long userId = t % 2 == 0 ? first.getId() : second.getId();
+				futures.add(executor.submit(() -> {
+					start.await();
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < iterations; i++) {
+						String email = emails.get(random.nextInt(emails.size()));
+						try {
+							storage.update(userId, current -> current.toBuilder().email(email).build());
+						} catch (DataAlreadyExistException e) {
+							// email занят другим пользователем
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		User firstNow = storage.findUser(first.getId());
+		User secondNow = storage.findUser(second.getId());
+		assertThat(firstNow.getEmail()).isNotEqualTo(secondNow.getEmail());
+		assertThat(storage.findUserIdByEmail(firstNow.getEmail())).contains(first.getId());
+		assertThat(storage.findUserIdByEmail(secondNow.getEmail())).contains(second.getId());
+		for (String email : emails) {
+			storage.findUserIdByEmail(email).ifPresent(ownerId ->
+					assertThat(storage.findUser(ownerId).getEmail()).isEqualTo(email));
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static User user(String name, String email) {
+		return User.builder()
+				.name(name)
+				.email(email)
+				.build();
+	}
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.DataAlreadyExistException;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcUserStorageTest {
+
+	private EmbeddedDatabase database;
+	private JdbcUserStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2)
+				.addScript("classpath:schema.sql")
+				.build();
+		storage = new JdbcUserStorage(new JdbcTemplate(database), 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void emailIsUniqueIgnoringCase() {
+		List<User> users = storage.createAll(List.of(user("Иван", "ivan@yandex.ru"), user("Петр", "petr@yandex.ru"),
+				user("Анна", "anna@yandex.ru")));
+
+		assertThat(storage.getUsers(Pagination.ALL)).containsExactlyElementsOf(users);
+		assertThat(storage.findUserIdByEmail("IVAN@yandex.ru")).contains(users.get(0).getId());
+		assertThatThrownBy(() -> storage.create(user("Другой", "Ivan@Yandex.ru")))
+				.isInstanceOf(DataAlreadyExistException.class);
+		assertThatThrownBy(() -> storage.update(users.get(1).getId(),
+				current -> current.toBuilder().email("anna@YANDEX.ru").build()))
+				.isInstanceOf(DataAlreadyExistException.class);
+	}
+
+	@Test
+	void updateKeepingOwnEmailIncrementsVersion() {
+		User user = storage.create(user("Иван", "ivan@yandex.ru"));
+
+		User updated = storage.update(user.getId(), current -> current.toBuilder()
+				.name("Иван Петров")
+				.email("IVAN@yandex.ru")
+				.build());
+
+		assertThat(updated.getVersion()).isEqualTo(2);
+		assertThat(storage.findUser(user.getId())).isEqualTo(updated);
+		assertThat(storage.delete(user.getId())).isTrue();
+		assertThat(storage.isUserWithEmailExist("ivan@yandex.ru")).isFalse();
+	}
+
+	private static User user(String name, String email) {
+		return User.builder()
+				.name(name)
+				.email(email)
+				.build();
+	}
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.user.storage;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.MetricNames;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredUserStorageTest {
+
+	@Test
+	void sizeGaugeFollowsWritesAndDeleteNotifiesItems() {
+		InMemoryUserStorage target = new InMemoryUserStorage();
+		target.create(user("Петр", "petr@yandex.ru"));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AtomicInteger itemRecounts = new AtomicInteger();
+		MeteredUserStorage storage = new MeteredUserStorage(target, registry, itemRecounts::incrementAndGet);
+		Gauge size = registry.get(MetricNames.STORAGE_SIZE).tag("storage", "user").gauge();
+		assertThat(size.value()).isEqualTo(1.0);
+
+		User ivan = storage.create(user("Иван", "ivan@yandex.ru"));
+		storage.createAll(List.of(user("Анна", "anna@yandex.ru")));
+		assertThat(size.value()).isEqualTo(3.0);
+
+		assertThat(storage.delete(ivan.getId())).isTrue();
+		assertThat(storage.delete(ivan.getId())).isFalse();
+		assertThat(size.value()).isEqualTo(2.0);
+		assertThat(itemRecounts).hasValue(1);
+	}
+
+	private static User user(String name, String email) {
+		return User.builder()
+				.name(name)
+				.email(email)
+				.build();
+	}
+}